@@ -16,17 +16,37 @@
 
 package com.scottlogic.deg.common.profile;
 
-
-
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 public class ProfileFields implements Iterable<Field> {
     private final List<Field> fields;
+    private final Ordinals ordinals;
 
     public ProfileFields(List<Field> fields) {
+        this(fields, new Ordinals(fields));
+    }
+
+    private ProfileFields(List<Field> fields, Ordinals ordinals) {
         this.fields = fields;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Returns the given fields, which must all be among these fields, keeping the ordinals they have here; rows of
+     * fields taken from the same profile can then be merged by ordinal.
+     */
+    public ProfileFields subset(List<Field> fields) {
+        for (Field field : fields) {
+            if (getOrdinal(field) < 0) {
+                throw new IllegalArgumentException("Profile fields do not contain " + field);
+            }
+        }
+
+        return new ProfileFields(fields, ordinals);
     }
 
     public Field getByName(String fieldName) {
@@ -35,7 +55,23 @@ public class ProfileFields implements Iterable<Field> {
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Profile fields do not contain " + fieldName));
     }
-    
+
+    /**
+     * @return the position of the field in the profile these fields were taken from, or -1 if it is not in it
+     */
+    public int getOrdinal(Field field) {
+        Integer ordinal = ordinals.fieldToOrdinal.get(field);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public Field getByOrdinal(int ordinal) {
+        return ordinals.fields.get(ordinal);
+    }
+
+    public boolean sharesOrdinalsWith(ProfileFields other) {
+        return ordinals == other.ordinals;
+    }
+
     public int size() {
         return this.fields.size();
     }
@@ -66,4 +102,16 @@ public class ProfileFields implements Iterable<Field> {
     public int hashCode() {
         return fields.hashCode();
     }
+
+    private static class Ordinals {
+        private final List<Field> fields;
+        private final Map<Field, Integer> fieldToOrdinal = new HashMap<>();
+
+        Ordinals(List<Field> fields) {
+            this.fields = fields;
+            for (int ordinal = 0; ordinal < fields.size(); ordinal++) {
+                fieldToOrdinal.putIfAbsent(fields.get(ordinal), ordinal);
+            }
+        }
+    }
 }
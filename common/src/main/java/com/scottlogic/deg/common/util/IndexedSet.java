@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A set whose values can be looked up by position, so that large sets can be sampled from, and viewed as a list,
+ * without copying them.
+ */
+public interface IndexedSet<T> extends Set<T> {
+    /**
+     * @return the value at the given position, from 0 (inclusive) to size() (exclusive)
+     */
+    T get(int index);
+
+    /**
+     * @return the position of the given value, or -1 if it is not in the set
+     */
+    int indexOf(Object value);
+
+    default List<T> asList() {
+        IndexedSet<T> set = this;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return set.get(index);
+            }
+
+            @Override
+            public int size() {
+                return set.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return set.contains(o);
+            }
+        };
+    }
+
+    /**
+     * @return the values that match the predicate. This set is returned if they all match, otherwise the positions
+     * of the matching values are kept rather than the values themselves.
+     */
+    default IndexedSet<T> filter(Predicate<? super T> predicate) {
+        int size = size();
+        int[] retained = new int[size];
+        int retainedCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (predicate.test(get(index))) {
+                retained[retainedCount++] = index;
+            }
+        }
+
+        if (retainedCount == size) {
+            return this;
+        }
+
+        return new IndexedSubset<>(this, Arrays.copyOf(retained, retainedCount));
+    }
+}
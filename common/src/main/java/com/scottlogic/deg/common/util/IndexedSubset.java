@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The values at some positions of another IndexedSet
+ */
+class IndexedSubset<T> extends AbstractSet<T> implements IndexedSet<T> {
+    private final IndexedSet<T> underlying;
+    private final int[] indexes;
+    private Integer hashCode;
+
+    /**
+     * @param indexes positions in the underlying set, in ascending order
+     */
+    IndexedSubset(IndexedSet<T> underlying, int[] indexes) {
+        this.underlying = underlying;
+        this.indexes = indexes;
+    }
+
+    @Override
+    public T get(int index) {
+        return underlying.get(indexes[index]);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        int underlyingIndex = underlying.indexOf(value);
+        if (underlyingIndex < 0) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(indexes, underlyingIndex);
+        return index < 0 ? -1 : index;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return indexes.length;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < indexes.length;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == null) {
+            hashCode = super.hashCode();
+        }
+        return hashCode;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * An immutable set of values held in a sorted array. Two of these sets are intersected with a linear merge rather
+ * than by hashing, filtering keeps the values in order without sorting them again, and membership is a binary
+ * search.
+ *
+ * Values are ordered by the name of their class, then by their natural order. BigDecimals with the same value but a different
+ * scale are ordered by scale so that, as with BigDecimal.equals, they are distinct values.
+ */
+public class SortedArraySet extends AbstractSet<Object> implements IndexedSet<Object> {
+    private static final Comparator<Object> order = SortedArraySet::compare;
+
+    private final Object[] values;
+    private Integer hashCode;
+
+    private SortedArraySet(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @return the distinct values as a SortedArraySet, or as a HashSet if any of them isn't a string, number or
+     * datetime
+     */
+    public static Set<Object> of(Collection<?> values) {
+        for (Object value : values) {
+            if (!isOrderable(value)) {
+                return new HashSet<>(values);
+            }
+        }
+
+        Object[] sorted = values.toArray();
+        Arrays.sort(sorted, order);
+
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || compare(sorted[distinct - 1], sorted[i]) != 0) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+
+        return new SortedArraySet(distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct));
+    }
+
+    public SortedArraySet intersect(SortedArraySet other) {
+        SortedArraySet smaller = size() <= other.size() ? this : other;
+        SortedArraySet larger = smaller == this ? other : this;
+
+        // when one set is much smaller it is cheaper to search the larger set for each of its values
+        if ((long) smaller.size() * 32 < larger.size()) {
+            return smaller.filter(larger::contains);
+        }
+
+        Object[] intersection = new Object[smaller.size()];
+        int count = 0;
+        int left = 0;
+        int right = 0;
+        while (left < values.length && right < other.values.length) {
+            int comparison = compare(values[left], other.values[right]);
+            if (comparison < 0) {
+                left++;
+            } else if (comparison > 0) {
+                right++;
+            } else {
+                intersection[count++] = values[left];
+                left++;
+                right++;
+            }
+        }
+
+        if (count == values.length) {
+            return this;
+        }
+        if (count == other.values.length) {
+            return other;
+        }
+        return new SortedArraySet(Arrays.copyOf(intersection, count));
+    }
+
+    @Override
+    public SortedArraySet filter(Predicate<? super Object> predicate) {
+        Object[] retained = new Object[values.length];
+        int count = 0;
+        for (Object value : values) {
+            if (predicate.test(value)) {
+                retained[count++] = value;
+            }
+        }
+
+        return count == values.length
+            ? this
+            : new SortedArraySet(Arrays.copyOf(retained, count));
+    }
+
+    @Override
+    public Object get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (!isOrderable(value)) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(values, value, order);
+        return index < 0 ? -1 : index;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return Arrays.asList(values).iterator();
+    }
+
+    @Override
+    public List<Object> asList() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof SortedArraySet) {
+            return Arrays.equals(values, ((SortedArraySet) o).values);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == null) {
+            hashCode = super.hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * Only types whose natural order is consistent with equals, or BigDecimal which is handled by compare()
+     */
+    private static boolean isOrderable(Object value) {
+        return value instanceof String
+            || value instanceof BigDecimal
+            || value instanceof Integer
+            || value instanceof Long
+            || value instanceof Double
+            || value instanceof OffsetDateTime;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object left, Object right) {
+        if (left.getClass() != right.getClass()) {
+            return left.getClass().getName().compareTo(right.getClass().getName());
+        }
+
+        if (left instanceof BigDecimal) {
+            int comparison = ((BigDecimal) left).compareTo((BigDecimal) right);
+            return comparison != 0
+                ? comparison
+                : Integer.compare(((BigDecimal) left).scale(), ((BigDecimal) right).scale());
+        }
+
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A set of values where each value carries a relative weight, used to bias how often it is picked at random.
+ * Weights are only relevant to sampling: the set is equal to any other set containing the same values.
+ */
+public class WeightedSet<T> extends AbstractSet<T> {
+    private final Map<T, Double> weights;
+
+    public WeightedSet(Map<T, Double> weights) {
+        for (Map.Entry<T, Double> entry : weights.entrySet()) {
+            Double weight = entry.getValue();
+            if (weight == null || weight.isNaN() || weight.isInfinite() || weight <= 0) {
+                throw new IllegalArgumentException(
+                    "Weight for value '" + entry.getKey() + "' must be a positive number, but was " + weight);
+            }
+        }
+
+        this.weights = Collections.unmodifiableMap(new LinkedHashMap<>(weights));
+    }
+
+    /**
+     * @return the weight of the given value, or 0 if the value is not in the set
+     */
+    public double getWeight(Object value) {
+        return weights.getOrDefault(value, 0d);
+    }
+
+    public WeightedSet<T> filter(Predicate<? super T> predicate) {
+        Map<T, Double> retained = new LinkedHashMap<>();
+        weights.forEach((value, weight) -> {
+            if (predicate.test(value)) {
+                retained.put(value, weight);
+            }
+        });
+        return new WeightedSet<>(retained);
+    }
+
+    /**
+     * Intersect two sets, either of which may be weighted. A value's weight in the result is the product of its
+     * weights in each set, where every value of an unweighted set has a weight of 1.
+     */
+    public static <T> WeightedSet<T> intersect(Set<T> left, Set<T> right) {
+        Set<T> smaller = left.size() <= right.size() ? left : right;
+        Set<T> larger = smaller == left ? right : left;
+
+        Map<T, Double> intersection = new LinkedHashMap<>();
+        for (T value : smaller) {
+            if (larger.contains(value)) {
+                intersection.put(value, weightOf(left, value) * weightOf(right, value));
+            }
+        }
+        return new WeightedSet<>(intersection);
+    }
+
+    private static double weightOf(Set<?> set, Object value) {
+        return set instanceof WeightedSet
+            ? ((WeightedSet<?>) set).getWeight(value)
+            : 1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return weights.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return weights.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return weights.containsKey(o);
+    }
+}
@@ -29,8 +29,16 @@ public class SetUtils {
     }
 
     public static <T> Set<T> intersect(Set<T> a, Set<T> b) {
-        final Set<T> intersection = new HashSet<>(a);
-        intersection.retainAll(b);
+        // only look up the values of the smaller set, so a large set is never copied
+        final Set<T> smaller = a.size() <= b.size() ? a : b;
+        final Set<T> larger = smaller == a ? b : a;
+
+        final Set<T> intersection = new HashSet<>();
+        for (T value : smaller) {
+            if (larger.contains(value)) {
+                intersection.add(value);
+            }
+        }
         return intersection;
     }
 
@@ -23,6 +23,9 @@ import com.scottlogic.deg.common.profile.ProfileFields;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ProfileFieldsTests {
     @Test
@@ -203,4 +206,33 @@ class ProfileFieldsTests {
             secondHashCode
         );
     }
+
+    @Test
+    void subset_ofProfileFields_keepsTheirOrdinals() {
+        Field first = new Field("First Field");
+        Field second = new Field("Second Field");
+        ProfileFields profileFields = new ProfileFields(Arrays.asList(first, second));
+
+        ProfileFields subset = profileFields.subset(Collections.singletonList(second));
+
+        assertEquals(1, subset.getOrdinal(second));
+        assertEquals(0, subset.getOrdinal(first));
+        assertTrue(subset.sharesOrdinalsWith(profileFields));
+    }
+
+    @Test
+    void subset_withFieldNotInProfileFields_throws() {
+        ProfileFields profileFields = new ProfileFields(Collections.singletonList(new Field("First Field")));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> profileFields.subset(Collections.singletonList(new Field("Other Field"))));
+    }
+
+    @Test
+    void getOrdinal_fieldNotInProfileFields_returnsMinusOne() {
+        ProfileFields profileFields = new ProfileFields(Collections.singletonList(new Field("First Field")));
+
+        assertEquals(-1, profileFields.getOrdinal(new Field("Other Field")));
+    }
 }
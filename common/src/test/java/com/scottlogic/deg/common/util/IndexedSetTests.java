@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class IndexedSetTests {
+    @Test
+    void filter_whenAllValuesMatch_returnsSameSet() {
+        IndexedSet<String> set = new ListBackedSet("a", "b", "c");
+
+        assertThat(set.filter(value -> true), sameInstance(set));
+    }
+
+    @Test
+    void filter_whenSomeValuesMatch_returnsIndexedSubset() {
+        IndexedSet<String> set = new ListBackedSet("a", "b", "c", "d");
+
+        IndexedSet<String> filtered = set.filter(value -> !value.equals("b"));
+
+        assertThat(filtered, contains("a", "c", "d"));
+        assertThat(filtered.get(1), equalTo("c"));
+        assertThat(filtered.indexOf("d"), equalTo(2));
+        assertThat(filtered.indexOf("b"), equalTo(-1));
+        assertThat(filtered.contains("b"), is(false));
+        assertThat(filtered.asList(), equalTo(Arrays.asList("a", "c", "d")));
+    }
+
+    private static class ListBackedSet extends AbstractSet<String> implements IndexedSet<String> {
+        private final List<String> values;
+
+        ListBackedSet(String... values) {
+            this.values = Arrays.asList(values);
+        }
+
+        @Override
+        public String get(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public int indexOf(Object value) {
+            return values.indexOf(value);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return values.iterator();
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SortedArraySetTests {
+    @Test
+    void of_withMixedValues_ordersThemByTypeNameThenValue() {
+        OffsetDateTime date = OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 0, ZoneOffset.UTC);
+
+        Set<Object> set = SortedArraySet.of(Arrays.asList("b", new BigDecimal("2"), date, "a", new BigDecimal("1"), "b"));
+
+        assertThat(set, instanceOf(SortedArraySet.class));
+        assertThat(set, contains("a", "b", new BigDecimal("1"), new BigDecimal("2"), date));
+    }
+
+    @Test
+    void of_withBigDecimalsOfDifferentScale_keepsBoth() {
+        Set<Object> set = SortedArraySet.of(Arrays.asList(new BigDecimal("1.0"), new BigDecimal("1.00")));
+
+        assertThat(set.size(), equalTo(2));
+        assertThat(set.contains(new BigDecimal("1.0")), is(true));
+        assertThat(set.contains(new BigDecimal("1")), is(false));
+    }
+
+    @Test
+    void of_withUnorderableValue_returnsHashSet() {
+        Set<Object> set = SortedArraySet.of(Arrays.asList("a", Collections.emptyList()));
+
+        assertThat(set, instanceOf(HashSet.class));
+    }
+
+    @Test
+    void intersect_withOverlappingSets_returnsCommonValues() {
+        SortedArraySet left = (SortedArraySet) SortedArraySet.of(Arrays.asList("a", "b", "c", "d"));
+        SortedArraySet right = (SortedArraySet) SortedArraySet.of(Arrays.asList("b", "d", "e"));
+
+        assertThat(left.intersect(right), contains("b", "d"));
+        assertThat(right.intersect(left), contains("b", "d"));
+    }
+
+    @Test
+    void intersect_withMuchSmallerSet_returnsCommonValues() {
+        SortedArraySet large = (SortedArraySet) SortedArraySet.of(
+            IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+        SortedArraySet small = (SortedArraySet) SortedArraySet.of(Arrays.asList(5, 500, 5000));
+
+        assertThat(large.intersect(small), contains(5, 500));
+    }
+
+    @Test
+    void intersect_withSubset_returnsSubset() {
+        SortedArraySet set = (SortedArraySet) SortedArraySet.of(Arrays.asList("a", "b", "c"));
+        SortedArraySet subset = (SortedArraySet) SortedArraySet.of(Arrays.asList("a", "c"));
+
+        assertThat(set.intersect(subset), sameInstance(subset));
+    }
+
+    @Test
+    void filter_keepsMatchingValuesInOrder() {
+        SortedArraySet set = (SortedArraySet) SortedArraySet.of(Arrays.asList(3, 1, 4, 2));
+
+        SortedArraySet filtered = set.filter(value -> (Integer) value % 2 == 0);
+
+        assertThat(filtered, contains(2, 4));
+        assertThat(filtered.indexOf(4), equalTo(1));
+    }
+
+    @Test
+    void equals_withHashSetOfSameValues_isTrue() {
+        Set<Object> set = SortedArraySet.of(Arrays.asList("a", "b"));
+        Set<Object> hashSet = new HashSet<>(Arrays.asList("b", "a"));
+
+        assertThat(set, equalTo(hashSet));
+        assertThat(hashSet, equalTo(set));
+        assertThat(set.hashCode(), equalTo(hashSet.hashCode()));
+    }
+}
@@ -19,5 +19,6 @@ package com.scottlogic.deg.generator.config.detail;
 public enum CombinationStrategyType {
     EXHAUSTIVE,
     PINNING,
-    MINIMAL
+    MINIMAL,
+    N_WISE
 }
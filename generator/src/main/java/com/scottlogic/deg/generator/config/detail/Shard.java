@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.config.detail;
+
+import java.util.Objects;
+
+/**
+ * One of a number of disjoint slices of the rows a generation run produces. Shard i of n contains every n-th row,
+ * starting from row i - 1, so running every shard of a profile produces the same rows as generating them all at once.
+ */
+public class Shard {
+    public static final Shard ALL_ROWS = new Shard(1, 1);
+
+    private final int index;
+    private final int count;
+
+    public Shard(int index, int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException(
+                "Shard " + index + "/" + count + " is invalid, the index must be between 1 and the number of shards");
+        }
+
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * @param value a shard in the form index/count, e.g. 2/4 for the second of four shards
+     */
+    public static Shard parse(String value) {
+        String[] parts = value.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard " + value + " is invalid, expected it in the form index/count");
+        }
+
+        try {
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Shard " + value + " is invalid, expected it in the form index/count", e);
+        }
+    }
+
+    public boolean isAllRows() {
+        return count == 1;
+    }
+
+    public boolean containsRow(long rowIndex) {
+        return rowIndex % count == index - 1;
+    }
+
+    /**
+     * @return the index, amongst all the rows, of the n-th row in this shard
+     */
+    public long getRowIndex(long n) {
+        return (index - 1) + n * count;
+    }
+
+    /**
+     * @return the number of rows in this shard when there are the given number of rows in total
+     */
+    public long getRowCount(long totalRows) {
+        return totalRows < index ? 0 : (totalRows - index) / count + 1;
+    }
+
+    /**
+     * @return the number of rows in this shard from the first row up to, but not including, the last row
+     */
+    public long getRowCount(long firstRow, long lastRow) {
+        return Math.max(0, getRowCount(lastRow) - getRowCount(firstRow));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Shard shard = (Shard) o;
+        return index == shard.index && count == shard.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, count);
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
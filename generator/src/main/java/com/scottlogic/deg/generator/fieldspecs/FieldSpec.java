@@ -20,10 +20,10 @@ import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint;
 import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint.Types;
 
 import com.scottlogic.deg.generator.restrictions.*;
-import com.scottlogic.deg.common.util.HeterogeneousTypeContainer;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Details a column's atomic constraints
@@ -33,21 +33,40 @@ import java.util.stream.Collectors;
  */
 public class FieldSpec {
     public static final FieldSpec Empty =
-        new FieldSpec(null, new HeterogeneousTypeContainer<>(), true, null);
+        new FieldSpec(null, null, null, null, null, null, true, null);
 
     private final boolean nullable;
     private final String formatting;
     private final Set<Object> whitelist;
-    private final HeterogeneousTypeContainer<Restrictions> restrictions;
+
+    // each kind of restriction has its own slot, so creating a modified copy doesn't copy a map
+    private final TypeRestrictions typeRestrictions;
+    private final NumericRestrictions numericRestrictions;
+    private final StringRestrictions stringRestrictions;
+    private final DateTimeRestrictions dateTimeRestrictions;
+    private final BlacklistRestrictions blacklistRestrictions;
+
+    // an immutable object, so it is safe for threads to race to create it
+    private PermitsPredicate permitsPredicate;
+    // worked out on first use, as FieldSpecs are used as keys when caching merges; 0 until then
+    private int hashCode;
 
     private FieldSpec(
         Set<Object> whitelist,
-        HeterogeneousTypeContainer<Restrictions> restrictions,
+        TypeRestrictions typeRestrictions,
+        NumericRestrictions numericRestrictions,
+        StringRestrictions stringRestrictions,
+        DateTimeRestrictions dateTimeRestrictions,
+        BlacklistRestrictions blacklistRestrictions,
         boolean nullable,
         String formatting
     ) {
         this.whitelist = whitelist;
-        this.restrictions = restrictions;
+        this.typeRestrictions = typeRestrictions;
+        this.numericRestrictions = numericRestrictions;
+        this.stringRestrictions = stringRestrictions;
+        this.dateTimeRestrictions = dateTimeRestrictions;
+        this.blacklistRestrictions = blacklistRestrictions;
         this.nullable = nullable;
         this.formatting = formatting;
     }
@@ -61,23 +80,23 @@ public class FieldSpec {
     }
 
     public BlacklistRestrictions getBlacklistRestrictions() {
-        return restrictions.get(BlacklistRestrictions.class).orElse(null);
+        return blacklistRestrictions;
     }
 
     public NumericRestrictions getNumericRestrictions() {
-        return restrictions.get(NumericRestrictions.class).orElse(null);
+        return numericRestrictions;
     }
 
     public StringRestrictions getStringRestrictions() {
-        return restrictions.get(StringRestrictions.class).orElse(null);
+        return stringRestrictions;
     }
 
     public TypeRestrictions getTypeRestrictions() {
-        return restrictions.get(TypeRestrictions.class).orElse(null);
+        return typeRestrictions;
     }
 
     public DateTimeRestrictions getDateTimeRestrictions() {
-        return restrictions.get(DateTimeRestrictions.class).orElse(null);
+        return dateTimeRestrictions;
     }
 
     public String getFormatting() {
@@ -85,27 +104,39 @@ public class FieldSpec {
     }
 
     public FieldSpec withWhitelist(Set<Object> whitelist) {
-        return new FieldSpec(whitelist, new HeterogeneousTypeContainer<>(), nullable, formatting);
+        return new FieldSpec(whitelist, null, null, null, null, null, nullable, formatting);
     }
 
     public FieldSpec withNumericRestrictions(NumericRestrictions numericRestrictions) {
-        return withConstraint(NumericRestrictions.class, numericRestrictions);
+        if (numericRestrictions == null) {
+            return this;
+        }
+        return new FieldSpec(null, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withBlacklistRestrictions(BlacklistRestrictions blacklistRestrictions) {
-        return withConstraint(BlacklistRestrictions.class, blacklistRestrictions);
+        if (blacklistRestrictions == null) {
+            return this;
+        }
+        return new FieldSpec(null, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withTypeRestrictions(TypeRestrictions typeRestrictions) {
-        return withConstraint(TypeRestrictions.class, typeRestrictions);
+        if (typeRestrictions == null) {
+            return this;
+        }
+        return new FieldSpec(null, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withStringRestrictions(StringRestrictions stringRestrictions) {
-        return withConstraint(StringRestrictions.class, stringRestrictions);
+        if (stringRestrictions == null) {
+            return this;
+        }
+        return new FieldSpec(null, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withNotNull() {
-        return new FieldSpec(whitelist, restrictions, false, formatting);
+        return new FieldSpec(whitelist, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, false, formatting);
     }
 
     public static FieldSpec mustBeNull() {
@@ -113,11 +144,14 @@ public class FieldSpec {
     }
 
     public FieldSpec withDateTimeRestrictions(DateTimeRestrictions dateTimeRestrictions) {
-        return withConstraint(DateTimeRestrictions.class, dateTimeRestrictions);
+        if (dateTimeRestrictions == null) {
+            return this;
+        }
+        return new FieldSpec(null, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withFormatting(String formatting) {
-        return new FieldSpec(whitelist, restrictions, nullable, formatting);
+        return new FieldSpec(whitelist, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, nullable, formatting);
     }
 
     public FieldSpec withoutType(IsOfTypeConstraint.Types type){
@@ -134,13 +168,6 @@ public class FieldSpec {
         return withTypeRestrictions(typeRestrictions);
     }
 
-    private <T extends Restrictions> FieldSpec withConstraint(Class<T> type, T restriction) {
-        if (restriction == null){
-            return this;
-        }
-        return new FieldSpec(null, restrictions.put(type, restriction), nullable, formatting);
-    }
-
     public boolean isTypeAllowed(IsOfTypeConstraint.Types type){
         return getTypeRestrictions() == null || getTypeRestrictions().isTypeAllowed(type);
     }
@@ -154,8 +181,7 @@ public class FieldSpec {
             return (nullable ? "" : "Not Null") + String.format("IN %s", whitelist);
         }
 
-        List<String> propertyStrings = restrictions.values()
-                .stream()
+        List<String> propertyStrings = Stream.of(typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions)
                 .filter(Objects::nonNull)
                 .map(Object::toString)
                 .collect(Collectors.toList());
@@ -175,36 +201,63 @@ public class FieldSpec {
      * Create a predicate that returns TRUE for all (and only) values permitted by this FieldSpec
      */
     public boolean permits(Object value) {
-        TypeRestrictions typeRestrictions = getTypeRestrictions();
-        if (typeRestrictions != null) {
-            for (Types type : Types.values()) {
-                if (!typeRestrictions.isTypeAllowed(type) && type.isInstanceOf(value)) {
+        PermitsPredicate predicate = permitsPredicate;
+        if (predicate == null) {
+            predicate = new PermitsPredicate(this);
+            permitsPredicate = predicate;
+        }
+        return predicate.test(value);
+    }
+
+    /**
+     * The checks made by permits(), worked out once per FieldSpec so that testing a value doesn't allocate. The
+     * restrictions are checked cheapest first, leaving string restrictions (which match against an automaton) last.
+     */
+    private static class PermitsPredicate {
+        private final Types[] disallowedTypes;
+        private final TypedRestrictions[] restrictions;
+
+        PermitsPredicate(FieldSpec fieldSpec) {
+            TypeRestrictions typeRestrictions = fieldSpec.typeRestrictions;
+            disallowedTypes = typeRestrictions == null
+                ? new Types[0]
+                : Arrays.stream(Types.values())
+                    .filter(type -> !typeRestrictions.isTypeAllowed(type))
+                    .toArray(Types[]::new);
+
+            restrictions = Stream.of(
+                    fieldSpec.numericRestrictions,
+                    fieldSpec.dateTimeRestrictions,
+                    fieldSpec.blacklistRestrictions,
+                    fieldSpec.stringRestrictions)
+                .filter(Objects::nonNull)
+                .toArray(TypedRestrictions[]::new);
+        }
+
+        boolean test(Object value) {
+            for (Types type : disallowedTypes) {
+                if (type.isInstanceOf(value)) {
                     return false;
                 }
             }
-        }
-
-        Set<Class<? extends Restrictions>> keys = new HashSet<>();
-        keys.add(NumericRestrictions.class);
-        keys.add(DateTimeRestrictions.class);
-        keys.add(StringRestrictions.class);
-        keys.add(BlacklistRestrictions.class);
 
-        Set<TypedRestrictions> toCheckForMatch = restrictions.getMultiple(keys)
-            .stream()
-            .map(r -> (TypedRestrictions) r)
-            .collect(Collectors.toSet());
-        for (TypedRestrictions restriction : toCheckForMatch) {
-            if (restriction != null && restriction.isInstanceOf(value) && !restriction.match(value)) {
-                return false;
+            for (TypedRestrictions restriction : restrictions) {
+                if (restriction.isInstanceOf(value) && !restriction.match(value)) {
+                    return false;
+                }
             }
-        }
 
-        return true;
+            return true;
+        }
     }
 
     public int hashCode() {
-        return Objects.hash(nullable, whitelist, restrictions, formatting);
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = Objects.hash(nullable, whitelist, typeRestrictions, numericRestrictions, stringRestrictions, dateTimeRestrictions, blacklistRestrictions, formatting);
+            hashCode = hash;
+        }
+        return hash;
     }
 
     @Override
@@ -215,9 +268,17 @@ public class FieldSpec {
         }
 
         FieldSpec other = (FieldSpec) obj;
+        if (hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+            return false;
+        }
+
         return Objects.equals(nullable, other.nullable)
             && Objects.equals(whitelist, other.whitelist)
-            && Objects.equals(restrictions, other.restrictions)
+            && Objects.equals(typeRestrictions, other.typeRestrictions)
+            && Objects.equals(numericRestrictions, other.numericRestrictions)
+            && Objects.equals(stringRestrictions, other.stringRestrictions)
+            && Objects.equals(dateTimeRestrictions, other.dateTimeRestrictions)
+            && Objects.equals(blacklistRestrictions, other.blacklistRestrictions)
             && Objects.equals(formatting, other.formatting);
     }
 }
@@ -16,17 +16,31 @@
 
 package com.scottlogic.deg.generator.fieldspecs;
 
+import com.google.inject.Inject;
+import com.scottlogic.deg.common.util.IndexedSet;
+import com.scottlogic.deg.common.util.SortedArraySet;
+import com.scottlogic.deg.common.util.WeightedSet;
+import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
+import com.scottlogic.deg.generator.generation.NoopDataGeneratorMonitor;
 import com.scottlogic.deg.generator.restrictions.*;
 import com.scottlogic.deg.generator.utils.SetUtils;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Returns a FieldSpec that permits only data permitted by all of its inputs
+ *
+ * The walkers merge the same pairs of FieldSpecs many times, so results are cached. Equal pairs get back the same
+ * FieldSpec instance, which makes later comparisons of the merged specs an identity check.
  */
 public class FieldSpecMerger {
+    private static final int maximumCachedMerges = 100_000;
+
     private static final RestrictionMergeOperation initialMergeOperation = new TypesRestrictionMergeOperation();
     private static final RestrictionMergeOperation[] mergeOperations = new RestrictionMergeOperation[]{
         initialMergeOperation,
@@ -36,12 +50,43 @@ public class FieldSpecMerger {
         new BlacklistRestictionsMergeOperation()
     };
 
+    private final Map<MergeKey, Optional<FieldSpec>> mergeCache = new ConcurrentHashMap<>();
+    private final DataGeneratorMonitor monitor;
+
+    public FieldSpecMerger() {
+        this(new NoopDataGeneratorMonitor());
+    }
+
+    @Inject
+    public FieldSpecMerger(DataGeneratorMonitor monitor) {
+        this.monitor = monitor;
+    }
+
     /**
      * Null parameters are permitted, and are synonymous with an empty FieldSpec
      * <p>
      * Returning an empty Optional conveys that the fields were unmergeable.
      */
     public Optional<FieldSpec> merge(FieldSpec left, FieldSpec right) {
+        MergeKey key = new MergeKey(left, right);
+        Optional<FieldSpec> cached = mergeCache.get(key);
+        if (cached != null) {
+            monitor.fieldSpecMergeCacheHit();
+            return cached;
+        }
+
+        monitor.fieldSpecMergeCacheMiss();
+        Optional<FieldSpec> merged = mergeUncached(left, right);
+
+        // a simple bound: the pairs that are merged repeatedly are soon cached again
+        if (mergeCache.size() >= maximumCachedMerges) {
+            mergeCache.clear();
+        }
+        Optional<FieldSpec> existing = mergeCache.putIfAbsent(key, merged);
+        return existing != null ? existing : merged;
+    }
+
+    private Optional<FieldSpec> mergeUncached(FieldSpec left, FieldSpec right) {
         if (hasSet(left) && hasSet(right)) {
             return mergeSets(left, right);
         }
@@ -55,17 +100,33 @@ public class FieldSpecMerger {
     }
 
     private Optional<FieldSpec> mergeSets(FieldSpec left, FieldSpec right) {
-        Set<Object> set = SetUtils.intersect(
-            left.getWhitelist(),
-            right.getWhitelist()
-        );
+        Set<Object> leftSet = left.getWhitelist();
+        Set<Object> rightSet = right.getWhitelist();
+        Set<Object> set;
+        if (leftSet == rightSet) {
+            set = leftSet;
+        } else if (leftSet instanceof WeightedSet || rightSet instanceof WeightedSet) {
+            set = WeightedSet.intersect(leftSet, rightSet);
+        } else if (leftSet instanceof SortedArraySet && rightSet instanceof SortedArraySet) {
+            set = ((SortedArraySet) leftSet).intersect((SortedArraySet) rightSet);
+        } else {
+            set = SetUtils.intersect(leftSet, rightSet);
+        }
         return addNullable(left, right, setRestriction(set));
     }
 
     private Optional<FieldSpec> combineSetWithRestrictions(FieldSpec set, FieldSpec restrictions) {
-        Set<Object> newSet = set.getWhitelist().stream()
-            .filter(restrictions::permits)
-            .collect(Collectors.toSet());
+        Set<Object> whitelist = set.getWhitelist();
+        Set<Object> newSet;
+        if (whitelist instanceof WeightedSet) {
+            newSet = ((WeightedSet<Object>) whitelist).filter(restrictions::permits);
+        } else if (whitelist instanceof IndexedSet) {
+            newSet = ((IndexedSet<Object>) whitelist).filter(restrictions::permits);
+        } else {
+            newSet = whitelist.stream()
+                .filter(restrictions::permits)
+                .collect(Collectors.toSet());
+        }
 
         return addNullable(set, restrictions, setRestriction(newSet));
     }
@@ -119,4 +180,57 @@ public class FieldSpecMerger {
 
         return addNullable(left, right, merging);
     }
+
+    /**
+     * Specs are compared by value, and a WeightedSet is equal to any set with the same values, so the weights of
+     * the whitelists are compared as well to keep them from leaking between merges
+     */
+    private static class MergeKey {
+        private final FieldSpec left;
+        private final FieldSpec right;
+        private final int hashCode;
+
+        MergeKey(FieldSpec left, FieldSpec right) {
+            this.left = left;
+            this.right = right;
+            this.hashCode = 31 * Objects.hashCode(left) + Objects.hashCode(right);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MergeKey other = (MergeKey) o;
+            return hashCode == other.hashCode
+                && Objects.equals(left, other.left)
+                && Objects.equals(right, other.right)
+                && haveSameWeights(left, other.left)
+                && haveSameWeights(right, other.right);
+        }
+
+        private static boolean haveSameWeights(FieldSpec left, FieldSpec right) {
+            Set<Object> leftSet = left == null ? null : left.getWhitelist();
+            Set<Object> rightSet = right == null ? null : right.getWhitelist();
+            if (!(leftSet instanceof WeightedSet) && !(rightSet instanceof WeightedSet)) {
+                return true;
+            }
+            if (!(leftSet instanceof WeightedSet) || !(rightSet instanceof WeightedSet)) {
+                return false;
+            }
+
+            WeightedSet<?> leftWeights = (WeightedSet<?>) leftSet;
+            WeightedSet<?> rightWeights = (WeightedSet<?>) rightSet;
+            for (Object value : leftWeights) {
+                if (Double.compare(leftWeights.getWeight(value), rightWeights.getWeight(value)) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
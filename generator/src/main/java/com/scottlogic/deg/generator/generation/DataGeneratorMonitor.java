@@ -22,5 +22,7 @@ public interface DataGeneratorMonitor {
     default void generationStarting() {}
     default void rowEmitted(GeneratedObject row) {}
     default void endGeneration() {}
+    default void fieldSpecMergeCacheHit() {}
+    default void fieldSpecMergeCacheMiss() {}
     void addLineToPrintAtEndOfGeneration(String line);
 }
@@ -19,6 +19,7 @@ package com.scottlogic.deg.generator.generation;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.generator.config.detail.Shard;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeFactory;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeOptimiser;
@@ -26,11 +27,26 @@ import com.scottlogic.deg.generator.decisiontree.treepartitioning.TreePartitione
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
 import com.scottlogic.deg.generator.generation.databags.*;
 import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.generator.utils.BackgroundBufferingIterator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
+import com.scottlogic.deg.generator.walker.ShardableDecisionTreeWalker;
+import com.scottlogic.deg.generator.walker.SkippingDecisionTreeWalker;
 
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DecisionTreeDataGenerator implements DataGenerator {
+    private static final int PARTITION_BUFFER_SIZE = 1000;
+
     private final DecisionTreeWalker treeWalker;
     private final DataGeneratorMonitor monitor;
     private final DecisionTreeFactory decisionTreeGenerator;
@@ -38,7 +54,11 @@ public class DecisionTreeDataGenerator implements DataGenerator {
     private final DecisionTreeOptimiser treeOptimiser;
     private final CombinationStrategy partitionCombiner;
     private final UpfrontTreePruner upfrontTreePruner;
+    private final ThreadBoundRandomNumberGenerator randomNumberGenerator;
+    private final Shard shard;
     private final long maxRows;
+    private final long rowsToSkip;
+    private final boolean walkPartitionsInParallel;
 
     @Inject
     public DecisionTreeDataGenerator(
@@ -49,7 +69,11 @@ public class DecisionTreeDataGenerator implements DataGenerator {
         DataGeneratorMonitor monitor,
         CombinationStrategy combinationStrategy,
         UpfrontTreePruner upfrontTreePruner,
-        @Named("config:maxRows") long maxRows) {
+        ThreadBoundRandomNumberGenerator randomNumberGenerator,
+        Shard shard,
+        @Named("config:maxRows") long maxRows,
+        @Named("config:rowsToSkip") long rowsToSkip,
+        @Named("config:walkPartitionsInParallel") boolean walkPartitionsInParallel) {
         this.decisionTreeGenerator = decisionTreeGenerator;
         this.treePartitioner = treePartitioner;
         this.treeOptimiser = optimiser;
@@ -57,7 +81,11 @@ public class DecisionTreeDataGenerator implements DataGenerator {
         this.monitor = monitor;
         this.partitionCombiner = combinationStrategy;
         this.upfrontTreePruner = upfrontTreePruner;
+        this.randomNumberGenerator = randomNumberGenerator;
+        this.shard = shard;
         this.maxRows = maxRows;
+        this.rowsToSkip = rowsToSkip;
+        this.walkPartitionsInParallel = walkPartitionsInParallel;
     }
 
     @Override
@@ -70,14 +98,115 @@ public class DecisionTreeDataGenerator implements DataGenerator {
             return Stream.empty();
         }
 
-        Stream<Stream<DataBag>> partitionedDataBags = treePartitioner
+        List<DecisionTree> partitions = treePartitioner
             .splitTreeIntoPartitions(decisionTree)
             .map(treeOptimiser::optimiseTree)
-            .map(treeWalker::walk);
+            .collect(Collectors.toList());
+
+        long rowsToSkipInWalk = getRowsToSkipInWalk(partitions);
+        List<Stream<DataBag>> partitionedDataBags = IntStream.range(0, partitions.size())
+            .mapToObj(partitionIndex -> walkWithIndependentRandomness(
+                partitionIndex,
+                partitions.get(partitionIndex),
+                rowsToSkipInWalk))
+            .collect(Collectors.toList());
+
+        Stream<GeneratedObject> dataItems = walkPartitionsInParallel
+            ? walkInParallel(partitionedDataBags.stream(), rowsToSkipInWalk)
+            : combine(partitionedDataBags.stream(), rowsToSkipInWalk);
+
+        return dataItems.onClose(() -> partitionedDataBags.forEach(Stream::close));
+    }
+
+    /**
+     * Every combination strategy produces the rows of a single partition in the order they were walked, so a walker
+     * which can skip rows does so for a single partition; the rows of several partitions are skipped as they are
+     * combined.
+     */
+    private long getRowsToSkipInWalk(List<DecisionTree> partitions) {
+        return partitions.size() == 1 && !walksShards() && treeWalker instanceof SkippingDecisionTreeWalker
+            ? rowsToSkip
+            : 0;
+    }
 
-        return partitionCombiner.permute(partitionedDataBags)
+    private Stream<GeneratedObject> combine(Stream<Stream<DataBag>> partitionedDataBags, long rowsToSkipInWalk) {
+        return combineRowsOfShard(partitionedDataBags, rowsToSkipInWalk)
             .map(d->(GeneratedObject)d)
-            .limit(maxRows)
             .peek(monitor::rowEmitted);
     }
+
+    /**
+     * A walker which can walk a shard only produces the rows of that shard after the rows to skip. Otherwise the
+     * walker or the combination strategy jumps to the first row after those to skip, and the rows belonging to other shards are
+     * produced but not emitted.
+     */
+    private Stream<DataBag> combineRowsOfShard(Stream<Stream<DataBag>> partitionedDataBags, long rowsToSkipInWalk) {
+        if (walksShards()) {
+            return partitionCombiner.permute(partitionedDataBags)
+                .limit(shard.getRowCount(rowsToSkip, maxRows));
+        }
+
+        long rowsToSkipInCombination = rowsToSkip - rowsToSkipInWalk;
+        Stream<DataBag> dataBags = rowsToSkipInCombination > 0
+            ? partitionCombiner.permute(partitionedDataBags, rowsToSkipInCombination)
+            : partitionCombiner.permute(partitionedDataBags);
+
+        dataBags = dataBags.limit(Math.max(0, maxRows - rowsToSkip));
+        if (shard.isAllRows()) {
+            return dataBags;
+        }
+
+        AtomicLong rowIndex = new AtomicLong(rowsToSkip);
+        return dataBags.filter(dataBag -> shard.containsRow(rowIndex.getAndIncrement()));
+    }
+
+    private boolean walksShards() {
+        return treeWalker instanceof ShardableDecisionTreeWalker;
+    }
+
+    private Stream<DataBag> walk(DecisionTree partition, long rowsToSkipInWalk) {
+        if (walksShards()) {
+            return ((ShardableDecisionTreeWalker) treeWalker).walk(partition, shard, rowsToSkip);
+        }
+
+        return rowsToSkipInWalk > 0
+            ? ((SkippingDecisionTreeWalker) treeWalker).walk(partition, rowsToSkipInWalk)
+            : treeWalker.walk(partition);
+    }
+
+    /**
+     * Each partition draws from its own random number generator, keyed by its position, so the values produced for a
+     * partition are the same whether the partitions are walked in turn or in parallel.
+     */
+    private Stream<DataBag> walkWithIndependentRandomness(
+        int partitionIndex,
+        DecisionTree partition,
+        long rowsToSkipInWalk) {
+        return randomNumberGenerator.bindTo(
+            randomNumberGenerator.getBoundGenerator().derive(partitionIndex),
+            () -> walk(partition, rowsToSkipInWalk));
+    }
+
+    private Stream<GeneratedObject> walkInParallel(Stream<Stream<DataBag>> partitionedDataBags, long rowsToSkipInWalk) {
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "partition-walker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<BackgroundBufferingIterator<DataBag>> buffers = partitionedDataBags
+            .map(dataBags -> new BackgroundBufferingIterator<>(dataBags.iterator(), PARTITION_BUFFER_SIZE, executor))
+            .collect(Collectors.toList());
+
+        Stream<Stream<DataBag>> bufferedDataBags = buffers.stream()
+            .map(buffer -> StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(buffer, Spliterator.ORDERED),
+                false));
+
+        return combine(bufferedDataBags, rowsToSkipInWalk)
+            .onClose(() -> {
+                buffers.forEach(BackgroundBufferingIterator::close);
+                executor.shutdownNow();
+            });
+    }
 }
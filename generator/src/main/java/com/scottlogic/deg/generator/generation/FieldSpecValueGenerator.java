@@ -17,12 +17,14 @@
 package com.scottlogic.deg.generator.generation;
 
 import com.google.inject.Inject;
+import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.generation.databags.DataBagValue;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.CombiningFieldValueSource;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
-import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,41 +34,83 @@ import java.util.stream.StreamSupport;
 public class FieldSpecValueGenerator {
     private final DataGenerationType dataType;
     private final FieldValueSourceEvaluator sourceFactory;
-    private final JavaUtilRandomNumberGenerator randomNumberGenerator;
+    private final ThreadBoundRandomNumberGenerator randomNumberGenerator;
 
     @Inject
-    public FieldSpecValueGenerator(DataGenerationType dataGenerationType, FieldValueSourceEvaluator sourceEvaluator, JavaUtilRandomNumberGenerator randomNumberGenerator) {
+    public FieldSpecValueGenerator(DataGenerationType dataGenerationType, FieldValueSourceEvaluator sourceEvaluator, ThreadBoundRandomNumberGenerator randomNumberGenerator) {
         this.dataType = dataGenerationType;
         this.sourceFactory = sourceEvaluator;
         this.randomNumberGenerator = randomNumberGenerator;
     }
 
-    public Stream<DataBagValue> generate(Set<FieldSpec> specs) {
-        List<FieldValueSource> fieldValueSources = specs.stream()
+    /**
+     * Random values are drawn from a generator keyed by the field, so they do not depend on how many numbers were
+     * drawn for any other field.
+     */
+    public Stream<DataBagValue> generate(Field field, Set<FieldSpec> specs) {
+        return generate(field, specs, 0);
+    }
+
+    /**
+     * Produces the values of generate(field, specs) from the one at the given index, finding it directly when
+     * generating all values from sources that can.
+     */
+    public Stream<DataBagValue> generate(Field field, Set<FieldSpec> specs, long fromIndex) {
+        FieldSpec spec = specs.stream().findFirst().orElse(FieldSpec.Empty);
+        FieldValueSource combinedFieldValueSource = getCombinedSource(specs);
+
+        Stream<Object> values = dataType == DataGenerationType.FULL_SEQUENTIAL
+            ? StreamSupport.stream(combinedFieldValueSource.generateAllValues(fromIndex).spliterator(), false)
+            : StreamSupport.stream(getDataValues(
+                    combinedFieldValueSource,
+                    randomNumberGenerator.getBoundGenerator().derive(field.name)).spliterator(), false)
+                .skip(fromIndex);
+
+        return values.map(value -> new DataBagValue(value, spec.getFormatting()));
+    }
+
+    /**
+     * The number of values generate(field, specs) produces, if it is known exactly without producing them; only
+     * known when generating all values.
+     */
+    public OptionalLong countValues(Set<FieldSpec> specs) {
+        if (dataType != DataGenerationType.FULL_SEQUENTIAL) {
+            return OptionalLong.empty();
+        }
+
+        FieldValueSource combinedFieldValueSource = getCombinedSource(specs);
+        return combinedFieldValueSource.hasExactValueCount()
+            ? OptionalLong.of(combinedFieldValueSource.getValueCount())
+            : OptionalLong.empty();
+    }
+
+    private FieldValueSource getCombinedSource(Set<FieldSpec> specs) {
+        return new CombiningFieldValueSource(specs.stream()
             .map(sourceFactory::getFieldValueSources)
             .flatMap(Collection::stream)
             .distinct()
-            .collect(Collectors.toList());
-
-        return createValuesFromSources(specs.stream().findFirst().orElse(FieldSpec.Empty), fieldValueSources);
+            .collect(Collectors.toList()));
     }
 
     public Stream<DataBagValue> generate(FieldSpec spec) {
         List<FieldValueSource> fieldValueSources = sourceFactory.getFieldValueSources(spec);
 
-        return createValuesFromSources(spec, fieldValueSources);
+        return createValuesFromSources(spec, fieldValueSources, randomNumberGenerator);
     }
 
-    private Stream<DataBagValue> createValuesFromSources(FieldSpec spec, List<FieldValueSource> fieldValueSources) {
+    private Stream<DataBagValue> createValuesFromSources(
+        FieldSpec spec,
+        List<FieldValueSource> fieldValueSources,
+        RandomNumberGenerator randomNumberGenerator) {
         FieldValueSource combinedFieldValueSource = new CombiningFieldValueSource(fieldValueSources);
 
-        Iterable<Object> iterable =  getDataValues(combinedFieldValueSource);
+        Iterable<Object> iterable =  getDataValues(combinedFieldValueSource, randomNumberGenerator);
 
         return StreamSupport.stream(iterable.spliterator(), false)
             .map(value -> new DataBagValue(value, spec.getFormatting()));
     }
 
-    private Iterable<Object> getDataValues(FieldValueSource source) {
+    private Iterable<Object> getDataValues(FieldValueSource source, RandomNumberGenerator randomNumberGenerator) {
         switch (dataType) {
             case FULL_SEQUENTIAL:
                 return source.generateAllValues();
@@ -79,4 +123,3 @@ public class FieldSpecValueGenerator {
         }
     }
 }
-
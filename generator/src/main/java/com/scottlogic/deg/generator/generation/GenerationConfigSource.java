@@ -18,15 +18,26 @@ package com.scottlogic.deg.generator.generation;
 
 import com.scottlogic.deg.generator.config.detail.*;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 public interface GenerationConfigSource  {
     DataGenerationType getGenerationType();
     CombinationStrategyType getCombinationStrategyType();
+    int getCombinationStrength();
     TreeWalkerType getWalkerType();
     long getMaxRows();
+    long getRowsToSkip();
+    Optional<Long> getSeed();
+    Shard getShard();
 
     MonitorType getMonitorType();
     boolean shouldDoPartitioning();
+    boolean walkPartitionsInParallel();
+    int getGenerationThreads();
     boolean visualiseReductions();
     boolean requireFieldTyping();
     boolean dontOptimise();
+    Optional<Path> getRegexCacheDirectory();
+    boolean sampleRegexesUniformly();
 }
@@ -16,7 +16,11 @@
 
 package com.scottlogic.deg.generator.generation;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint;
+import com.scottlogic.deg.common.util.IndexedSet;
+import com.scottlogic.deg.common.util.WeightedSet;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.*;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.datetime.DateTimeFieldValueSource;
@@ -31,6 +35,17 @@ import java.util.stream.Stream;
 public class StandardFieldValueSourceEvaluator implements FieldValueSourceEvaluator {
     private static final CannedValuesFieldValueSource nullOnlySource = new CannedValuesFieldValueSource(Collections.singletonList(null));
 
+    private final boolean sampleRegexesUniformly;
+
+    public StandardFieldValueSourceEvaluator() {
+        this(false);
+    }
+
+    @Inject
+    public StandardFieldValueSourceEvaluator(@Named("config:sampleRegexesUniformly") boolean sampleRegexesUniformly) {
+        this.sampleRegexesUniformly = sampleRegexesUniformly;
+    }
+
     public List<FieldValueSource> getFieldValueSources(FieldSpec fieldSpec){
 
         if (fieldSpec.getWhitelist() != null && fieldSpec.getWhitelist() != null) {
@@ -77,6 +92,21 @@ public class StandardFieldValueSourceEvaluator implements FieldValueSourceEvalua
             return Collections.emptyList();
         }
 
+        if (whitelist instanceof WeightedSet) {
+            WeightedSet<Object> weightedWhitelist = (WeightedSet<Object>) whitelist;
+            List<Object> values = new ArrayList<>(weightedWhitelist);
+            double[] weights = values.stream().mapToDouble(weightedWhitelist::getWeight).toArray();
+
+            return Collections.singletonList(
+                new CannedValuesFieldValueSource(values, weights));
+        }
+
+        if (whitelist instanceof IndexedSet) {
+            return Collections.singletonList(
+                new CannedValuesFieldValueSource(
+                    ((IndexedSet<Object>) whitelist).asList()));
+        }
+
         return Collections.singletonList(
             new CannedValuesFieldValueSource(
                 new ArrayList<>(whitelist)));
@@ -87,6 +117,12 @@ public class StandardFieldValueSourceEvaluator implements FieldValueSourceEvalua
             ? new NumericRestrictions()
             : fieldSpec.getNumericRestrictions();
 
+        if (IntegerFieldValueSource.canGenerate(restrictions)) {
+            return new IntegerFieldValueSource(
+                restrictions,
+                getBlacklist(fieldSpec));
+        }
+
         return new RealNumberFieldValueSource(
             restrictions,
             getBlacklist(fieldSpec));
@@ -115,6 +151,10 @@ public class StandardFieldValueSourceEvaluator implements FieldValueSourceEvalua
             generator = generator.intersect(blacklistGenerator);
         }
 
+        if (sampleRegexesUniformly && generator instanceof RegexStringGenerator) {
+            generator = ((RegexStringGenerator) generator).withUniformSampling();
+        }
+
         return generator.asFieldValueSource();
     }
 
@@ -18,6 +18,8 @@ package com.scottlogic.deg.generator.generation;
 
 import com.google.inject.Inject;
 import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.generator.generation.string.AutomatonCache;
+import com.scottlogic.deg.generator.generation.string.RegexStringGenerator;
 
 import java.io.PrintWriter;
 import java.math.BigDecimal;
@@ -27,6 +29,7 @@ import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.LongAdder;
 
 public class VelocityMonitor extends ReductiveDataGeneratorMonitor {
     private static final BigDecimal millisecondsInSecond = BigDecimal.valueOf(1_000);
@@ -38,6 +41,8 @@ public class VelocityMonitor extends ReductiveDataGeneratorMonitor {
     private Timer timer;
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
     private long previousVelocity = 0;
+    private final LongAdder mergeCacheHits = new LongAdder();
+    private final LongAdder mergeCacheMisses = new LongAdder();
 
     @Inject
     public VelocityMonitor(PrintWriter writer) {
@@ -102,9 +107,53 @@ public class VelocityMonitor extends ReductiveDataGeneratorMonitor {
             "\nGeneration finished at: %s",
             timeFormatter.format(finished));
 
+        reportMergeCache();
+        reportAutomatonCache("Regex automata", RegexStringGenerator.getRegexAutomatonCache());
+        reportAutomatonCache("Regex operations", RegexStringGenerator.getOperationAutomatonCache());
+
         super.endGeneration();
     }
 
+    @Override
+    public void fieldSpecMergeCacheHit() {
+        mergeCacheHits.increment();
+    }
+
+    @Override
+    public void fieldSpecMergeCacheMiss() {
+        mergeCacheMisses.increment();
+    }
+
+    private void reportMergeCache() {
+        long hits = mergeCacheHits.sum();
+        long lookups = hits + mergeCacheMisses.sum();
+        if (lookups == 0) {
+            return;
+        }
+
+        println(
+            "Field spec merges: %d, of which %d (%d%%) were cached",
+            lookups,
+            hits,
+            hits * 100 / lookups);
+    }
+
+    private void reportAutomatonCache(String name, AutomatonCache cache) {
+        long hits = cache.getHits();
+        long lookups = hits + cache.getMisses();
+        if (lookups == 0) {
+            return;
+        }
+
+        println(
+            "%s: %d, of which %d (%d%%) were cached, %d evicted",
+            name,
+            lookups,
+            hits,
+            hits * 100 / lookups,
+            cache.getEvictions());
+    }
+
     private void reportVelocity(long rowsSinceLastSample) {
         String trend = rowsSinceLastSample > previousVelocity ? "+" : "-";
         println(
@@ -22,4 +22,12 @@ import java.util.stream.Stream;
 
 public interface CombinationStrategy {
     Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences);
+
+    /**
+     * Combines the sequences starting from the combination at the given index, as though the combinations before it
+     * had been skipped.
+     */
+    default Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences, long fromIndex) {
+        return permute(dataBagSequences).skip(fromIndex);
+    }
 }
@@ -18,36 +18,112 @@ package com.scottlogic.deg.generator.generation.combinationstrategies;
 
 import com.scottlogic.deg.common.util.FlatMappingSpliterator;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.generation.databags.DataBagSpillCodec;
+import com.scottlogic.deg.generator.utils.SpillingRestartableIterator;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+/**
+ * Combines every item of each sequence with every combination of the items of the sequences after it, the last
+ * sequence varying fastest.
+ *
+ * The first sequence is only read once, as the combinations are produced. The others are replayed for each item of
+ * the sequences before them, keeping a bounded number of their items in memory and spilling the rest to disk.
+ */
 public class ExhaustiveCombinationStrategy implements CombinationStrategy {
+    private static final int MAX_BAGS_IN_MEMORY_PER_SEQUENCE = 10_000;
+
+    private final int maxBagsInMemoryPerSequence;
+
+    public ExhaustiveCombinationStrategy() {
+        this(MAX_BAGS_IN_MEMORY_PER_SEQUENCE);
+    }
+
+    ExhaustiveCombinationStrategy(int maxBagsInMemoryPerSequence) {
+        this.maxBagsInMemoryPerSequence = maxBagsInMemoryPerSequence;
+    }
 
     @Override
     public Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences) {
+        return permute(dataBagSequences, 0);
+    }
 
-        List<List<DataBag>> bagsAsLists = dataBagSequences
-            .map(sequence ->
-                StreamSupport.stream(sequence.spliterator(), false)
-                    .collect(Collectors.toList()))
+    /**
+     * The combination at an index is found directly from the number of items in each sequence, so none of the
+     * combinations before it are produced.
+     */
+    @Override
+    public Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences, long fromIndex) {
+        List<Iterator<DataBag>> sequences = dataBagSequences
+            .map(Stream::iterator)
             .collect(Collectors.toList());
+        if (sequences.isEmpty()) {
+            return fromIndex == 0 ? Stream.of(DataBag.empty) : Stream.empty();
+        }
+
+        List<SpillingRestartableIterator<DataBag>> replayedSequences = sequences.stream()
+            .skip(1)
+            .map(sequence -> new SpillingRestartableIterator<>(
+                sequence,
+                maxBagsInMemoryPerSequence,
+                new DataBagSpillCodec()))
+            .collect(Collectors.toList());
+        Runnable closeReplayedSequences = () -> replayedSequences.forEach(SpillingRestartableIterator::close);
+
+        long[] startPositions = new long[sequences.size()];
+        long remainingIndex = fromIndex;
+        for (int index = replayedSequences.size() - 1; index >= 0; index--) {
+            SpillingRestartableIterator<DataBag> sequence = replayedSequences.get(index);
+            if (!sequence.hasNext()) {
+                closeReplayedSequences.run();
+                return Stream.empty();
+            }
 
-        return next(DataBag.empty, bagsAsLists, 0);
+            if (remainingIndex > 0) {
+                long sequenceSize = sequence.readAll();
+                startPositions[index + 1] = remainingIndex % sequenceSize;
+                remainingIndex /= sequenceSize;
+            }
+        }
+        startPositions[0] = remainingIndex;
+
+        return next(DataBag.empty, sequences.get(0), replayedSequences, 0, startPositions)
+            .onClose(closeReplayedSequences);
     }
 
-    public Stream<DataBag> next(DataBag accumulatingBag, List<List<DataBag>> bagSequences, int bagSequenceIndex) {
-        if (bagSequenceIndex < bagSequences.size()) {
-            List<DataBag> nextStream = bagSequences.get(bagSequenceIndex);
+    private Stream<DataBag> next(
+        DataBag accumulatingBag,
+        Iterator<DataBag> firstSequence,
+        List<SpillingRestartableIterator<DataBag>> replayedSequences,
+        int bagSequenceIndex,
+        long[] startPositions) {
+        if (bagSequenceIndex <= replayedSequences.size()) {
+            Iterator<DataBag> nextSequence = bagSequenceIndex == 0
+                ? firstSequence
+                : restarted(replayedSequences.get(bagSequenceIndex - 1));
+            long[] laterStartPositions = new long[startPositions.length];
+            AtomicBoolean isFirstBag = new AtomicBoolean(true);
 
-            return FlatMappingSpliterator.flatMap(nextStream
-                .stream()
+            return FlatMappingSpliterator.flatMap(StreamSupport.stream(Spliterators.spliteratorUnknownSize(nextSequence, Spliterator.ORDERED), false)
+                .skip(startPositions[bagSequenceIndex])
                 .map(innerBag -> DataBag.merge(innerBag, accumulatingBag)),
-                innerBag -> next(innerBag, bagSequences, bagSequenceIndex + 1));
+                innerBag -> next(
+                    innerBag,
+                    firstSequence,
+                    replayedSequences,
+                    bagSequenceIndex + 1,
+                    isFirstBag.getAndSet(false) ? startPositions : laterStartPositions));
         }
         else
             return Stream.of(accumulatingBag);
     }
+
+    private static Iterator<DataBag> restarted(SpillingRestartableIterator<DataBag> sequence) {
+        sequence.restart();
+        return sequence;
+    }
 }
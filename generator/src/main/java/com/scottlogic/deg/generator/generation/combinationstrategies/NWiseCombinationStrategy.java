@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.combinationstrategies;
+
+import com.scottlogic.deg.generator.generation.databags.DataBag;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Produces a covering array of the sequences: every combination of items from any n of the sequences appears in at
+ * least one output, usually in far fewer outputs than the exhaustive strategy would produce.
+ *
+ * The array is built with the IPOG algorithm. The n largest sequences are combined exhaustively, then each further
+ * sequence is added in turn, first by choosing for each existing output the item that covers the most combinations not
+ * covered yet, then by adding outputs for any combinations still not covered. Every sequence is read into memory.
+ */
+public class NWiseCombinationStrategy implements CombinationStrategy {
+    private static final int UNSET = -1;
+
+    private final int strength;
+
+    public NWiseCombinationStrategy(int strength) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("The strength of an n-wise combination must be at least 1");
+        }
+
+        this.strength = strength;
+    }
+
+    @Override
+    public Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences) {
+        List<List<DataBag>> sequences = dataBagSequences
+            .map(sequence -> sequence.collect(Collectors.toList()))
+            .collect(Collectors.toList());
+
+        if (sequences.stream().anyMatch(List::isEmpty)) {
+            return Stream.empty();
+        }
+
+        // the algorithm produces fewer outputs when the largest sequences are combined first
+        int[] sequenceOrder = IntStream.range(0, sequences.size())
+            .boxed()
+            .sorted(Comparator.comparing((Integer index) -> sequences.get(index).size()).reversed())
+            .mapToInt(Integer::intValue)
+            .toArray();
+        int[] sizes = Arrays.stream(sequenceOrder).map(index -> sequences.get(index).size()).toArray();
+
+        return coveringArray(sizes).stream()
+            .map(row -> {
+                DataBag[] bags = new DataBag[row.length];
+                for (int parameter = 0; parameter < row.length; parameter++) {
+                    bags[parameter] = sequences.get(sequenceOrder[parameter]).get(row[parameter]);
+                }
+                return DataBag.merge(bags);
+            });
+    }
+
+    private List<int[]> coveringArray(int[] sizes) {
+        int initialParameters = Math.min(strength, sizes.length);
+        List<int[]> rows = new ArrayList<>();
+        int[] initialRow = new int[sizes.length];
+        Arrays.fill(initialRow, UNSET);
+        addEveryCombination(rows, initialRow, sizes, 0, initialParameters);
+
+        for (int parameter = initialParameters; parameter < sizes.length; parameter++) {
+            UncoveredInteractions uncovered = new UncoveredInteractions(sizes, parameter, strength - 1);
+            growHorizontally(rows, sizes[parameter], parameter, uncovered);
+            growVertically(rows, parameter, uncovered);
+        }
+
+        for (int[] row : rows) {
+            for (int parameter = 0; parameter < row.length; parameter++) {
+                if (row[parameter] == UNSET) {
+                    row[parameter] = 0;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void addEveryCombination(List<int[]> rows, int[] row, int[] sizes, int parameter, int parameters) {
+        if (parameter == parameters) {
+            rows.add(row.clone());
+            return;
+        }
+
+        for (int value = 0; value < sizes[parameter]; value++) {
+            row[parameter] = value;
+            addEveryCombination(rows, row, sizes, parameter + 1, parameters);
+        }
+    }
+
+    private static void growHorizontally(List<int[]> rows, int size, int parameter, UncoveredInteractions uncovered) {
+        for (int[] row : rows) {
+            int bestValue = 0;
+            int mostCovered = -1;
+            for (int value = 0; value < size; value++) {
+                row[parameter] = value;
+                int covered = uncovered.countCoveredBy(row);
+                if (covered > mostCovered) {
+                    bestValue = value;
+                    mostCovered = covered;
+                }
+            }
+
+            row[parameter] = bestValue;
+            uncovered.markCoveredBy(row);
+        }
+    }
+
+    private static void growVertically(List<int[]> rows, int parameter, UncoveredInteractions uncovered) {
+        uncovered.forEachUncovered((otherParameters, values) -> {
+            int[] compatibleRow = rows.stream()
+                .filter(row -> isCompatible(row, otherParameters, values, parameter))
+                .findFirst()
+                .orElseGet(() -> {
+                    int[] newRow = new int[rows.get(0).length];
+                    Arrays.fill(newRow, UNSET);
+                    rows.add(newRow);
+                    return newRow;
+                });
+
+            for (int index = 0; index < otherParameters.length; index++) {
+                compatibleRow[otherParameters[index]] = values[index];
+            }
+            compatibleRow[parameter] = values[otherParameters.length];
+            uncovered.markCoveredBy(compatibleRow);
+        });
+    }
+
+    private static boolean isCompatible(int[] row, int[] otherParameters, int[] values, int parameter) {
+        for (int index = 0; index < otherParameters.length; index++) {
+            int value = row[otherParameters[index]];
+            if (value != UNSET && value != values[index]) {
+                return false;
+            }
+        }
+
+        int value = row[parameter];
+        return value == UNSET || value == values[otherParameters.length];
+    }
+
+    /**
+     * The combinations of a value of one parameter with values of each set of a given number of the parameters before
+     * it, which no row covers yet.
+     */
+    private static class UncoveredInteractions {
+        private final int[] sizes;
+        private final int parameter;
+        private final List<int[]> otherParameterSets = new ArrayList<>();
+        private final List<Integer> interactionCounts = new ArrayList<>();
+        private final List<BitSet> covered = new ArrayList<>();
+
+        UncoveredInteractions(int[] sizes, int parameter, int otherParameterCount) {
+            this.sizes = sizes;
+            this.parameter = parameter;
+            addOtherParameterSets(new int[otherParameterCount], 0, 0);
+        }
+
+        private void addOtherParameterSets(int[] otherParameters, int index, int firstCandidate) {
+            if (index == otherParameters.length) {
+                long interactions = sizes[parameter];
+                for (int otherParameter : otherParameters) {
+                    interactions *= sizes[otherParameter];
+                }
+                if (interactions > Integer.MAX_VALUE) {
+                    throw new IllegalStateException(
+                        "Too many combinations to cover; reduce the strength of the n-wise combination");
+                }
+
+                otherParameterSets.add(otherParameters.clone());
+                interactionCounts.add((int) interactions);
+                covered.add(new BitSet());
+                return;
+            }
+
+            for (int candidate = firstCandidate; candidate < parameter; candidate++) {
+                otherParameters[index] = candidate;
+                addOtherParameterSets(otherParameters, index + 1, candidate + 1);
+            }
+        }
+
+        int countCoveredBy(int[] row) {
+            int count = 0;
+            for (int set = 0; set < otherParameterSets.size(); set++) {
+                int interaction = interactionOf(row, otherParameterSets.get(set));
+                if (interaction != UNSET && !covered.get(set).get(interaction)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        void markCoveredBy(int[] row) {
+            for (int set = 0; set < otherParameterSets.size(); set++) {
+                int interaction = interactionOf(row, otherParameterSets.get(set));
+                if (interaction != UNSET) {
+                    covered.get(set).set(interaction);
+                }
+            }
+        }
+
+        /**
+         * Visits each interaction that is still uncovered when it is reached, with its other parameters and the values
+         * of those parameters followed by the value of this parameter.
+         */
+        void forEachUncovered(InteractionConsumer consumer) {
+            for (int set = 0; set < otherParameterSets.size(); set++) {
+                int[] otherParameters = otherParameterSets.get(set);
+                int interactions = interactionCounts.get(set);
+                BitSet coveredInSet = covered.get(set);
+                for (int interaction = coveredInSet.nextClearBit(0); interaction < interactions; interaction = coveredInSet.nextClearBit(interaction + 1)) {
+                    consumer.accept(otherParameters, valuesOf(interaction, otherParameters));
+                }
+            }
+        }
+
+        private int interactionOf(int[] row, int[] otherParameters) {
+            if (row[parameter] == UNSET) {
+                return UNSET;
+            }
+
+            int interaction = 0;
+            for (int otherParameter : otherParameters) {
+                if (row[otherParameter] == UNSET) {
+                    return UNSET;
+                }
+                interaction = interaction * sizes[otherParameter] + row[otherParameter];
+            }
+            return interaction * sizes[parameter] + row[parameter];
+        }
+
+        private int[] valuesOf(int interaction, int[] otherParameters) {
+            int[] values = new int[otherParameters.length + 1];
+            values[otherParameters.length] = interaction % sizes[parameter];
+            interaction /= sizes[parameter];
+            for (int index = otherParameters.length - 1; index >= 0; index--) {
+                values[index] = interaction % sizes[otherParameters[index]];
+                interaction /= sizes[otherParameters[index]];
+            }
+            return values;
+        }
+    }
+
+    @FunctionalInterface
+    private interface InteractionConsumer {
+        void accept(int[] otherParameters, int[] values);
+    }
+}
@@ -23,6 +23,7 @@ import com.scottlogic.deg.generator.utils.RestartableIterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -30,21 +31,59 @@ import java.util.stream.StreamSupport;
 public class ReductiveCombinationStrategy implements CombinationStrategy {
     @Override
     public Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences) {
+        return permute(dataBagSequences, 0);
+    }
+
+    /**
+     * The combination at an index is found from the number of items in each sequence, the last sequence varying
+     * fastest. Later sequences are only read as far as needed to find their position, and only the first sequence is
+     * read up to the position of the combination in it, so none of the combinations before it are produced.
+     */
+    @Override
+    public Stream<DataBag> permute(Stream<Stream<DataBag>> dataBagSequences, long fromIndex) {
         List<RestartableIterator<DataBag>> bagsAsLists = dataBagSequences
             .map(dbs -> new RestartableIterator<>(dbs.iterator()))
             .collect(Collectors.toList());
 
-        return next(DataBag.empty, bagsAsLists, 0);
+        long[] startPositions = new long[bagsAsLists.size()];
+        long remainingIndex = fromIndex;
+        for (int index = bagsAsLists.size() - 1; index > 0 && remainingIndex > 0; index--) {
+            long itemsRead = bagsAsLists.get(index).readAhead(remainingIndex + 1);
+            if (itemsRead == 0) {
+                return Stream.empty();
+            }
+
+            if (itemsRead > remainingIndex) {
+                startPositions[index] = remainingIndex;
+                remainingIndex = 0;
+            } else {
+                startPositions[index] = remainingIndex % itemsRead;
+                remainingIndex /= itemsRead;
+            }
+        }
+
+        if (startPositions.length > 0) {
+            startPositions[0] = remainingIndex;
+        }
+
+        return next(DataBag.empty, bagsAsLists, 0, startPositions);
     }
 
-    public Stream<DataBag> next(DataBag accumulatingBag, List<RestartableIterator<DataBag>> bagSequences, int bagSequenceIndex) {
+    private Stream<DataBag> next(DataBag accumulatingBag, List<RestartableIterator<DataBag>> bagSequences, int bagSequenceIndex, long[] startPositions) {
         if (bagSequenceIndex < bagSequences.size()) {
             RestartableIterator<DataBag> nextStream = bagSequences.get(bagSequenceIndex);
             nextStream.restart();
+            nextStream.skip(startPositions[bagSequenceIndex]);
+            long[] laterStartPositions = new long[startPositions.length];
+            AtomicBoolean isFirstBag = new AtomicBoolean(true);
 
             return FlatMappingSpliterator.flatMap(StreamSupport.stream(Spliterators.spliteratorUnknownSize(nextStream, Spliterator.ORDERED),false)
                 .map(innerBag -> DataBag.merge(innerBag, accumulatingBag)),
-                innerBag -> next(innerBag, bagSequences, bagSequenceIndex + 1));
+                innerBag -> next(
+                    innerBag,
+                    bagSequences,
+                    bagSequenceIndex + 1,
+                    isFirstBag.getAndSet(false) ? startPositions : laterStartPositions));
         }
         else
             return Stream.of(accumulatingBag);
@@ -17,27 +17,94 @@
 package com.scottlogic.deg.generator.generation.databags;
 
 import com.scottlogic.deg.common.profile.Field;
-import com.scottlogic.deg.common.util.FlatMappingSpliterator;
+import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.common.output.GeneratedObject;
 
 import java.util.*;
 
-
+/**
+ * The values of some of the fields of a profile, held in arrays ordered by the ordinals the ProfileFields assign,
+ * so that bags of fields from the same profile are merged by interleaving their arrays.
+ */
 public class DataBag implements GeneratedObject {
-    public static final DataBag empty = new DataBag(new HashMap<>());
+    public static final DataBag empty = new DataBag(new ProfileFields(Collections.emptyList()), new int[0], new DataBagValue[0]);
 
-    private final Map<Field, DataBagValue> fieldToValue;
+    private final ProfileFields fields;
+    private final int[] ordinals;
+    private final DataBagValue[] values;
 
     public DataBag(Map<Field, DataBagValue> fieldToValue) {
-        this.fieldToValue = fieldToValue;
+        this(new ProfileFields(new ArrayList<>(fieldToValue.keySet())), fieldToValue);
+    }
+
+    public DataBag(ProfileFields fields, Map<Field, DataBagValue> fieldToValue) {
+        this.fields = fields;
+        this.ordinals = new int[fieldToValue.size()];
+        this.values = new DataBagValue[fieldToValue.size()];
+
+        int index = 0;
+        for (Field field : fields) {
+            if (fieldToValue.containsKey(field)) {
+                ordinals[index] = fields.getOrdinal(field);
+                values[index] = fieldToValue.get(field);
+                index++;
+            }
+        }
+
+        if (index != fieldToValue.size()) {
+            throw new IllegalArgumentException("DataBag has values for fields that are not among " + fields);
+        }
+        sortByOrdinal(ordinals, values);
+    }
+
+    DataBag(ProfileFields fields, int[] ordinals, DataBagValue[] values) {
+        this.fields = fields;
+        this.ordinals = ordinals;
+        this.values = values;
+    }
+
+    public static DataBag of(ProfileFields fields, Field field, DataBagValue value) {
+        int ordinal = fields.getOrdinal(field);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Profile fields do not contain " + field);
+        }
+
+        return new DataBag(fields, new int[] { ordinal }, new DataBagValue[] { value });
+    }
+
+    ProfileFields getFields() {
+        return fields;
+    }
+
+    int[] getOrdinals() {
+        return ordinals;
+    }
+
+    DataBagValue[] getValues() {
+        return values;
     }
 
     @Override
     public Object getFormattedValue(Field field) {
-        if (!fieldToValue.containsKey(field))
+        int index = indexOf(field);
+        if (index < 0)
             throw new IllegalStateException("DataBag has no value stored for " + field);
 
-        return fieldToValue.get(field).getFormattedValue();
+        return values[index].getFormattedValue();
+    }
+
+    private int indexOf(Field field) {
+        int ordinal = fields.getOrdinal(field);
+        if (ordinal < 0) {
+            return -1;
+        }
+
+        // a bag holding every field of its profile has each value at its ordinal
+        if (ordinal < ordinals.length && ordinals[ordinal] == ordinal) {
+            return ordinal;
+        }
+
+        return Arrays.binarySearch(ordinals, ordinal);
     }
 
     @Override
@@ -45,27 +112,100 @@ public class DataBag implements GeneratedObject {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DataBag generatedObject = (DataBag) o;
-        return Objects.equals(fieldToValue, generatedObject.fieldToValue);
+        if (values.length != generatedObject.values.length) return false;
+        if (fields.sharesOrdinalsWith(generatedObject.fields)) {
+            return Arrays.equals(ordinals, generatedObject.ordinals) && Arrays.equals(values, generatedObject.values);
+        }
+
+        for (int index = 0; index < values.length; index++) {
+            int otherIndex = generatedObject.indexOf(fields.getByOrdinal(ordinals[index]));
+            if (otherIndex < 0 || !values[index].equals(generatedObject.values[otherIndex])) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fieldToValue);
+        // the same as the hash of a map from each field to its value
+        int hashCode = 0;
+        for (int index = 0; index < values.length; index++) {
+            hashCode += fields.getByOrdinal(ordinals[index]).hashCode() ^ values[index].hashCode();
+        }
+        return 31 + hashCode;
     }
 
     public static DataBag merge(DataBag... bags) {
-        Map<Field, DataBagValue> newFieldToValue = new HashMap<>();
+        DataBag merged = empty;
+        for (DataBag bag : bags) {
+            merged = merged.merge(bag);
+        }
+        return merged;
+    }
+
+    private DataBag merge(DataBag other) {
+        if (other.values.length == 0) {
+            return this;
+        }
+        if (values.length == 0) {
+            return other;
+        }
+        if (!fields.sharesOrdinalsWith(other.fields)) {
+            return mergeFieldByField(other);
+        }
 
-        FlatMappingSpliterator.flatMap(Arrays.stream(bags)
-            .map(r -> r.fieldToValue.entrySet().stream()),
-            entrySetStream -> entrySetStream)
-            .forEach(entry -> {
-                if (newFieldToValue.containsKey(entry.getKey()))
-                    throw new IllegalArgumentException("Databags can't be merged because they overlap on field " + entry.getKey().name);
+        int[] mergedOrdinals = new int[ordinals.length + other.ordinals.length];
+        DataBagValue[] mergedValues = new DataBagValue[mergedOrdinals.length];
+        int index = 0;
+        int otherIndex = 0;
+        for (int mergedIndex = 0; mergedIndex < mergedOrdinals.length; mergedIndex++) {
+            if (otherIndex == other.ordinals.length
+                || (index < ordinals.length && ordinals[index] < other.ordinals[otherIndex])) {
+                mergedOrdinals[mergedIndex] = ordinals[index];
+                mergedValues[mergedIndex] = values[index++];
+            } else if (index == ordinals.length || other.ordinals[otherIndex] < ordinals[index]) {
+                mergedOrdinals[mergedIndex] = other.ordinals[otherIndex];
+                mergedValues[mergedIndex] = other.values[otherIndex++];
+            } else {
+                throw overlapping(fields.getByOrdinal(ordinals[index]));
+            }
+        }
 
-                newFieldToValue.put(entry.getKey(), entry.getValue());
-            });
+        return new DataBag(fields, mergedOrdinals, mergedValues);
+    }
+
+    private DataBag mergeFieldByField(DataBag other) {
+        Map<Field, DataBagValue> newFieldToValue = new LinkedHashMap<>();
+
+        for (DataBag bag : new DataBag[] { this, other }) {
+            for (int index = 0; index < bag.values.length; index++) {
+                Field field = bag.fields.getByOrdinal(bag.ordinals[index]);
+                if (newFieldToValue.containsKey(field))
+                    throw overlapping(field);
+
+                newFieldToValue.put(field, bag.values[index]);
+            }
+        }
 
         return new DataBag(newFieldToValue);
     }
+
+    private static IllegalArgumentException overlapping(Field field) {
+        return new IllegalArgumentException("Databags can't be merged because they overlap on field " + field.name);
+    }
+
+    private static void sortByOrdinal(int[] ordinals, DataBagValue[] values) {
+        // values are added in the order of their fields, which is usually already ordinal order
+        for (int index = 1; index < ordinals.length; index++) {
+            int ordinal = ordinals[index];
+            DataBagValue value = values[index];
+            int insertAt = index;
+            while (insertAt > 0 && ordinals[insertAt - 1] > ordinal) {
+                ordinals[insertAt] = ordinals[insertAt - 1];
+                values[insertAt] = values[insertAt - 1];
+                insertAt--;
+            }
+            ordinals[insertAt] = ordinal;
+            values[insertAt] = value;
+        }
+    }
 }
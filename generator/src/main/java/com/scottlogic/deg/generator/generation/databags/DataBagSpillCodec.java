@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.databags;
+
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.generator.utils.SpillCodec;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the values of DataBags by field ordinal, and reads them back as bags of the fields of the first bag written,
+ * so that bags read back still merge by ordinal with the bags of the rest of the profile.
+ *
+ * Bags of fields from some other profile are written with the names of their fields instead.
+ */
+public class DataBagSpillCodec implements SpillCodec<DataBag> {
+    private ProfileFields fields;
+
+    @Override
+    public void write(DataBag bag, ObjectOutput output) throws IOException {
+        if (fields == null) {
+            fields = bag.getFields();
+        }
+
+        boolean sharesOrdinals = bag.getFields().sharesOrdinalsWith(fields);
+        int[] ordinals = bag.getOrdinals();
+        DataBagValue[] values = bag.getValues();
+
+        output.writeBoolean(sharesOrdinals);
+        output.writeInt(values.length);
+        for (int index = 0; index < values.length; index++) {
+            if (sharesOrdinals) {
+                output.writeInt(ordinals[index]);
+            } else {
+                output.writeUTF(bag.getFields().getByOrdinal(ordinals[index]).name);
+            }
+            output.writeObject(values[index].getUnformattedValue());
+            output.writeObject(values[index].getFormat());
+        }
+    }
+
+    @Override
+    public DataBag read(ObjectInput input) throws IOException, ClassNotFoundException {
+        boolean sharesOrdinals = input.readBoolean();
+        int size = input.readInt();
+
+        if (sharesOrdinals) {
+            int[] ordinals = new int[size];
+            DataBagValue[] values = new DataBagValue[size];
+            for (int index = 0; index < size; index++) {
+                ordinals[index] = input.readInt();
+                values[index] = new DataBagValue(input.readObject(), (String) input.readObject());
+            }
+            return new DataBag(fields, ordinals, values);
+        }
+
+        Map<Field, DataBagValue> fieldToValue = new HashMap<>();
+        for (int index = 0; index < size; index++) {
+            Field field = new Field(input.readUTF());
+            fieldToValue.put(field, new DataBagValue(input.readObject(), (String) input.readObject()));
+        }
+        return new DataBag(fieldToValue);
+    }
+}
@@ -61,5 +61,9 @@ public class DataBagValue {
     public Object getUnformattedValue(){
         return value;
     }
+
+    String getFormat() {
+        return format;
+    }
 }
 
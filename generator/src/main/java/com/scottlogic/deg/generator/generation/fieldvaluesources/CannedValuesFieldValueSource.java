@@ -16,20 +16,37 @@
 
 package com.scottlogic.deg.generator.generation.fieldvaluesources;
 
+import com.scottlogic.deg.generator.utils.AliasTable;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import com.scottlogic.deg.generator.utils.SupplierBasedIterator;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 public class CannedValuesFieldValueSource implements FieldValueSource {
     private final List<Object> allValues;
     private final List<Object> interestingValues;
+    private final AliasTable weights;
 
     public CannedValuesFieldValueSource(List<Object> values) {
         this.allValues = values;
         this.interestingValues = values;
+        this.weights = null;
+    }
+
+    /**
+     * @param weights the relative weight of each value when generating randomly, in the same order as values
+     */
+    public CannedValuesFieldValueSource(List<Object> values, double[] weights) {
+        if (values.size() != weights.length) {
+            throw new IllegalArgumentException("Expected a weight for each of the " + values.size() + " values, but got " + weights.length);
+        }
+
+        this.allValues = values;
+        this.interestingValues = values;
+        this.weights = new AliasTable(weights);
     }
 
     public static FieldValueSource of(Object... values) {
@@ -56,8 +73,26 @@ public class CannedValuesFieldValueSource implements FieldValueSource {
         return this.allValues;
     }
 
+    @Override
+    public boolean hasExactValueCount() {
+        return true;
+    }
+
+    @Override
+    public Iterable<Object> generateAllValues(long fromIndex) {
+        return fromIndex < this.allValues.size()
+            ? this.allValues.subList((int) fromIndex, this.allValues.size())
+            : Collections.emptyList();
+    }
+
     @Override
     public Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        if (this.weights != null) {
+            return () -> new SupplierBasedIterator<>(
+                () -> this.allValues.get(
+                    this.weights.nextIndex(randomNumberGenerator)));
+        }
+
         return () -> new SupplierBasedIterator<>(
             () -> this.allValues.get(
                 randomNumberGenerator.nextInt(
@@ -70,11 +105,12 @@ public class CannedValuesFieldValueSource implements FieldValueSource {
         if (obj == null || getClass() != obj.getClass()) return false;
 
         CannedValuesFieldValueSource otherSource = (CannedValuesFieldValueSource) obj;
-        return allValues.equals(otherSource.allValues) && interestingValues.equals(otherSource.interestingValues);
+        return allValues.equals(otherSource.allValues) && interestingValues.equals(otherSource.interestingValues)
+            && Objects.equals(weights, otherSource.weights);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(allValues, interestingValues);
+        return Objects.hash(allValues, interestingValues, weights);
     }
 }
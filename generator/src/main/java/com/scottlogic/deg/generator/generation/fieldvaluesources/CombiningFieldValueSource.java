@@ -19,6 +19,7 @@ package com.scottlogic.deg.generator.generation.fieldvaluesources;
 import com.scottlogic.deg.generator.utils.ConcatenatingIterable;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -40,8 +41,7 @@ public class CombiningFieldValueSource implements FieldValueSource {
     public long getValueCount() {
         return underlyingSources.stream()
             .map(FieldValueSource::getValueCount)
-            .reduce(Long::sum)
-            .get();
+            .reduce(0L, (left, right) -> left > Long.MAX_VALUE - right ? Long.MAX_VALUE : left + right); // saturating
     }
 
     @Override
@@ -60,6 +60,36 @@ public class CombiningFieldValueSource implements FieldValueSource {
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public boolean hasExactValueCount() {
+        return underlyingSources.stream().allMatch(FieldValueSource::hasExactValueCount)
+            && getValueCount() < Long.MAX_VALUE;
+    }
+
+    /**
+     * Sources whose values all come before the index are passed over by their count.
+     */
+    @Override
+    public Iterable<Object> generateAllValues(long fromIndex) {
+        if (!hasExactValueCount()) {
+            return FieldValueSource.super.generateAllValues(fromIndex);
+        }
+
+        List<Iterable<Object>> values = new ArrayList<>();
+        long remainingIndex = fromIndex;
+        for (FieldValueSource source : underlyingSources) {
+            long sourceCount = source.getValueCount();
+            if (remainingIndex >= sourceCount) {
+                remainingIndex -= sourceCount;
+                continue;
+            }
+
+            values.add(source.generateAllValues(remainingIndex));
+            remainingIndex = 0;
+        }
+        return new ConcatenatingIterable<>(values);
+    }
+
     @Override
     public Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
         return () -> new InternalRandomIterator(
@@ -18,6 +18,8 @@ package com.scottlogic.deg.generator.generation.fieldvaluesources;
 
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
+import java.util.Iterator;
+
 public interface FieldValueSource {
     boolean isFinite();
     long getValueCount();
@@ -26,6 +28,28 @@ public interface FieldValueSource {
 
     Iterable<Object> generateAllValues();
 
+    /**
+     * Whether getValueCount is exactly the number of values generateAllValues produces, so that whole runs of them
+     * can be passed over by their count.
+     */
+    default boolean hasExactValueCount() {
+        return false;
+    }
+
+    /**
+     * Produces the values of generateAllValues from the one at the given index. Sources that can find the value at an
+     * index directly do so, rather than producing the values before it.
+     */
+    default Iterable<Object> generateAllValues(long fromIndex) {
+        return () -> {
+            Iterator<Object> values = generateAllValues().iterator();
+            for (long index = 0; index < fromIndex && values.hasNext(); index++) {
+                values.next();
+            }
+            return values;
+        };
+    }
+
     Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator);
 }
 
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.common.util.NumberUtils;
+import com.scottlogic.deg.generator.restrictions.NumericRestrictions;
+import com.scottlogic.deg.generator.utils.ExcludedRanges;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.SupplierBasedIterator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Produces the same values as a RealNumberFieldValueSource with a scale of 0, but does its arithmetic on longs rather
+ * than BigDecimals, only creating a BigDecimal for each value it outputs.
+ */
+public class IntegerFieldValueSource implements FieldValueSource {
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final long inclusiveLowerLimit;
+    private final long inclusiveUpperLimit;
+    private final long[] blacklist;
+    private final ExcludedRanges exclusions;
+
+    public IntegerFieldValueSource(
+        NumericRestrictions restrictions,
+        Set<Object> blacklist) {
+        if (!canGenerate(restrictions)) {
+            throw new IllegalArgumentException("Restrictions must have a scale of 0 and limits that fit in a long");
+        }
+
+        this.inclusiveLowerLimit = RealNumberFieldValueSource.getInclusiveLowerLimit(restrictions).longValueExact();
+        this.inclusiveUpperLimit = RealNumberFieldValueSource.getInclusiveUpperLimit(restrictions).longValueExact();
+
+        this.blacklist = blacklist.stream()
+            .map(NumberUtils::coerceToBigDecimal)
+            .filter(Objects::nonNull)
+            .map(i -> i.setScale(0, RoundingMode.HALF_UP))
+            .filter(i -> i.compareTo(BigDecimal.valueOf(inclusiveLowerLimit)) >= 0
+                && i.compareTo(BigDecimal.valueOf(inclusiveUpperLimit)) <= 0)
+            .mapToLong(BigDecimal::longValueExact)
+            .sorted()
+            .distinct()
+            .toArray();
+        this.exclusions = new ExcludedRanges(
+            inclusiveLowerLimit,
+            inclusiveUpperLimit + 1,
+            this.blacklist,
+            Arrays.stream(this.blacklist).map(value -> value + 1).toArray());
+    }
+
+    /**
+     * Whether the values permitted by the restrictions are whole numbers, the smallest and largest of which fit in a
+     * long. The largest must also be less than Long.MAX_VALUE, so that there is an exclusive upper bound to draw random
+     * values below.
+     */
+    public static boolean canGenerate(NumericRestrictions restrictions) {
+        return restrictions.getNumericScale() == 0
+            && RealNumberFieldValueSource.getInclusiveLowerLimit(restrictions).compareTo(LONG_MIN) >= 0
+            && RealNumberFieldValueSource.getInclusiveUpperLimit(restrictions).compareTo(LONG_MAX) < 0;
+    }
+
+    @Override
+    public boolean isFinite() {
+        return true;
+    }
+
+    @Override
+    public long getValueCount() {
+        if (inclusiveLowerLimit > inclusiveUpperLimit) {
+            return 0;
+        }
+
+        long rangeSize = inclusiveUpperLimit - inclusiveLowerLimit + 1;
+        if (rangeSize < 0 && inclusiveLowerLimit <= inclusiveUpperLimit) {
+            // the range holds more values than a long can count
+            return Long.MAX_VALUE;
+        }
+
+        return rangeSize - blacklist.length;
+    }
+
+    @Override
+    public Iterable<Object> generateInterestingValues() {
+        return () -> {
+            Set<Object> values = new LinkedHashSet<>();
+            addValues(values, new IntegerIterator(inclusiveLowerLimit), 2);
+            addValues(values, new IntegerIterator(0), 1);
+            addValues(values, new IntegerIterator(inclusiveUpperLimit - 1), 2);
+            return values.iterator();
+        };
+    }
+
+    @Override
+    public Iterable<Object> generateAllValues() {
+        return () -> new IntegerIterator(inclusiveLowerLimit);
+    }
+
+    @Override
+    public boolean hasExactValueCount() {
+        long rangeSize = inclusiveUpperLimit - inclusiveLowerLimit + 1;
+        return rangeSize > 0;
+    }
+
+    /**
+     * The value at the index is found from the sorted blacklist, without visiting the values before it.
+     */
+    @Override
+    public Iterable<Object> generateAllValues(long fromIndex) {
+        if (!hasExactValueCount()) {
+            return FieldValueSource.super.generateAllValues(fromIndex);
+        }
+        if (fromIndex >= getValueCount()) {
+            return Collections::emptyIterator;
+        }
+
+        return () -> new IntegerIterator(exclusions.getPermittedValue(fromIndex));
+    }
+
+    /**
+     * Draws an index over the values that are not blacklisted and finds the value at it from the sorted blacklist, so
+     * however much of the range is blacklisted each value costs one draw.
+     */
+    @Override
+    public Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        // overflows to a negative number when the range holds more values than a long can count
+        long rangeSize = inclusiveUpperLimit - inclusiveLowerLimit + 1;
+        if (inclusiveLowerLimit > inclusiveUpperLimit || rangeSize == blacklist.length) {
+            return Collections::emptyIterator;
+        }
+
+        if (rangeSize < 0) {
+            // the blacklist is a negligible part of such a range, so values in it are simply drawn again
+            return () -> new SupplierBasedIterator<>(() -> {
+                long value;
+                do {
+                    value = randomNumberGenerator.nextLong(inclusiveLowerLimit, inclusiveUpperLimit + 1);
+                } while (Arrays.binarySearch(blacklist, value) >= 0);
+
+                return BigDecimal.valueOf(value);
+            });
+        }
+
+        long permittedCount = rangeSize - blacklist.length;
+        return () -> new SupplierBasedIterator<>(() -> BigDecimal.valueOf(
+            exclusions.getPermittedValue(randomNumberGenerator.nextLong(0, permittedCount))));
+    }
+
+    private static void addValues(Set<Object> values, Iterator<Object> iterator, int limit) {
+        for (int count = 0; count < limit && iterator.hasNext(); count++) {
+            values.add(iterator.next());
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        IntegerFieldValueSource otherSource = (IntegerFieldValueSource) obj;
+        return inclusiveUpperLimit == otherSource.inclusiveUpperLimit &&
+            inclusiveLowerLimit == otherSource.inclusiveLowerLimit &&
+            Arrays.equals(blacklist, otherSource.blacklist);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inclusiveLowerLimit, inclusiveUpperLimit, Arrays.hashCode(blacklist));
+    }
+
+    private class IntegerIterator implements Iterator<Object> {
+        private long nextValue;
+        private boolean hasNext;
+        private int nextBlacklistIndex;
+
+        IntegerIterator(long startingPoint) {
+            nextValue = Math.max(startingPoint, inclusiveLowerLimit);
+            hasNext = nextValue <= inclusiveUpperLimit;
+
+            int index = Arrays.binarySearch(blacklist, nextValue);
+            nextBlacklistIndex = index >= 0 ? index : -index - 1;
+            skipBlacklistedValues();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            long currentValue = nextValue;
+            if (nextValue == inclusiveUpperLimit) {
+                hasNext = false;
+            } else {
+                nextValue++;
+                skipBlacklistedValues();
+            }
+
+            return BigDecimal.valueOf(currentValue);
+        }
+
+        private void skipBlacklistedValues() {
+            // the blacklist is sorted, so the values are skipped in the same order they are reached
+            while (hasNext && nextBlacklistIndex < blacklist.length && blacklist[nextBlacklistIndex] == nextValue) {
+                nextBlacklistIndex++;
+                if (nextValue == inclusiveUpperLimit) {
+                    hasNext = false;
+                } else {
+                    nextValue++;
+                }
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.scottlogic.deg.generator.utils.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
@@ -47,31 +48,36 @@ public class RealNumberFieldValueSource implements FieldValueSource {
         this.scale = restrictions.getNumericScale();
         this.stepSize = restrictions.getStepSize();
 
+        this.inclusiveLowerLimit = getInclusiveLowerLimit(restrictions);
+        this.inclusiveUpperLimit = getInclusiveUpperLimit(restrictions);
+
+        this.blacklist = blacklist.stream()
+            .map(NumberUtils::coerceToBigDecimal)
+            .filter(Objects::nonNull)
+            .map(i -> i.setScale(scale, RoundingMode.HALF_UP))
+            .filter(i -> this.inclusiveLowerLimit.compareTo(i) <= 0 && i.compareTo(this.inclusiveUpperLimit) <= 0)
+            .collect(Collectors.toSet());
+    }
+
+    static BigDecimal getInclusiveLowerLimit(NumericRestrictions restrictions) {
         NumericLimit<BigDecimal> lowerLimit = getLowerLimit(restrictions);
 
-        this.inclusiveLowerLimit =
-            (lowerLimit.isInclusive()
+        return (lowerLimit.isInclusive()
                 ? lowerLimit.getLimit()
                 : lowerLimit.getLimit().add(exclusivityAdjuster))
-            .setScale(scale, RoundingMode.CEILING);
+            .setScale(restrictions.getNumericScale(), RoundingMode.CEILING);
+    }
 
+    static BigDecimal getInclusiveUpperLimit(NumericRestrictions restrictions) {
         NumericLimit<BigDecimal> upperLimit = getUpperLimit(restrictions);
 
-        this.inclusiveUpperLimit =
-            (upperLimit.isInclusive()
+        return (upperLimit.isInclusive()
                 ? upperLimit.getLimit()
                 : upperLimit.getLimit().subtract(exclusivityAdjuster))
-            .setScale(scale, RoundingMode.FLOOR);
-
-        this.blacklist = blacklist.stream()
-            .map(NumberUtils::coerceToBigDecimal)
-            .filter(Objects::nonNull)
-            .map(i -> i.setScale(scale, RoundingMode.HALF_UP))
-            .filter(i -> this.inclusiveLowerLimit.compareTo(i) <= 0 && i.compareTo(this.inclusiveUpperLimit) <= 0)
-            .collect(Collectors.toSet());
+            .setScale(restrictions.getNumericScale(), RoundingMode.FLOOR);
     }
 
-    private NumericLimit<BigDecimal> getUpperLimit(NumericRestrictions restrictions) {
+    private static NumericLimit<BigDecimal> getUpperLimit(NumericRestrictions restrictions) {
         BigDecimal maxValue = Defaults.NUMERIC_MAX;
         if (restrictions.max == null) {
             return new NumericLimit<>(maxValue, true);
@@ -81,7 +87,7 @@ public class RealNumberFieldValueSource implements FieldValueSource {
         return new NumericLimit<>(maxValue.min(restrictions.max.getLimit()), restrictions.max.isInclusive());
     }
 
-    private NumericLimit<BigDecimal> getLowerLimit(NumericRestrictions restrictions) {
+    private static NumericLimit<BigDecimal> getLowerLimit(NumericRestrictions restrictions) {
         BigDecimal minValue = Defaults.NUMERIC_MIN;
         if (restrictions.min == null) {
             return new NumericLimit<>(minValue, true);
@@ -122,16 +128,47 @@ public class RealNumberFieldValueSource implements FieldValueSource {
         return RealNumberIterator::new;
     }
 
+    /**
+     * Draws a value from a range shortened by one step for each blacklisted value, then moves it past the blacklisted
+     * values at or below it, so however much of the range is blacklisted each value costs one draw.
+     */
     @Override
     public Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        BigDecimal[] sortedBlacklist = blacklist.stream().sorted().toArray(BigDecimal[]::new);
+        BigDecimal drawUpperLimit = inclusiveUpperLimit.subtract(stepSize.multiply(BigDecimal.valueOf(sortedBlacklist.length)));
+        if (drawUpperLimit.compareTo(inclusiveLowerLimit) < 0) {
+            return Collections::emptyIterator;
+        }
+
+        // where each blacklisted value would be if the ones before it were removed from the range
+        BigDecimal[] shiftedBlacklist = new BigDecimal[sortedBlacklist.length];
+        for (int index = 0; index < sortedBlacklist.length; index++) {
+            shiftedBlacklist[index] = sortedBlacklist[index].subtract(stepSize.multiply(BigDecimal.valueOf(index)));
+        }
+
         return () -> new UpCastingIterator<>(
-            new FilteringIterator<>(
-                new SupplierBasedIterator<>(() ->
-                    randomNumberGenerator.nextBigDecimal(
-                        inclusiveLowerLimit,
-                        inclusiveUpperLimit,
-                        scale)),
-                i -> !blacklist.contains(i)));
+            new SupplierBasedIterator<>(() -> {
+                BigDecimal value = randomNumberGenerator.nextBigDecimal(
+                    inclusiveLowerLimit,
+                    drawUpperLimit,
+                    scale);
+
+                return value.add(stepSize.multiply(BigDecimal.valueOf(countAtOrBelow(shiftedBlacklist, value))));
+            }));
+    }
+
+    private static int countAtOrBelow(BigDecimal[] sortedValues, BigDecimal value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle].compareTo(value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     @Override
@@ -19,15 +19,19 @@ package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
 import com.scottlogic.deg.generator.restrictions.DateTimeRestrictions;
+import com.scottlogic.deg.generator.utils.ExcludedRanges;
 import com.scottlogic.deg.generator.utils.FilteringIterator;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import com.scottlogic.deg.generator.utils.UpCastingIterator;
 
 import java.time.*;
-import java.util.ArrayList;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 
+/**
+ * Generates the datetimes that are whole units of the granularity within the limits. Internally each datetime is the
+ * number of those units since the epoch, so ranges of them are counted, iterated and sampled as longs, and a datetime
+ * is only created for each value output.
+ */
 public class DateTimeFieldValueSource implements FieldValueSource {
 
     public static final OffsetDateTime ISO_MAX_DATE = OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.UTC);
@@ -39,6 +43,11 @@ public class DateTimeFieldValueSource implements FieldValueSource {
     private final OffsetDateTime inclusiveLower;
     private final OffsetDateTime exclusiveUpper;
 
+    private final EpochUnits units;
+    private final long firstUnit;
+    private final long lastUnit;
+    private final long[] blacklistedUnits;
+
     public DateTimeFieldValueSource(
         DateTimeRestrictions restrictions,
         Set<Object> blacklist) {
@@ -50,6 +59,16 @@ public class DateTimeFieldValueSource implements FieldValueSource {
         this.exclusiveUpper = getExclusiveUpperBound(restrictions);
 
         this.blacklist = blacklist;
+
+        this.units = new EpochUnits(granularity);
+        // only datetimes within the ISO range are generated
+        this.firstUnit = inclusiveLower != null && inclusiveLower.isAfter(ISO_MIN_DATE)
+            ? units.ceiling(inclusiveLower)
+            : units.ceiling(ISO_MIN_DATE);
+        this.lastUnit = exclusiveUpper != null && !exclusiveUpper.isAfter(ISO_MAX_DATE)
+            ? units.ceiling(exclusiveUpper) - 1
+            : units.floor(ISO_MAX_DATE);
+        this.blacklistedUnits = getBlacklistedUnits();
     }
 
     @Override
@@ -64,16 +83,7 @@ public class DateTimeFieldValueSource implements FieldValueSource {
     public long getValueCount() {
 
         if (isFinite()) {
-            Duration duration = Duration.between(inclusiveLower, exclusiveUpper);
-            Period period = Period.between(inclusiveLower.toLocalDate(), exclusiveUpper.toLocalDate());
-
-            if (granularity == Timescale.MILLIS) return (duration.getNano() / 1000000) + 1;
-            if (granularity == Timescale.SECONDS) return duration.getSeconds() + 1;
-            if (granularity == Timescale.MINUTES) return (duration.getSeconds() / 60) + 1;
-            if (granularity == Timescale.HOURS) return (duration.getSeconds() / 360) + 1;
-            if (granularity == Timescale.DAYS) return (period.getDays() + 1);
-            if (granularity == Timescale.MONTHS) return (period.getMonths() + 1);
-            if (granularity == Timescale.YEARS) return (period.getYears() + 1);
+            return Math.max(0, lastUnit - firstUnit + 1 - blacklistedUnits.length);
         }
 
         throw new IllegalStateException("Cannot get count of an infinite series");
@@ -82,12 +92,27 @@ public class DateTimeFieldValueSource implements FieldValueSource {
     @Override
     public Iterable<Object> generateAllValues() {
         return () -> new UpCastingIterator<>(
-            new FilteringIterator<>(
-                new SequentialDateIterator(
-                    inclusiveLower != null ? inclusiveLower : ISO_MIN_DATE,
-                    exclusiveUpper != null ? exclusiveUpper : ISO_MAX_DATE,
-                    granularity),
-                i -> !blacklist.contains(i)));
+            new SequentialDateIterator(units, firstUnit, lastUnit, blacklistedUnits));
+    }
+
+    @Override
+    public boolean hasExactValueCount() {
+        return isFinite();
+    }
+
+    /**
+     * The unit at the index is found from the sorted blacklisted units, without visiting the units before it.
+     */
+    @Override
+    public Iterable<Object> generateAllValues(long fromIndex) {
+        long permittedCount = lastUnit - firstUnit + 1 - blacklistedUnits.length;
+        if (fromIndex >= permittedCount) {
+            return Collections::emptyIterator;
+        }
+
+        long fromUnit = getExcludedUnits().getPermittedValue(fromIndex);
+        return () -> new UpCastingIterator<>(
+            new SequentialDateIterator(units, fromUnit, lastUnit, blacklistedUnits));
     }
 
     @Override
@@ -120,23 +145,48 @@ public class DateTimeFieldValueSource implements FieldValueSource {
                 i -> !blacklist.contains(i)));
     }
 
+    /**
+     * Draws an index over the units that are not blacklisted and finds the unit at it, so however much of the range
+     * is blacklisted each value costs one draw.
+     */
     @Override
     public Iterable<Object> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        long permittedCount = lastUnit - firstUnit + 1 - blacklistedUnits.length;
+        if (permittedCount <= 0) {
+            return Collections::emptyIterator;
+        }
 
-        OffsetDateTime lower = inclusiveLower != null
-            ? inclusiveLower
-            : ISO_MIN_DATE;
-
-
-        OffsetDateTime upper = exclusiveUpper != null
-            ? exclusiveUpper
-            : ISO_MAX_DATE.plusNanos(1_000_000);
-
+        ExcludedRanges excludedUnits = getExcludedUnits();
 
         return () -> new UpCastingIterator<>(
-            new FilteringIterator<>(new RandomDateIterator(lower, upper, randomNumberGenerator, granularity),
-                i -> !blacklist.contains(i)));
+            new RandomDateIterator(units, excludedUnits, permittedCount, randomNumberGenerator));
+    }
+
+    private ExcludedRanges getExcludedUnits() {
+        return new ExcludedRanges(
+            firstUnit,
+            lastUnit + 1,
+            blacklistedUnits,
+            Arrays.stream(blacklistedUnits).map(unit -> unit + 1).toArray());
+    }
 
+    /**
+     * Gets the distinct units within the limits of the blacklisted datetimes that could be generated, in order,
+     * ignoring any that are not whole units of the granularity in UTC and so could never be generated.
+     */
+    private long[] getBlacklistedUnits() {
+        return blacklist.stream()
+            .filter(value -> value instanceof OffsetDateTime)
+            .map(value -> (OffsetDateTime) value)
+            .filter(dateTime -> dateTime.getOffset().equals(ZoneOffset.UTC))
+            .mapToLong(dateTime -> {
+                long unit = units.floor(dateTime);
+                return units.toDateTime(unit).equals(dateTime) ? unit : firstUnit - 1;
+            })
+            .filter(unit -> unit >= firstUnit && unit <= lastUnit)
+            .sorted()
+            .distinct()
+            .toArray();
     }
 
     private OffsetDateTime getExclusiveUpperBound(DateTimeRestrictions upper) {
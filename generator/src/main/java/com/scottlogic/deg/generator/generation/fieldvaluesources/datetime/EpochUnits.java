@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
+
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
+
+import java.time.*;
+
+/**
+ * Numbers the datetimes that are whole units of a timescale by how many of those units they are after the epoch, in
+ * UTC, so that ranges of them can be counted, iterated and sampled as longs.
+ */
+class EpochUnits {
+    private static final long MILLIS_PER_SECOND = 1_000;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final long MONTHS_PER_YEAR = 12;
+    private static final int EPOCH_YEAR = 1970;
+
+    private final Timescale timescale;
+
+    EpochUnits(Timescale timescale) {
+        this.timescale = timescale;
+    }
+
+    /**
+     * Gets the number of the last whole unit at or before the datetime.
+     */
+    long floor(OffsetDateTime dateTime) {
+        switch (timescale) {
+            case MILLIS:
+                return dateTime.toInstant().toEpochMilli();
+            case SECONDS:
+                return dateTime.toEpochSecond();
+            case MINUTES:
+                return Math.floorDiv(dateTime.toEpochSecond(), 60L);
+            case HOURS:
+                return Math.floorDiv(dateTime.toEpochSecond(), 60L * 60);
+            case DAYS:
+                return Math.floorDiv(dateTime.toEpochSecond(), 24L * 60 * 60);
+            case MONTHS:
+                OffsetDateTime utcDateTime = dateTime.withOffsetSameInstant(ZoneOffset.UTC);
+                return (utcDateTime.getYear() - EPOCH_YEAR) * MONTHS_PER_YEAR + utcDateTime.getMonthValue() - 1;
+            case YEARS:
+                return dateTime.withOffsetSameInstant(ZoneOffset.UTC).getYear() - EPOCH_YEAR;
+            default:
+                throw new UnsupportedOperationException("Unsupported granularity " + timescale);
+        }
+    }
+
+    /**
+     * Gets the number of the first whole unit at or after the datetime.
+     */
+    long ceiling(OffsetDateTime dateTime) {
+        long unit = floor(dateTime);
+        return toDateTime(unit).isBefore(dateTime) ? unit + 1 : unit;
+    }
+
+    OffsetDateTime toDateTime(long unit) {
+        switch (timescale) {
+            case MILLIS:
+                return ofEpochSecond(Math.floorDiv(unit, MILLIS_PER_SECOND), (int) Math.floorMod(unit, MILLIS_PER_SECOND) * NANOS_PER_MILLI);
+            case SECONDS:
+                return ofEpochSecond(unit, 0);
+            case MINUTES:
+                return ofEpochSecond(unit * 60, 0);
+            case HOURS:
+                return ofEpochSecond(unit * 60 * 60, 0);
+            case DAYS:
+                return ofEpochSecond(unit * 24 * 60 * 60, 0);
+            case MONTHS:
+                return OffsetDateTime.of(
+                    EPOCH_YEAR + (int) Math.floorDiv(unit, MONTHS_PER_YEAR),
+                    (int) Math.floorMod(unit, MONTHS_PER_YEAR) + 1,
+                    1, 0, 0, 0, 0, ZoneOffset.UTC);
+            case YEARS:
+                return OffsetDateTime.of(EPOCH_YEAR + (int) unit, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+            default:
+                throw new UnsupportedOperationException("Unsupported granularity " + timescale);
+        }
+    }
+
+    private static OffsetDateTime ofEpochSecond(long epochSecond, int nanos) {
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+}
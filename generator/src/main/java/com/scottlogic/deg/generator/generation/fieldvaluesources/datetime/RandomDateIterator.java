@@ -14,25 +14,35 @@
  * limitations under the License.
  */
 
+
 package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 
-import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
+import com.scottlogic.deg.generator.utils.ExcludedRanges;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
-import java.time.*;
+import java.time.OffsetDateTime;
 import java.util.Iterator;
 
+/**
+ * Draws datetimes uniformly from the whole units of a timescale within a range, drawing the units as longs and only
+ * creating a datetime for each value returned.
+ */
 class RandomDateIterator implements Iterator<OffsetDateTime> {
-    private final OffsetDateTime minDate;
-    private final OffsetDateTime maxDate;
+    private final EpochUnits units;
+    private final ExcludedRanges excludedUnits;
+    private final long permittedCount;
     private final RandomNumberGenerator random;
-    private final Timescale granularity;
 
-    RandomDateIterator(OffsetDateTime minDate, OffsetDateTime maxDate, RandomNumberGenerator randomNumberGenerator, Timescale granularity) {
-        this.minDate = minDate;
-        this.maxDate = maxDate;
+    /**
+     * @param excludedUnits the units that must not be drawn, such as those of blacklisted datetimes, in ranges starting
+     *                      from the first unit that can be drawn
+     * @param permittedCount the number of units that can be drawn
+     */
+    RandomDateIterator(EpochUnits units, ExcludedRanges excludedUnits, long permittedCount, RandomNumberGenerator randomNumberGenerator) {
+        this.units = units;
+        this.excludedUnits = excludedUnits;
+        this.permittedCount = permittedCount;
         this.random = randomNumberGenerator;
-        this.granularity = granularity;
     }
 
     @Override
@@ -42,25 +52,6 @@ class RandomDateIterator implements Iterator<OffsetDateTime> {
 
     @Override
     public OffsetDateTime next() {
-        long min = getMilli(minDate);
-        long max = getMilli(maxDate) - 1;
-
-        long generatedLong = (long) random.nextDouble(min, max);
-
-        OffsetDateTime generatedDate = Instant.ofEpochMilli(generatedLong).atZone(ZoneOffset.UTC).toOffsetDateTime();
-
-        return trimUnwantedGranularity(generatedDate, granularity);
-    }
-
-    private long getMilli(OffsetDateTime date) {
-        return date.toInstant().toEpochMilli();
-    }
-
-    private OffsetDateTime trimUnwantedGranularity(OffsetDateTime dateToTrim, Timescale granularity) {
-
-        // Remove unneeded granularity from the dateToTrim.
-        // For example: if a granularity of days is passed in; all smaller units of time will be set to the lowest possible value.
-        // (hours, minutes, seconds and milliseconds will all be set to 0)
-        return granularity.getGranularityFunction().apply(dateToTrim);
+        return units.toDateTime(excludedUnits.getPermittedValue(random.nextLong(0, permittedCount)));
     }
 }
@@ -14,67 +14,70 @@
  * limitations under the License.
  */
 
+
 package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 
 import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
 
 import java.time.OffsetDateTime;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
+/**
+ * Iterates the datetimes that are whole units of a timescale within a range, stepping through the units as longs and
+ * only creating a datetime for each value returned.
+ */
 class SequentialDateIterator implements Iterator<OffsetDateTime> {
-    private final OffsetDateTime maxDate;
-    private final Timescale granularityUnit;
+    private final EpochUnits units;
+    private final long lastUnit;
+    private final long[] excludedUnits;
 
-    private OffsetDateTime current;
-    private boolean hasNext;
+    private long nextUnit;
+    private int nextExcludedIndex;
 
     SequentialDateIterator(OffsetDateTime inclusiveMinDate, OffsetDateTime exclusiveMaxDate, Timescale granularity) {
-        maxDate = exclusiveMaxDate;
-        granularityUnit = granularity;
-        current = roundUpToGranularity(inclusiveMinDate);
-        hasNext = current.compareTo(exclusiveMaxDate) < 0;
+        this(new EpochUnits(granularity), inclusiveMinDate, exclusiveMaxDate);
+    }
+
+    private SequentialDateIterator(EpochUnits units, OffsetDateTime inclusiveMinDate, OffsetDateTime exclusiveMaxDate) {
+        this(units, units.ceiling(inclusiveMinDate), units.ceiling(exclusiveMaxDate) - 1, new long[0]);
     }
 
     /**
-     * initial datetime is rounded up after granularity is applied (if the returned datetime would have been lower than the initial datetime.)
-     * This can be used to ensure a datetime is not lower than a previously specified minimum after granularity is applied.
-     * 10:00 -> HOURS => 10:00
-     * 10:01 -> HOURS => 11:00
-     * @param initial initial datetime which will have granularity applied     *
-     * @return datetime that has had granularity applied
+     * @param excludedUnits the units to skip, in order
      */
-    private OffsetDateTime roundUpToGranularity(final OffsetDateTime initial) {
-        OffsetDateTime earlierOrEqual = granularityUnit.getGranularityFunction().apply(initial);
-        return earlierOrEqual.equals(initial) ? earlierOrEqual : granularityUnit.getNext().apply(earlierOrEqual);
+    SequentialDateIterator(EpochUnits units, long firstUnit, long lastUnit, long[] excludedUnits) {
+        this.units = units;
+        this.nextUnit = firstUnit;
+        this.lastUnit = lastUnit;
+        this.excludedUnits = excludedUnits;
+        skipExcludedUnits();
     }
 
     @Override
     public boolean hasNext() {
-        return hasNext;
+        return nextUnit <= lastUnit;
     }
 
     @Override
     public OffsetDateTime next() {
-
-        OffsetDateTime next = current;
-
-        current = nextDate(current);
-        if (current.isAfter(maxDate) || current.isEqual(maxDate)) {
-            hasNext = false;
+        if (!hasNext()) {
+            throw new NoSuchElementException();
         }
 
+        OffsetDateTime next = units.toDateTime(nextUnit);
+        nextUnit++;
+        skipExcludedUnits();
         return next;
     }
 
-    /**
-     * Get the next available date at a given granularity.
-     * 24/07/1990 -> days = 25/07/1990
-     * 01/07/1990 -> months = 01/08/1990
-     * @param previous input date
-     * @return date after previous at given granularity
-     */
-    private OffsetDateTime nextDate(OffsetDateTime previous) {
-        return granularityUnit.getNext().apply(previous);
+    private void skipExcludedUnits() {
+        // the excluded units are in order, so each is skipped when it is reached
+        while (nextExcludedIndex < excludedUnits.length && excludedUnits[nextExcludedIndex] <= nextUnit) {
+            if (excludedUnits[nextExcludedIndex] == nextUnit) {
+                nextUnit++;
+            }
+            nextExcludedIndex++;
+        }
     }
 }
-
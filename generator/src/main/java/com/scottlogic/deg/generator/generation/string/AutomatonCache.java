@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe, least-recently-used cache of automata, bounded to a maximum number of entries.
+ * <p>
+ * Automata are built outside of the lock, so two threads missing on the same key at once may both build it; the
+ * first to finish wins and the other result is discarded. Cached automata are shared, so they must not be mutated.
+ */
+public class AutomatonCache {
+    private final int maximumSize;
+    private final Map<Object, Automaton> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AutomatonCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Object, Automaton>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Automaton> eldest) {
+                if (size() <= AutomatonCache.this.maximumSize) {
+                    return false;
+                }
+
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    Automaton get(Object key, Supplier<Automaton> create) {
+        Automaton automaton;
+        synchronized (entries) {
+            automaton = entries.get(key);
+        }
+
+        if (automaton != null) {
+            hits.increment();
+            return automaton;
+        }
+
+        misses.increment();
+        Automaton created = create.get();
+        // singletons are expanded lazily by most brics operations; do it now so readers never race on it
+        created.expandSingleton();
+
+        synchronized (entries) {
+            Automaton existing = entries.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * An automaton flattened into arrays, for walking without allocating.
+ * <p>
+ * States are numbered breadth-first from the initial state, which is state 0. The transitions of state s are at
+ * positions transitionStart[s] to transitionStart[s + 1] - 1, in the order of
+ * {@link State#getSortedTransitions(boolean) getSortedTransitions(false)}.
+ * <p>
+ * Alongside the transitions, each state records the fewest and the most characters that can take it to an accept
+ * state, so that a walk can keep to a range of lengths without having to backtrack.
+ */
+class AutomatonTable {
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    final int stateCount;
+    final boolean[] accept;
+    final int[] transitionStart;
+    final char[] min;
+    final char[] max;
+    final int[] destination;
+
+    /** The fewest characters leading from each state to an accept state, or UNREACHABLE */
+    final int[] shortestToAccept;
+    /** The most characters leading from each state to an accept state, or UNBOUNDED if a loop can be followed */
+    final int[] longestToAccept;
+    /** The states with a longest distance, each after all of the states it leads to */
+    private int[] finiteStatesInReverseOrder;
+
+    private AutomatonTable(List<State> states, Map<State, Integer> numbers) {
+        stateCount = states.size();
+        accept = new boolean[stateCount];
+        transitionStart = new int[stateCount + 1];
+
+        List<List<Transition>> sortedTransitions = new ArrayList<>(stateCount);
+        for (int s = 0; s < stateCount; s++) {
+            List<Transition> transitions = states.get(s).getSortedTransitions(false);
+            sortedTransitions.add(transitions);
+            accept[s] = states.get(s).isAccept();
+            transitionStart[s + 1] = transitionStart[s] + transitions.size();
+        }
+
+        int transitionCount = transitionStart[stateCount];
+        min = new char[transitionCount];
+        max = new char[transitionCount];
+        destination = new int[transitionCount];
+        for (int s = 0; s < stateCount; s++) {
+            int t = transitionStart[s];
+            for (Transition transition : sortedTransitions.get(s)) {
+                min[t] = transition.getMin();
+                max[t] = transition.getMax();
+                destination[t] = numbers.get(transition.getDest());
+                t++;
+            }
+        }
+
+        shortestToAccept = new int[stateCount];
+        longestToAccept = new int[stateCount];
+        measureDistancesToAccept();
+    }
+
+    static AutomatonTable of(Automaton automaton) {
+        List<State> states = new ArrayList<>();
+        Map<State, Integer> numbers = new IdentityHashMap<>();
+        State initial = automaton.getInitialState();
+        states.add(initial);
+        numbers.put(initial, 0);
+
+        for (int s = 0; s < states.size(); s++) {
+            for (Transition transition : states.get(s).getSortedTransitions(false)) {
+                State next = transition.getDest();
+                if (!numbers.containsKey(next)) {
+                    numbers.put(next, states.size());
+                    states.add(next);
+                }
+            }
+        }
+
+        return new AutomatonTable(states, numbers);
+    }
+
+    boolean isEmpty() {
+        return shortestToAccept[0] == UNREACHABLE;
+    }
+
+    boolean isFinite() {
+        return isEmpty() || longestToAccept[0] != UNBOUNDED;
+    }
+
+    /**
+     * @return the number of strings that lead from the initial state to an accept state, not counting those with
+     * surrogate characters; for a table built from a nondeterministic automaton this counts paths, not strings
+     */
+    BigInteger countMatches() {
+        if (!isFinite()) {
+            throw new IllegalStateException("Cannot count the matches of an infinite language");
+        }
+        if (isEmpty()) {
+            return BigInteger.ZERO;
+        }
+
+        BigInteger[] counts = new BigInteger[stateCount];
+        for (int s : finiteStatesInReverseOrder) {
+            BigInteger count = accept[s] ? BigInteger.ONE : BigInteger.ZERO;
+            for (int t = transitionStart[s]; t < transitionStart[s + 1]; t++) {
+                BigInteger following = counts[destination[t]];
+                if (following != null) {
+                    count = count.add(following.multiply(BigInteger.valueOf(validCharacterCount(t))));
+                }
+            }
+            counts[s] = count;
+        }
+        return counts[0];
+    }
+
+    /**
+     * The number of characters of the transition that aren't surrogates, which can't be output on their own
+     */
+    int validCharacterCount(int transition) {
+        int count = max[transition] - min[transition] + 1;
+        int overlapStart = Math.max(min[transition], Character.MIN_SURROGATE);
+        int overlapEnd = Math.min(max[transition], Character.MAX_SURROGATE);
+        return overlapStart <= overlapEnd
+            ? count - (overlapEnd - overlapStart + 1)
+            : count;
+    }
+
+    /**
+     * @return the index-th character of the transition that isn't a surrogate
+     */
+    char validCharacter(int transition, int index) {
+        char first = min[transition];
+        int beforeSurrogates = first < Character.MIN_SURROGATE
+            ? Math.min(max[transition], Character.MIN_SURROGATE - 1) - first + 1
+            : 0;
+        if (index < beforeSurrogates) {
+            return (char) (first + index);
+        }
+        return (char) (Math.max(first, Character.MAX_SURROGATE + 1) + index - beforeSurrogates);
+    }
+
+    /**
+     * Shortest distances come from a breadth-first search backwards from the accept states. Longest distances come
+     * from peeling off, in reverse topological order, the states whose useful successors are all measured; any state
+     * left over is on or leads to a loop, and so has no longest distance.
+     */
+    private void measureDistancesToAccept() {
+        int[] predecessorStart = new int[stateCount + 1];
+        for (int t = 0; t < destination.length; t++) {
+            predecessorStart[destination[t] + 1]++;
+        }
+        for (int s = 0; s < stateCount; s++) {
+            predecessorStart[s + 1] += predecessorStart[s];
+        }
+        int[] predecessors = new int[destination.length];
+        int[] filled = Arrays.copyOf(predecessorStart, stateCount);
+        for (int s = 0; s < stateCount; s++) {
+            for (int t = transitionStart[s]; t < transitionStart[s + 1]; t++) {
+                predecessors[filled[destination[t]]++] = s;
+            }
+        }
+
+        Arrays.fill(shortestToAccept, UNREACHABLE);
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < stateCount; s++) {
+            if (accept[s]) {
+                shortestToAccept[s] = 0;
+                queue[tail++] = s;
+            }
+        }
+        while (head < tail) {
+            int s = queue[head++];
+            for (int p = predecessorStart[s]; p < predecessorStart[s + 1]; p++) {
+                int predecessor = predecessors[p];
+                if (shortestToAccept[predecessor] == UNREACHABLE) {
+                    shortestToAccept[predecessor] = shortestToAccept[s] + 1;
+                    queue[tail++] = predecessor;
+                }
+            }
+        }
+
+        int[] unmeasuredSuccessors = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            for (int t = transitionStart[s]; t < transitionStart[s + 1]; t++) {
+                if (shortestToAccept[destination[t]] != UNREACHABLE) {
+                    unmeasuredSuccessors[s]++;
+                }
+            }
+        }
+
+        Arrays.fill(longestToAccept, UNBOUNDED);
+        head = 0;
+        tail = 0;
+        for (int s = 0; s < stateCount; s++) {
+            if (shortestToAccept[s] != UNREACHABLE && unmeasuredSuccessors[s] == 0) {
+                longestToAccept[s] = 0;
+                queue[tail++] = s;
+            }
+        }
+        int[] longest = new int[stateCount];
+        while (head < tail) {
+            int s = queue[head++];
+            for (int p = predecessorStart[s]; p < predecessorStart[s + 1]; p++) {
+                int predecessor = predecessors[p];
+                longest[predecessor] = Math.max(longest[predecessor], longestToAccept[s] + 1);
+                if (--unmeasuredSuccessors[predecessor] == 0) {
+                    longestToAccept[predecessor] = longest[predecessor];
+                    queue[tail++] = predecessor;
+                }
+            }
+        }
+        finiteStatesInReverseOrder = Arrays.copyOf(queue, tail);
+    }
+}
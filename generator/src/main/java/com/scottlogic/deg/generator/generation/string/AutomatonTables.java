@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The tables and sampler built from an automaton, each built on first use.
+ * <p>
+ * Generators are created afresh whenever a field's values are evaluated, often once per row, but their automatons
+ * come from the regex and operation caches. Sharing these by the identity of the automaton means they are built once
+ * per automaton rather than once per generator.
+ */
+final class AutomatonTables {
+    private static final int CACHE_SIZE = 1_000;
+
+    /**
+     * Least-recently-used tables, keyed on the identity of their automaton; cached automatons are never mutated
+     */
+    private static final Map<AutomatonIdentity, AutomatonTables> cache =
+        new LinkedHashMap<AutomatonIdentity, AutomatonTables>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AutomatonIdentity, AutomatonTables> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+    private final Automaton automaton;
+    private volatile AutomatonTable table;
+    private volatile AutomatonTable deterministicTable;
+    private volatile Optional<UniformStringSampler> uniformSampler;
+
+    private AutomatonTables(Automaton automaton) {
+        this.automaton = automaton;
+    }
+
+    static AutomatonTables of(Automaton automaton) {
+        AutomatonIdentity key = new AutomatonIdentity(automaton);
+        synchronized (cache) {
+            return cache.computeIfAbsent(key, k -> new AutomatonTables(automaton));
+        }
+    }
+
+    AutomatonTable getTable() {
+        AutomatonTable table = this.table;
+        if (table == null) {
+            table = AutomatonTable.of(automaton);
+            this.table = table;
+        }
+        return table;
+    }
+
+    /**
+     * Counting and enumerating walk paths, so they need an automaton with one path per string
+     */
+    AutomatonTable getDeterministicTable() {
+        AutomatonTable table = this.deterministicTable;
+        if (table == null) {
+            if (automaton.isDeterministic()) {
+                table = getTable();
+            } else {
+                Automaton deterministic = automaton.clone();
+                deterministic.minimize();
+                table = AutomatonTable.of(deterministic);
+            }
+            this.deterministicTable = table;
+        }
+        return table;
+    }
+
+    Optional<UniformStringSampler> getUniformSampler() {
+        Optional<UniformStringSampler> sampler = this.uniformSampler;
+        if (sampler == null) {
+            sampler = UniformStringSampler.of(getDeterministicTable(), 1);
+            this.uniformSampler = sampler;
+        }
+        return sampler;
+    }
+
+    private static final class AutomatonIdentity {
+        private final Automaton automaton;
+
+        AutomatonIdentity(Automaton automaton) {
+            this.automaton = automaton;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof AutomatonIdentity && ((AutomatonIdentity) o).automaton == automaton;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(automaton);
+        }
+    }
+}
@@ -212,26 +212,38 @@ class AutomatonUtils {
 
 
     /**
-     * Create an automaton and store its instance in the cache, keyed on the given regex
-     * The cache will vary based on &lt;matchFullString&gt;.
+     * Create an automaton, or fetch it from the cache if it has been created before.
+     * The cache is keyed on the normalised expression, which has the &lt;matchFullString&gt; mode folded into it,
+     * so equivalent spellings such as ^abc$ and abc share one automaton.
      * <p>
      * The creation of an automaton is a time-consuming process, especially for more complex expressions.
      *
      * @param regexStr        The string to create the automaton from
      * @param matchFullString Whether the string represents a matchingRegex (true) or containingRegex (false) expression
-     * @param cache           The cache to store the automaton instance in
+     * @param cache           The cache to fetch the automaton from or store it in
      * @return The created automaton
      */
-    public static Automaton createAutomaton(String regexStr, boolean matchFullString, Map<String, Automaton> cache) {
+    public static Automaton createAutomaton(String regexStr, boolean matchFullString, AutomatonCache cache) {
+        return createAutomaton(regexStr, matchFullString, cache, new NoopAutomatonStore());
+    }
+
+    /**
+     * As {@link #createAutomaton(String, boolean, AutomatonCache)}, but on a cache miss the automaton is loaded from
+     * &lt;store&gt; if it has been compiled by a previous run, and saved to it otherwise.
+     */
+    public static Automaton createAutomaton(
+        String regexStr,
+        boolean matchFullString,
+        AutomatonCache cache,
+        AutomatonStore store) {
         final String anchoredStr = convertEndAnchors(regexStr, matchFullString);
         final String requotedStr = escapeCharacters(anchoredStr);
-        final RegExp bricsRegExp = expandShorthandClasses(requotedStr);
-
-        Automaton generatedAutomaton = bricsRegExp.toAutomaton();
-        generatedAutomaton.expandSingleton();
 
-        cache.put(regexStr, generatedAutomaton);
-        return generatedAutomaton;
+        return cache.get(requotedStr, () -> store.load(requotedStr).orElseGet(() -> {
+            Automaton generatedAutomaton = expandShorthandClasses(requotedStr).toAutomaton();
+            store.save(requotedStr, generatedAutomaton);
+            return generatedAutomaton;
+        }));
     }
 
     private static String escapeCharacters(String regex) {
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Keeps compiled automatons in a directory, one file per regex.
+ * <p>
+ * Files are named after a hash of the regex and the version of the automaton library, so upgrading the library
+ * simply stops the old files from being found. Each file repeats its regex, to rule out hash collisions, and is
+ * written to a temporary file first so concurrent runs never read a partial automaton. A file that can't be read
+ * is treated as missing and replaced.
+ * <p>
+ * Automatons are written as a flat table of states rather than with java serialisation, which recurses through
+ * the state graph and overflows the stack on the large automatons this store is meant for.
+ */
+public class FileAutomatonStore implements AutomatonStore {
+    private static final int MAGIC = 0x4175746f; // "Auto"
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".automaton";
+    private static final String LIBRARY_VERSION = libraryVersion();
+
+    private final Path directory;
+
+    public FileAutomatonStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create regex cache directory " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<Automaton> load(String regex) {
+        Path file = fileFor(regex);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !regex.equals(readString(input))) {
+                return Optional.empty();
+            }
+            return Optional.of(readAutomaton(input));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String regex, Automaton automaton) {
+        Path file = fileFor(regex);
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writeString(output, regex);
+                writeAutomaton(output, automaton);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println(String.format("Unable to cache automaton for /%s/ in %s%n%s", regex, directory, e.getMessage()));
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    Path fileFor(String regex) {
+        return directory.resolve(sha256(FORMAT_VERSION + "\0" + LIBRARY_VERSION + "\0" + regex) + EXTENSION);
+    }
+
+    /**
+     * Writes the states in breadth-first order from the initial state, each as its accept flag followed by its
+     * transitions, which refer to their destination by position.
+     */
+    private static void writeAutomaton(DataOutputStream output, Automaton automaton) throws IOException {
+        List<State> states = new ArrayList<>();
+        Map<State, Integer> positions = new HashMap<>();
+        states.add(automaton.getInitialState());
+        positions.put(automaton.getInitialState(), 0);
+        for (int i = 0; i < states.size(); i++) {
+            for (Transition transition : states.get(i).getTransitions()) {
+                if (!positions.containsKey(transition.getDest())) {
+                    positions.put(transition.getDest(), states.size());
+                    states.add(transition.getDest());
+                }
+            }
+        }
+
+        output.writeBoolean(automaton.isDeterministic());
+        output.writeInt(states.size());
+        for (State state : states) {
+            output.writeBoolean(state.isAccept());
+            output.writeInt(state.getTransitions().size());
+            for (Transition transition : state.getTransitions()) {
+                output.writeChar(transition.getMin());
+                output.writeChar(transition.getMax());
+                output.writeInt(positions.get(transition.getDest()));
+            }
+        }
+    }
+
+    private static Automaton readAutomaton(DataInputStream input) throws IOException {
+        boolean deterministic = input.readBoolean();
+        int stateCount = input.readInt();
+        if (stateCount < 1) {
+            throw new IllegalArgumentException("An automaton must have an initial state");
+        }
+
+        State[] states = new State[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            states[i] = new State();
+        }
+
+        for (State state : states) {
+            state.setAccept(input.readBoolean());
+            int transitionCount = input.readInt();
+            for (int i = 0; i < transitionCount; i++) {
+                char min = input.readChar();
+                char max = input.readChar();
+                int destination = input.readInt();
+                if (destination < 0 || destination >= stateCount || min > max) {
+                    throw new IllegalArgumentException("Invalid transition");
+                }
+                state.addTransition(new Transition(min, max, states[destination]));
+            }
+        }
+
+        Automaton automaton = new Automaton();
+        automaton.setInitialState(states[0]);
+        automaton.setDeterministic(deterministic);
+        return automaton;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid string length");
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // the temporary file will be overwritten or ignored by later runs
+        }
+    }
+
+    /**
+     * The brics jar doesn't declare its version, so identify it by the bytes of the classes that compile regexes.
+     */
+    private static String libraryVersion() {
+        String declaredVersion = Automaton.class.getPackage().getImplementationVersion();
+        if (declaredVersion != null) {
+            return declaredVersion;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Class<?> type : Arrays.asList(Automaton.class, RegExp.class)) {
+                try (InputStream classFile = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                    if (classFile == null) {
+                        return "unknown";
+                    }
+                    byte[] buffer = new byte[8192];
+                    for (int read = classFile.read(buffer); read >= 0; read = classFile.read(buffer)) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return "unknown";
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be available on every Java platform", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+
+/**
+ * Produces random strings by walking an automaton table from its initial state, choosing a random transition and a
+ * random character from it at each step, and stopping at each accept state of at least the minimum length with a
+ * probability of about 35%.
+ * <p>
+ * Only transitions from which an accept state can still be reached within the maximum length are chosen, so every
+ * walk ends in an accept state without backtracking. Transitions that can't reach the minimum length are avoided
+ * too, unless they are the only way to an accept state. The walker reuses its buffers, so it must not be shared
+ * between threads.
+ */
+class RandomStringWalker {
+    /**
+     * A walk stops at an accept state when a random int exceeds this, which happens for (1 - 0.3) / 2, or about 35%,
+     * of all ints
+     */
+    private static final double STOP_THRESHOLD = 0.3 * Integer.MAX_VALUE;
+
+    private final AutomatonTable table;
+    private final int minLength;
+    private final int maxLength;
+    private final RandomNumberGenerator random;
+    private final StringBuilder builder = new StringBuilder();
+    private final int[] candidates;
+
+    RandomStringWalker(AutomatonTable table, int minLength, int maxLength, RandomNumberGenerator random) {
+        this.table = table;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.random = random;
+        this.candidates = new int[maxTransitionsPerState(table)];
+    }
+
+    String next() {
+        builder.setLength(0);
+        int state = 0;
+
+        while (true) {
+            int length = builder.length();
+            if (table.transitionStart[state] == table.transitionStart[state + 1]) {
+                break;
+            }
+            if (table.accept[state]) {
+                if (length == maxLength) {
+                    break;
+                }
+                if (random.nextInt() > STOP_THRESHOLD && length >= minLength) {
+                    break;
+                }
+            }
+
+            int candidateCount = findCandidates(state, length + 1, true);
+            if (candidateCount == 0) {
+                candidateCount = findCandidates(state, length + 1, false);
+            }
+            if (candidateCount == 0) {
+                break;
+            }
+
+            int transition = candidates[random.nextInt(candidateCount)];
+            builder.append(randomChar(transition));
+            state = table.destination[transition];
+        }
+
+        return builder.toString();
+    }
+
+    private int findCandidates(int state, int nextLength, boolean mustReachMinLength) {
+        int candidateCount = 0;
+        for (int t = table.transitionStart[state]; t < table.transitionStart[state + 1]; t++) {
+            int destination = table.destination[t];
+            int shortest = table.shortestToAccept[destination];
+            if (shortest == AutomatonTable.UNREACHABLE || shortest > maxLength - nextLength) {
+                continue;
+            }
+
+            int longest = table.longestToAccept[destination];
+            if (mustReachMinLength && longest != AutomatonTable.UNBOUNDED && nextLength + longest < minLength) {
+                continue;
+            }
+
+            candidates[candidateCount++] = t;
+        }
+        return candidateCount;
+    }
+
+    /**
+     * <p>
+     * We have to surround this functionality in a loop checking for invalid
+     * UTF-8 characters until the automaton library is updated.
+     * </p>
+     * <p>
+     * FIXME - This check will be removed if/when the dk.brics.automaton
+     * library is fixed to support surrogate pairs,
+     * </p>
+     * <p>
+     * issue #15 (https://github.com/cs-au-dk/dk.brics.automaton/issues/15)
+     * has been raised on the dk.brics.automaton library
+     * </p>
+     * <p>
+     * issue #537 has been created to track when the dk.brics.automaton library
+     * is updated.
+     * </p>
+     */
+    private char randomChar(int transition) {
+        int range = table.max[transition] - table.min[transition] + 1;
+        char randomChar;
+        do {
+            randomChar = (char) (table.min[transition] + random.nextInt(range));
+        } while (!StringUtils.isCharValidUtf8(randomChar));
+        return randomChar;
+    }
+
+    private static int maxTransitionsPerState(AutomatonTable table) {
+        int maxTransitions = 0;
+        for (int s = 0; s < table.stateCount; s++) {
+            maxTransitions = Math.max(maxTransitions, table.transitionStart[s + 1] - table.transitionStart[s]);
+        }
+        return maxTransitions;
+    }
+}
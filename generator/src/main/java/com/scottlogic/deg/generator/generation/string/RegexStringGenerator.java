@@ -21,46 +21,67 @@ import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import com.scottlogic.deg.generator.utils.SupplierBasedIterator;
 import dk.brics.automaton.Automaton;
 import dk.brics.automaton.RegExp;
-import dk.brics.automaton.State;
-import dk.brics.automaton.Transition;
 
+import java.math.BigInteger;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class RegexStringGenerator implements StringGenerator {
 
+    private static final int REGEX_CACHE_SIZE = 1_000;
+    private static final int OPERATION_CACHE_SIZE = 10_000;
+
     /**
-     * Cache of all matching regex automatons, keyed on their regex
+     * Cache of compiled regex automatons, keyed on their normalised regex
      */
-    private static final Map<String, Automaton> matchingRegexAutomatonCache = new HashMap<>();
+    private static final AutomatonCache regexAutomatonCache = new AutomatonCache(REGEX_CACHE_SIZE);
 
     /**
-     * Cache of all containing regex automatons, keyed on their regex
+     * Cache of intersected, unioned and complemented automatons, keyed on the identity of their operands, and of
+     * blacklist automatons, keyed on the blacklisted strings
      */
-    private static final Map<String, Automaton> containingRegexAutomatonCache = new HashMap<>();
+    private static final AutomatonCache operationAutomatonCache = new AutomatonCache(OPERATION_CACHE_SIZE);
+
+    /**
+     * Where compiled regex automatons are kept between runs, if anywhere; it backs the regex cache above, so it is
+     * set once for the process by its entry point
+     */
+    private static volatile AutomatonStore automatonStore = new NoopAutomatonStore();
 
     private Automaton automaton;
-    private Node rootNode;
-    private boolean isRootNodeBuilt;
-    private int preparedTransactionNode;
+    private volatile AutomatonTables tables;
     private final String regexRepresentation;
 
+    /**
+     * Whether random strings are drawn uniformly from a finite language, rather than by a random walk that favours
+     * short strings
+     */
+    private final boolean sampleUniformly;
+
     private RegexStringGenerator(Automaton automaton, String regexRepresentation) {
+        this(automaton, regexRepresentation, false);
+    }
+
+    private RegexStringGenerator(Automaton automaton, String regexRepresentation, boolean sampleUniformly) {
         this.automaton = automaton;
         this.regexRepresentation = regexRepresentation;
+        this.sampleUniformly = sampleUniformly;
     }
 
     public RegexStringGenerator(String regexStr, boolean matchFullString) {
-        Map<String, Automaton> cache = matchFullString ? matchingRegexAutomatonCache : containingRegexAutomatonCache;
-        Automaton generatedAutomaton = cache.containsKey(regexStr)
-            ? cache.get(regexStr)
-            : AutomatonUtils.createAutomaton(regexStr, matchFullString, cache);
+        Automaton generatedAutomaton = AutomatonUtils.createAutomaton(
+            regexStr,
+            matchFullString,
+            regexAutomatonCache,
+            automatonStore);
 
         String prefix = matchFullString ? "" : "*";
         String suffix = matchFullString ? "" : "*";
         this.regexRepresentation = String.format("%s/%s/%s", prefix, regexStr, suffix);
         this.automaton = generatedAutomaton;
+        this.sampleUniformly = false;
     }
 
     @Override
@@ -76,9 +97,30 @@ public class RegexStringGenerator implements StringGenerator {
         return "<UNKNOWN>";
     }
 
+    public static void setAutomatonStore(AutomatonStore store) {
+        automatonStore = store;
+    }
+
+    /**
+     * Gets a generator for the same strings that draws random ones uniformly when there are finitely many
+     */
+    public RegexStringGenerator withUniformSampling() {
+        return sampleUniformly ? this : new RegexStringGenerator(automaton, regexRepresentation, true);
+    }
+
+    public static AutomatonCache getRegexAutomatonCache() {
+        return regexAutomatonCache;
+    }
+
+    public static AutomatonCache getOperationAutomatonCache() {
+        return operationAutomatonCache;
+    }
+
     public static RegexStringGenerator createFromBlacklist(Set<Object> blacklist) {
-        String[] blacklistStrings = blacklist.stream().map(Object::toString).toArray(String[]::new);
-        Automaton automaton = Automaton.makeStringUnion(blacklistStrings).complement();
+        Set<String> blacklistStrings = blacklist.stream().map(Object::toString).collect(Collectors.toSet());
+        Automaton automaton = operationAutomatonCache.get(
+            new BlacklistKey(blacklistStrings),
+            () -> Automaton.makeStringUnion(blacklistStrings.toArray(new String[0])).complement());
 
         return new RegexStringGenerator(automaton, String.format("NOT-IN %s", Objects.toString(blacklist)));
     }
@@ -95,7 +137,9 @@ public class RegexStringGenerator implements StringGenerator {
 
         RegexStringGenerator otherRegexGenerator = (RegexStringGenerator) otherGenerator;
         Automaton b = otherRegexGenerator.automaton;
-        Automaton merged = automaton.intersection(b);
+        Automaton merged = operationAutomatonCache.get(
+            new OperationKey(Operation.INTERSECT, automaton, b),
+            () -> automaton.intersection(b));
         String mergedRepresentation = intersectRepresentation(
             this.regexRepresentation,
             otherRegexGenerator.regexRepresentation);
@@ -105,7 +149,9 @@ public class RegexStringGenerator implements StringGenerator {
 
     public RegexStringGenerator union(RegexStringGenerator otherGenerator) {
         Automaton b = otherGenerator.automaton;
-        Automaton merged = automaton.union(b);
+        Automaton merged = operationAutomatonCache.get(
+            new OperationKey(Operation.UNION, automaton, b),
+            () -> automaton.union(b));
         String mergedRepresentation = unionRepresentation(
             this.regexRepresentation,
             otherGenerator.regexRepresentation
@@ -115,11 +161,74 @@ public class RegexStringGenerator implements StringGenerator {
 
     @Override
     public StringGenerator complement() {
+        Automaton complement = operationAutomatonCache.get(
+            new OperationKey(Operation.COMPLEMENT, automaton, null),
+            () -> automaton.clone().complement());
+
         return new RegexStringGenerator(
-            this.automaton.clone().complement(),
+            complement,
             complementaryRepresentation(this.regexRepresentation));
     }
 
+    private enum Operation {
+        INTERSECT,
+        UNION,
+        COMPLEMENT
+    }
+
+    /**
+     * Identifies the result of an operation on one or two automatons by the identity of the operands. Cached
+     * automatons are never mutated, so the same operands always produce an equivalent result.
+     */
+    private static final class OperationKey {
+        private final Operation operation;
+        private final Automaton left;
+        private final Automaton right;
+
+        OperationKey(Operation operation, Automaton left, Automaton right) {
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            OperationKey that = (OperationKey) o;
+            return operation == that.operation && left == that.left && right == that.right;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * operation.hashCode() + System.identityHashCode(left)) + System.identityHashCode(right);
+        }
+    }
+
+    /**
+     * Identifies a blacklist automaton by the strings it excludes, so that every field with the same blacklist
+     * shares one automaton, and operations on it can be cached by its identity
+     */
+    private static final class BlacklistKey {
+        private final Set<String> blacklist;
+
+        BlacklistKey(Set<String> blacklist) {
+            this.blacklist = blacklist;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return blacklist.equals(((BlacklistKey) o).blacklist);
+        }
+
+        @Override
+        public int hashCode() {
+            return blacklist.hashCode();
+        }
+    }
+
     private static String complementaryRepresentation(String representation) {
         return String.format("¬(%s)", representation);
     }
@@ -157,330 +266,72 @@ public class RegexStringGenerator implements StringGenerator {
         }
     }
 
+    /**
+     * Generates every match in shortlex order, shortest first; a non-finite regex is enumerated without end, but
+     * never repeats a value.
+     */
     @Override
     public Iterable<String> generateAllValues() {
-        if (this.isFinite()) {
-            return () -> new RegexStringGenerator.FiniteStringAutomatonIterator(this);
-        }
-
-        // TODO: Assess whether we can do better here. Is it unacceptable to just generate indefinitely?
-        // We used to generate randomly, but that violates a reasonable expectation that values returned by this method should be unique
-        throw new UnsupportedOperationException("Can't generate all strings for a non-finite regex");
+        AutomatonTable table = getDeterministicTable();
+        return () -> new ShortlexStringIterator(table, Integer.MAX_VALUE);
     }
 
     @Override
     public Iterable<String> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
-        return () -> new SupplierBasedIterator<>(
-            () -> generateRandomStringInternal(
-                "",
-                automaton.getInitialState(),
-                1,
-                Integer.MAX_VALUE,
-                randomNumberGenerator));
-    }
-
-    @Override
-    public long getValueCount() {
-        if (!this.isFinite()) {
-            throw new UnsupportedOperationException("Cannot count matches for a non-finite expression.");
-        }
-
-        buildRootNode();
-
-        if (rootNode.nextNodes.isEmpty()) {
-            return 0L;
+        AutomatonTable table = getTable();
+        if (table.isEmpty()) {
+            return Collections.emptySet();
         }
 
-        return rootNode.matchedStringIdx;
-    }
-
-    @Override
-    public boolean match(String subject) {
-
-        return automaton.run(subject);
-
-    }
-
-    private String generateRandomStringInternal(
-        String strMatch,
-        State state,
-        int minLength,
-        int maxLength,
-        RandomNumberGenerator random) {
-
-        List<Transition> transitions = state.getSortedTransitions(false);
-        Set<Integer> selectedTransitions = new HashSet<>();
-        String result = strMatch;
-
-        for (int resultLength = -1;
-             transitions.size() > selectedTransitions.size()
-                 && (resultLength < minLength || resultLength > maxLength);
-             resultLength = result.length()) {
-
-            if (randomPrepared(strMatch, state, minLength, maxLength, transitions, random)) {
-                return strMatch;
-            }
-
-            int nextInt = random.nextInt(transitions.size());
-            if (!selectedTransitions.contains(nextInt)) {
-                selectedTransitions.add(nextInt);
-
-
-                /**
-                 * <p>
-                 * We have to surround this functionality in a loop checking for invalid
-                 * UTF-8 characters until the automaton library is updated.
-                 * </p>
-                 * <p>
-                 * FIXME - This check will be removed if/when the dk.brics.automaton
-                 * library is fixed to support surrogate pairs,
-                 * </p>
-                 * <p>
-                 * issue #15 (https://github.com/cs-au-dk/dk.brics.automaton/issues/15)
-                 * has been raised on the dk.brics.automaton library
-                 * </p>
-                 * <p>
-                 * issue #537 has been created to track when the dk.brics.automaton library
-                 * is updated.
-                 * </p>
-                 */
-                Transition randomTransition;
-                char randomChar;
-                do {
-                    randomTransition = transitions.get(nextInt);
-                    int diff = randomTransition.getMax() - randomTransition.getMin() + 1;
-                    int randomOffset = diff > 0 ? random.nextInt(diff) : diff;
-                    randomChar = (char) (randomOffset + randomTransition.getMin());
-                } while (!StringUtils.isCharValidUtf8(randomChar));
-                result = generateRandomStringInternal(
-                    strMatch + randomChar,
-                    randomTransition.getDest(),
-                    minLength,
-                    maxLength,
-                    random);
+        if (sampleUniformly) {
+            Optional<UniformStringSampler> sampler = getUniformSampler();
+            if (sampler.isPresent()) {
+                return () -> new SupplierBasedIterator<>(() -> sampler.get().next(randomNumberGenerator));
             }
         }
 
-        return result;
+        return () -> {
+            RandomStringWalker walker = new RandomStringWalker(table, 1, Integer.MAX_VALUE, randomNumberGenerator);
+            return new SupplierBasedIterator<>(walker::next);
+        };
     }
 
-    private boolean randomPrepared(
-        String strMatch,
-        State state,
-        int minLength,
-        int maxLength,
-        List<Transition> transitions,
-        RandomNumberGenerator random) {
-
-        if (state.isAccept()) {
-            if (strMatch.length() == maxLength) {
-                return true;
-            }
-            if (random.nextInt() > 0.3 * Integer.MAX_VALUE && strMatch.length() >= minLength) {
-                return true;
-            }
-        }
-
-        return transitions.isEmpty();
+    Optional<UniformStringSampler> getUniformSampler() {
+        return getTables().getUniformSampler();
     }
 
-    private String buildStringFromNode(Node node, int indexOrder) {
-        String result = "";
-        long passedStringNbr = 0;
-        long step = node.getMatchedStringIdx() / node.getNbrChar();
-        for (char usedChar = node.getMinChar(); usedChar <= node.getMaxChar(); ++usedChar) {
-            passedStringNbr += step;
-            if (passedStringNbr >= indexOrder) {
-                passedStringNbr -= step;
-                indexOrder -= passedStringNbr;
-                result = result.concat("" + usedChar);
-                break;
-            }
-        }
-        long passedStringNbrInChildNode = 0;
-        if (result.length() == 0) {
-            passedStringNbrInChildNode = passedStringNbr;
-        }
-        for (Node childN : node.getNextNodes()) {
-            passedStringNbrInChildNode += childN.getMatchedStringIdx();
-            if (passedStringNbrInChildNode >= indexOrder) {
-                passedStringNbrInChildNode -= childN.getMatchedStringIdx();
-                indexOrder -= passedStringNbrInChildNode;
-                result = result.concat(buildStringFromNode(childN, indexOrder));
-                break;
-            }
-        }
-        return result;
+    private AutomatonTable getDeterministicTable() {
+        return getTables().getDeterministicTable();
     }
 
-    private void buildRootNode() {
-
-        if (isRootNodeBuilt) {
-            return;
-        }
-        isRootNodeBuilt = true;
-
-        rootNode = new Node();
-        List<Node> nextNodes = prepareTransactionNodes(automaton.getInitialState());
-        rootNode.setNextNodes(nextNodes);
-        rootNode.updateMatchedStringIdx();
+    private AutomatonTable getTable() {
+        return getTables().getTable();
     }
 
-    private List<Node> prepareTransactionNodes(State state) {
-
-        List<Node> transactionNodes = new ArrayList<>();
-        if (preparedTransactionNode == Integer.MAX_VALUE / 2) {
-            return transactionNodes;
+    private AutomatonTables getTables() {
+        AutomatonTables tables = this.tables;
+        if (tables == null) {
+            tables = AutomatonTables.of(automaton);
+            this.tables = tables;
         }
-        ++preparedTransactionNode;
-
-        if (state.isAccept()) {
-            Node acceptedNode = new Node();
-            acceptedNode.setNbrChar(1);
-            transactionNodes.add(acceptedNode);
-        }
-        List<Transition> transitions = state.getSortedTransitions(true);
-
-        for (Transition transition : transitions) {
-            Node trsNode = new Node();
-            int nbrChar = transition.getMax() - transition.getMin() + 1;
-            trsNode.setNbrChar(nbrChar);
-            trsNode.setMaxChar(transition.getMax());
-            trsNode.setMinChar(transition.getMin());
-            List<Node> nextNodes = prepareTransactionNodes(transition.getDest());
-            trsNode.setNextNodes(nextNodes);
-            transactionNodes.add(trsNode);
-        }
-        return transactionNodes;
+        return tables;
     }
 
-    private class Node {
-        private int nbrChar = 1;
-        private List<Node> nextNodes = new ArrayList<>();
-        private boolean isNbrMatchedStringUpdated;
-        private long matchedStringIdx = 0;
-        private char minChar;
-        private char maxChar;
-
-        int getNbrChar() {
-            return nbrChar;
-        }
-
-        void setNbrChar(int nbrChar) {
-            this.nbrChar = nbrChar;
-        }
-
-        List<Node> getNextNodes() {
-            return nextNodes;
-        }
-
-        void setNextNodes(List<Node> nextNodes) {
-            this.nextNodes = nextNodes;
-        }
-
-        void updateMatchedStringIdx() {
-            if (isNbrMatchedStringUpdated) {
-                return;
-            }
-            if (nextNodes.isEmpty()) {
-                matchedStringIdx = nbrChar;
-            } else {
-                for (Node childNode : nextNodes) {
-                    childNode.updateMatchedStringIdx();
-                    long childNbrChar = childNode.getMatchedStringIdx();
-                    matchedStringIdx += nbrChar * childNbrChar;
-                }
-            }
-            isNbrMatchedStringUpdated = true;
-        }
-
-        long getMatchedStringIdx() {
-            return matchedStringIdx;
-        }
-
-        char getMinChar() {
-            return minChar;
-        }
-
-        void setMinChar(char minChar) {
-            this.minChar = minChar;
-        }
-
-        char getMaxChar() {
-            return maxChar;
+    @Override
+    public long getValueCount() {
+        if (!this.isFinite()) {
+            throw new UnsupportedOperationException("Cannot count matches for a non-finite expression.");
         }
 
-        void setMaxChar(char maxChar) {
-            this.maxChar = maxChar;
-        }
+        BigInteger count = getDeterministicTable().countMatches();
+        return count.bitLength() < Long.SIZE ? count.longValue() : Long.MAX_VALUE;
     }
 
-    private class FiniteStringAutomatonIterator implements Iterator<String> {
-
-        private final long matches;
-        private int currentIndex;
-        private String currentValue;
-
-        FiniteStringAutomatonIterator(RegexStringGenerator stringGenerator) {
-            this.matches = stringGenerator.getValueCount();
-            currentIndex = 0;
-        }
-
-        /**
-         * <p>
-         * This function has been updated to only allow valid single 16-bit
-         * word UTF-8 characters to be output.
-         * </p>
-         * <p>
-         * FIXME - This check will be removed if/when the dk.brics.automaton
-         * library is fixed to support surrogate pairs,
-         * </p>
-         * <p>
-         * issue #15 (https://github.com/cs-au-dk/dk.brics.automaton/issues/15)
-         * has been raised on the dk.brics.automaton library
-         * </p>
-         * <p>
-         * issue #537 has been created to track when the dk.brics.automaton library
-         * is updated.
-         * </p>
-         *
-         * @return true if another value is available, false if all valid values have been read.
-         */
-        @Override
-        public boolean hasNext() {
-            if (currentValue != null) {
-                return true;
-            }
-            do {
-                currentIndex++; // starts at 1
-                if (currentIndex > matches) {
-                    return false;
-                }
-                currentValue = getMatchedString(currentIndex);
-            } while (!StringUtils.isStringValidUtf8(currentValue));
-            return currentValue != null;
-        }
-
-        private String getMatchedString(int indexOrder) {
-            buildRootNode();
-            if (indexOrder < 1) {
-                throw new IllegalArgumentException("indexOrder must be >= 1");
-            }
+    @Override
+    public boolean match(String subject) {
 
-            if (indexOrder > rootNode.matchedStringIdx) {
-                return null;
-            }
-            String result = buildStringFromNode(rootNode, indexOrder);
-            result = result.substring(1, result.length() - 1);
-            return result;
-        }
+        return automaton.run(subject);
 
-        @Override
-        public String next() {
-            String result = currentValue;
-            currentValue = null;
-            return result;
-        }
     }
 
     public boolean equals(Object o) {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the matches of a deterministic automaton table in shortlex order: shorter strings first, and strings of
+ * the same length in character order.
+ * <p>
+ * Each length is enumerated by a depth-first walk that keeps one transition and one character per position, so
+ * memory grows with the length of the strings rather than the number of matches. The walk only enters states from
+ * which an accept state can be reached in exactly the characters left, recorded as one set of states per length,
+ * so it never explores a branch without a match. Matches are produced up to maxLength characters, or the longest
+ * match if the language is finite; an infinite language with no maximum length is enumerated forever.
+ */
+class ShortlexStringIterator implements Iterator<String> {
+    private final AutomatonTable table;
+    private final int maxLength;
+    /** acceptableIn.get(r) is the set of states that reach an accept state in exactly r characters */
+    private final List<BitSet> acceptableIn = new ArrayList<>();
+
+    private int length = -1;
+    private int[] states = new int[1];
+    private int[] transitions = new int[0];
+    private int[] characters = new int[0];
+    private char[] buffer = new char[0];
+    private boolean hasCurrent;
+    private String next;
+
+    ShortlexStringIterator(AutomatonTable table, int maxLength) {
+        this.table = table;
+        this.maxLength = table.isFinite() && !table.isEmpty()
+            ? Math.min(maxLength, table.longestToAccept[0])
+            : maxLength;
+
+        BitSet acceptStates = new BitSet(table.stateCount);
+        for (int s = 0; s < table.stateCount; s++) {
+            acceptStates.set(s, table.accept[s]);
+        }
+        acceptableIn.add(acceptStates);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (table.isEmpty()) {
+            return false;
+        }
+
+        boolean found = hasCurrent && advance(length - 1);
+        while (!found) {
+            if (length >= maxLength) {
+                return false;
+            }
+            found = startLength();
+        }
+
+        next = new String(buffer, 0, length);
+        return true;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * Moves on to the next length, and to its first match if it has one
+     */
+    private boolean startLength() {
+        length++;
+        ensureCapacity(length);
+        hasCurrent = acceptable(0, length) && descend(0);
+        return hasCurrent;
+    }
+
+    /**
+     * Moves to the next match of the current length that differs from the current one at or before position, by
+     * stepping the character at the deepest position that has one left and taking the first match beneath it
+     */
+    private boolean advance(int position) {
+        for (int depth = position; depth >= 0; depth--) {
+            if (nextCharacter(depth) || nextTransition(depth, transitions[depth] + 1)) {
+                if (descend(depth + 1)) {
+                    return true;
+                }
+            }
+        }
+        hasCurrent = false;
+        return false;
+    }
+
+    /**
+     * Fills in the first match from depth onwards; the state at depth is known to have one
+     */
+    private boolean descend(int depth) {
+        for (int d = depth; d < length; d++) {
+            if (!nextTransition(d, table.transitionStart[states[d]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Selects the first transition from the state at depth, starting at the given one, that has a character and
+     * leads to a state with a match in the characters left
+     */
+    private boolean nextTransition(int depth, int firstTransition) {
+        int state = states[depth];
+        int remaining = length - depth - 1;
+        for (int t = firstTransition; t < table.transitionStart[state + 1]; t++) {
+            if (table.validCharacterCount(t) > 0 && acceptable(table.destination[t], remaining)) {
+                transitions[depth] = t;
+                characters[depth] = 0;
+                buffer[depth] = table.validCharacter(t, 0);
+                states[depth + 1] = table.destination[t];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean nextCharacter(int depth) {
+        int t = transitions[depth];
+        int character = characters[depth] + 1;
+        if (character >= table.validCharacterCount(t)) {
+            return false;
+        }
+        characters[depth] = character;
+        buffer[depth] = table.validCharacter(t, character);
+        return true;
+    }
+
+    private boolean acceptable(int state, int remaining) {
+        while (acceptableIn.size() <= remaining) {
+            BitSet previous = acceptableIn.get(acceptableIn.size() - 1);
+            BitSet current = new BitSet(table.stateCount);
+            for (int s = 0; s < table.stateCount; s++) {
+                for (int t = table.transitionStart[s]; t < table.transitionStart[s + 1]; t++) {
+                    if (previous.get(table.destination[t]) && table.validCharacterCount(t) > 0) {
+                        current.set(s);
+                        break;
+                    }
+                }
+            }
+            acceptableIn.add(current);
+        }
+        return acceptableIn.get(remaining).get(state);
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.length >= length) {
+            return;
+        }
+        int capacity = Math.max(length, buffer.length * 2);
+        states = Arrays.copyOf(states, capacity + 1);
+        transitions = Arrays.copyOf(transitions, capacity);
+        characters = Arrays.copyOf(characters, capacity);
+        buffer = Arrays.copyOf(buffer, capacity);
+    }
+}
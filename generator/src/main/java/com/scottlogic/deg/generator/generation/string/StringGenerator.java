@@ -46,6 +46,10 @@ public interface StringGenerator {
             this.underlyingGenerator = underlyingGenerator;
         }
 
+        StringGenerator getUnderlyingGenerator() {
+            return underlyingGenerator;
+        }
+
         @Override
         public boolean isFinite() {
             return underlyingGenerator.isFinite();
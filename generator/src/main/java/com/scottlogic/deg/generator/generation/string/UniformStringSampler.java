@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * Draws strings uniformly at random from the finite language of an automaton table, between a minimum length and
+ * the length of its longest match.
+ * <p>
+ * counts[r][s] is the number of strings of exactly r characters that lead from state s to an accept state. A draw
+ * picks a uniformly random index below the number of matches, finds the length that index falls in, then unranks
+ * it one character at a time: at each state the index is matched against the block of strings that start with each
+ * transition in turn. Building the table is O(longest match × transitions); each draw is O(length × transitions
+ * per state). Surrogate characters are never counted, matching what {@link RandomStringWalker} can produce.
+ */
+class UniformStringSampler {
+    /** Larger tables than this aren't built, and the caller should fall back to walking the automaton */
+    private static final long MAX_TABLE_CELLS = 2_000_000;
+
+    private final AutomatonTable table;
+    private final int minLength;
+    private final BigInteger[][] counts;
+    /** cumulativeMatches[i] is the number of matches of minLength + i characters or fewer */
+    private final BigInteger[] cumulativeMatches;
+
+    private UniformStringSampler(AutomatonTable table, int minLength, int maxLength) {
+        this.table = table;
+        this.minLength = minLength;
+        this.counts = new BigInteger[maxLength + 1][];
+
+        BigInteger[] characterCounts = new BigInteger[table.destination.length];
+        for (int t = 0; t < characterCounts.length; t++) {
+            characterCounts[t] = BigInteger.valueOf(table.validCharacterCount(t));
+        }
+
+        counts[0] = new BigInteger[table.stateCount];
+        for (int s = 0; s < table.stateCount; s++) {
+            counts[0][s] = table.accept[s] ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        for (int r = 1; r <= maxLength; r++) {
+            BigInteger[] previous = counts[r - 1];
+            BigInteger[] current = new BigInteger[table.stateCount];
+            for (int s = 0; s < table.stateCount; s++) {
+                BigInteger count = BigInteger.ZERO;
+                for (int t = table.transitionStart[s]; t < table.transitionStart[s + 1]; t++) {
+                    BigInteger following = previous[table.destination[t]];
+                    if (following.signum() != 0) {
+                        count = count.add(characterCounts[t].multiply(following));
+                    }
+                }
+                current[s] = count;
+            }
+            counts[r] = current;
+        }
+
+        cumulativeMatches = new BigInteger[maxLength - minLength + 1];
+        BigInteger total = BigInteger.ZERO;
+        for (int length = minLength; length <= maxLength; length++) {
+            total = total.add(counts[length][0]);
+            cumulativeMatches[length - minLength] = total;
+        }
+    }
+
+    /**
+     * @return a sampler for the strings of at least minLength characters, or nothing if the language is infinite,
+     * has no such strings, or would need too large a table
+     */
+    static Optional<UniformStringSampler> of(AutomatonTable table, int minLength) {
+        if (table.isEmpty() || table.longestToAccept[0] == AutomatonTable.UNBOUNDED) {
+            return Optional.empty();
+        }
+
+        int maxLength = table.longestToAccept[0];
+        if (maxLength < minLength || (long) (maxLength + 1) * table.stateCount > MAX_TABLE_CELLS) {
+            return Optional.empty();
+        }
+
+        UniformStringSampler sampler = new UniformStringSampler(table, minLength, maxLength);
+        return sampler.getMatchCount().signum() == 0
+            ? Optional.empty()
+            : Optional.of(sampler);
+    }
+
+    BigInteger getMatchCount() {
+        return cumulativeMatches[cumulativeMatches.length - 1];
+    }
+
+    String next(RandomNumberGenerator random) {
+        BigInteger index = randomBelow(getMatchCount(), random);
+
+        int lengthOffset = firstExceeding(index);
+        if (lengthOffset > 0) {
+            index = index.subtract(cumulativeMatches[lengthOffset - 1]);
+        }
+
+        return unrank(minLength + lengthOffset, index);
+    }
+
+    /**
+     * The index belongs to the first length whose cumulative count exceeds it; lengths with no matches repeat the
+     * previous count, so an exact match isn't enough
+     */
+    private int firstExceeding(BigInteger index) {
+        int low = 0;
+        int high = cumulativeMatches.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeMatches[middle].compareTo(index) > 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private String unrank(int length, BigInteger index) {
+        StringBuilder builder = new StringBuilder(length);
+        int state = 0;
+        for (int remaining = length; remaining > 0; remaining--) {
+            BigInteger[] following = counts[remaining - 1];
+            for (int t = table.transitionStart[state]; t < table.transitionStart[state + 1]; t++) {
+                BigInteger perCharacter = following[table.destination[t]];
+                if (perCharacter.signum() == 0) {
+                    continue;
+                }
+
+                BigInteger block = perCharacter.multiply(
+                    BigInteger.valueOf(table.validCharacterCount(t)));
+                if (index.compareTo(block) >= 0) {
+                    index = index.subtract(block);
+                    continue;
+                }
+
+                BigInteger[] characterAndRest = index.divideAndRemainder(perCharacter);
+                builder.append(table.validCharacter(t, characterAndRest[0].intValue()));
+                index = characterAndRest[1];
+                state = table.destination[t];
+                break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Draws whole 64 bit blocks and rejects values at or above the bound, which takes fewer than two attempts on
+     * average
+     */
+    private static BigInteger randomBelow(BigInteger bound, RandomNumberGenerator random) {
+        if (bound.bitLength() < Long.SIZE) {
+            return BigInteger.valueOf(random.nextLong(0, bound.longValue()));
+        }
+
+        int bits = bound.bitLength();
+        int words = (bits + Long.SIZE - 1) / Long.SIZE;
+        byte[] bytes = new byte[words * Long.BYTES + 1];
+        while (true) {
+            for (int w = 0; w < words; w++) {
+                long word = random.nextLong();
+                for (int b = 0; b < Long.BYTES; b++) {
+                    bytes[1 + w * Long.BYTES + b] = (byte) (word >>> (b * Byte.SIZE));
+                }
+            }
+            BigInteger candidate = new BigInteger(bytes).shiftRight(words * Long.SIZE - bits);
+            if (candidate.compareTo(bound) < 0) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.scottlogic.deg.generator.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.config.detail.TreeWalkerType;
 import com.scottlogic.deg.generator.generation.GenerationConfigSource;
@@ -39,6 +40,12 @@ public class CombinationStrategyProvider  implements Provider<CombinationStrateg
             return new MinimalCombinationStrategy();
         }
 
+        // An n-wise combination only covers combinations of whatever is combined, so it is also used for the
+        // partitions of the reductive walker.
+        if (config.getCombinationStrategyType() == CombinationStrategyType.N_WISE){
+            return new NWiseCombinationStrategy(config.getCombinationStrength());
+        }
+
         if (config.getWalkerType() == TreeWalkerType.REDUCTIVE){
             return new ReductiveCombinationStrategy();
         }
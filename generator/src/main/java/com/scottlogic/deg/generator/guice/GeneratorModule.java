@@ -20,14 +20,18 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.config.detail.Shard;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeFactory;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeOptimiser;
 import com.scottlogic.deg.generator.decisiontree.MaxStringLengthInjectingDecisionTreeFactory;
 import com.scottlogic.deg.generator.decisiontree.treepartitioning.TreePartitioner;
+import com.scottlogic.deg.generator.fieldspecs.FieldSpecMerger;
 import com.scottlogic.deg.generator.generation.*;
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
 import com.scottlogic.deg.generator.inputs.validation.ProfileValidator;
-import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
 import com.scottlogic.deg.generator.walker.reductive.IterationVisualiser;
 
@@ -65,13 +69,39 @@ public class GeneratorModule extends AbstractModule {
             .annotatedWith(Names.named("config:maxRows"))
             .toInstance(generationConfigSource.getMaxRows());
 
+        bind(long.class)
+            .annotatedWith(Names.named("config:rowsToSkip"))
+            .toInstance(generationConfigSource.getRowsToSkip());
+
+        bind(boolean.class)
+            .annotatedWith(Names.named("config:walkPartitionsInParallel"))
+            .toInstance(generationConfigSource.walkPartitionsInParallel());
+
+        bind(int.class)
+            .annotatedWith(Names.named("config:generationThreads"))
+            .toInstance(generationConfigSource.getGenerationThreads());
+
+        bind(Shard.class).toInstance(generationConfigSource.getShard());
+
+        bind(boolean.class)
+            .annotatedWith(Names.named("config:sampleRegexesUniformly"))
+            .toInstance(generationConfigSource.sampleRegexesUniformly());
+
         // Bind known implementations - no user input required
         bind(DataGeneratorMonitor.class).to(ReductiveDataGeneratorMonitor.class);
         bind(DataGenerator.class).to(DecisionTreeDataGenerator.class);
         bind(DecisionTreeFactory.class).to(MaxStringLengthInjectingDecisionTreeFactory.class);
         bind(FieldValueSourceEvaluator.class).to(StandardFieldValueSourceEvaluator.class);
+        bind(FieldSpecMerger.class).in(Singleton.class);
+
+        long seed = generationConfigSource.getSeed().orElseGet(() -> (long) OffsetDateTime.now().getNano());
+        bind(long.class)
+            .annotatedWith(Names.named("config:seed"))
+            .toInstance(seed);
 
-        bind(JavaUtilRandomNumberGenerator.class)
-            .toInstance(new JavaUtilRandomNumberGenerator(OffsetDateTime.now().getNano()));
+        ThreadBoundRandomNumberGenerator randomNumberGenerator = new ThreadBoundRandomNumberGenerator(
+            new CounterBasedRandomNumberGenerator(seed));
+        bind(ThreadBoundRandomNumberGenerator.class).toInstance(randomNumberGenerator);
+        bind(RandomNumberGenerator.class).toInstance(randomNumberGenerator);
     }
 }
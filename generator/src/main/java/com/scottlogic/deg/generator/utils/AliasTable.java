@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Samples indexes in proportion to a set of weights in constant time, using Vose's alias method.
+ * Building the table is linear in the number of weights.
+ */
+public class AliasTable {
+    private final double[] weights;
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Cannot create an alias table without any weights");
+        }
+
+        int count = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be positive numbers, but found " + weight);
+            }
+            total += weight;
+        }
+
+        this.weights = weights.clone();
+        this.probability = new double[count];
+        this.alias = new int[count];
+
+        double[] scaled = new double[count];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            scaled[i] = weights[i] * count / total;
+            if (scaled[i] < 1) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+
+        // anything left over is only short of 1 because of rounding errors
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public int nextIndex(RandomNumberGenerator randomNumberGenerator) {
+        int column = randomNumberGenerator.nextInt(probability.length);
+        return randomNumberGenerator.nextDouble(0, 1) < probability[column]
+            ? column
+            : alias[column];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(weights, ((AliasTable) o).weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(weights);
+    }
+}
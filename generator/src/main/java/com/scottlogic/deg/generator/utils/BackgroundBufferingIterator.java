@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterator which consumes an underlying iterator on another thread, buffering at most a fixed number of items ahead
+ * of the caller. The producing thread blocks while the buffer is full, and anything thrown while producing an item is
+ * rethrown to the caller when it reaches that point in the sequence.
+ *
+ * The underlying iterator must not produce null items.
+ */
+public class BackgroundBufferingIterator<T> implements Iterator<T>, AutoCloseable {
+    private static final Object endOfItems = new Object();
+
+    private final BlockingQueue<Object> buffer;
+    private final Future<?> producer;
+    private Object nextItem;
+
+    public BackgroundBufferingIterator(Iterator<T> underlyingIterator, int capacity, ExecutorService executor) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.producer = executor.submit(() -> produce(underlyingIterator));
+    }
+
+    private void produce(Iterator<T> underlyingIterator) {
+        try {
+            try {
+                while (underlyingIterator.hasNext()) {
+                    buffer.put(underlyingIterator.next());
+                }
+                buffer.put(endOfItems);
+            } catch (RuntimeException | Error e) {
+                buffer.put(new ProducerFailure(e));
+            }
+        } catch (InterruptedException e) {
+            // the consumer has closed the iterator, no-one is waiting for any more items
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return peek() != endOfItems;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        Object item = peek();
+        if (item == endOfItems) {
+            throw new NoSuchElementException();
+        }
+
+        nextItem = null;
+        return (T) item;
+    }
+
+    @Override
+    public void close() {
+        producer.cancel(true);
+    }
+
+    private Object peek() {
+        if (nextItem == null) {
+            try {
+                nextItem = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted whilst waiting for the next item", e);
+            }
+        }
+
+        if (nextItem instanceof ProducerFailure) {
+            ((ProducerFailure) nextItem).rethrow();
+        }
+
+        return nextItem;
+    }
+
+    private static class ProducerFailure {
+        private final Throwable cause;
+
+        ProducerFailure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        void rethrow() {
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw (RuntimeException) cause;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A RandomNumberGenerator whose n-th number is a function of only its key and n, mixed with the SplitMix64 finaliser.
+ *
+ * Generators for independent sequences, e.g. one per row or per field, are derived from a generator's key without
+ * drawing any numbers from it, so any sequence can be recreated in isolation. An instance must only be drawn from by
+ * one thread at a time, but generators can be derived from it on any thread.
+ */
+public class CounterBasedRandomNumberGenerator implements RandomNumberGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long key;
+    private long counter;
+
+    public CounterBasedRandomNumberGenerator(long key) {
+        this.key = key;
+    }
+
+    public CounterBasedRandomNumberGenerator derive(long component) {
+        return new CounterBasedRandomNumberGenerator(mix64(key ^ mix64(component + GOLDEN_GAMMA)));
+    }
+
+    public CounterBasedRandomNumberGenerator derive(String component) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < component.length(); i++) {
+            hash = (hash ^ component.charAt(i)) * FNV_PRIME;
+        }
+
+        return derive(hash);
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(key + GOLDEN_GAMMA * ++counter);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        // implementation copied from Random::nextInt(int), to avoid favouring smaller values
+        int r = nextNonNegativeInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        for (int u = r; u - (r = u % bound) + m < 0; u = nextNonNegativeInt());
+        return r;
+    }
+
+    @Override
+    public double nextDouble(double lowerInclusive, double upperExclusive) {
+        return nextUnitDouble() * (upperExclusive - lowerInclusive) + lowerInclusive;
+    }
+
+    @Override
+    public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive, int scale) {
+        return new BigDecimal(nextUnitDouble())
+            .multiply(upperExclusive.subtract(lowerInclusive))
+            .add(lowerInclusive)
+            .setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private int nextNonNegativeInt() {
+        return (int) (nextLong() >>> 33);
+    }
+
+    private double nextUnitDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranges of longs excluded from a range, which finds the value at any index of the values that are not excluded
+ * without visiting the values before it, so a value can be sampled uniformly from them without a rejection loop.
+ */
+public class ExcludedRanges {
+    private final long inclusiveLower;
+    private final long[] starts;
+    private final long[] exclusiveEnds;
+    private final long[] permittedBefore;
+    private final long excludedCount;
+
+    /**
+     * @param inclusiveLower the lowest value of the range
+     * @param exclusiveUpper the value after the highest value of the range
+     * @param excludedStarts the first value of each excluded range
+     * @param excludedExclusiveEnds the value after the last value of each excluded range
+     */
+    public ExcludedRanges(long inclusiveLower, long exclusiveUpper, long[] excludedStarts, long[] excludedExclusiveEnds) {
+        if (excludedStarts.length != excludedExclusiveEnds.length) {
+            throw new IllegalArgumentException("Each excluded range must have a start and an end");
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        for (int index = 0; index < excludedStarts.length; index++) {
+            long start = Math.max(excludedStarts[index], inclusiveLower);
+            long end = Math.min(excludedExclusiveEnds[index], exclusiveUpper);
+            if (start < end) {
+                ranges.add(new long[] { start, end });
+            }
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+
+        List<long[]> mergedRanges = new ArrayList<>();
+        for (long[] range : ranges) {
+            long[] previous = mergedRanges.isEmpty() ? null : mergedRanges.get(mergedRanges.size() - 1);
+            if (previous != null && range[0] <= previous[1]) {
+                previous[1] = Math.max(previous[1], range[1]);
+            } else {
+                mergedRanges.add(range);
+            }
+        }
+
+        this.inclusiveLower = inclusiveLower;
+        this.starts = new long[mergedRanges.size()];
+        this.exclusiveEnds = new long[mergedRanges.size()];
+        this.permittedBefore = new long[mergedRanges.size()];
+
+        long excluded = 0;
+        for (int index = 0; index < mergedRanges.size(); index++) {
+            starts[index] = mergedRanges.get(index)[0];
+            exclusiveEnds[index] = mergedRanges.get(index)[1];
+            permittedBefore[index] = starts[index] - inclusiveLower - excluded;
+            excluded += exclusiveEnds[index] - starts[index];
+        }
+        this.excludedCount = excluded;
+    }
+
+    public long getExcludedCount() {
+        return excludedCount;
+    }
+
+    /**
+     * Gets the value at an index of the values that are not excluded, in O(log n) of the number of excluded ranges.
+     * The index must be less than the number of values in the range less the excluded count.
+     */
+    public long getPermittedValue(long index) {
+        // touching ranges are merged, so permittedBefore is strictly increasing; find the last range with at most
+        // index permitted values before it
+        int range = Arrays.binarySearch(permittedBefore, index);
+        if (range < 0) {
+            range = -range - 2;
+        }
+
+        return range < 0
+            ? inclusiveLower + index
+            : exclusiveEnds[range] + (index - permittedBefore[range]);
+    }
+}
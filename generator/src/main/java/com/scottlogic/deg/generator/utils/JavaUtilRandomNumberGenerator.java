@@ -37,29 +37,13 @@ public class JavaUtilRandomNumberGenerator implements RandomNumberGenerator {
     }
 
     @Override
-    public int nextInt(int bound) {
-        return random.nextInt(bound);
+    public long nextLong() {
+        return random.nextLong();
     }
 
     @Override
-    public int nextInt(int lowerInclusive, int upperExclusive) {
-        // implementation copied from Random::internalNextInt
-        if (lowerInclusive < upperExclusive) {
-            int n = upperExclusive - lowerInclusive;
-            if (n > 0) {
-                return nextInt(n) + lowerInclusive;
-            }
-            else {  // range not representable as int
-                int r;
-                do {
-                    r = nextInt();
-                } while (r < lowerInclusive || r >= upperExclusive);
-                return r;
-            }
-        }
-        else {
-            return nextInt();
-        }
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
     }
 
     @Override
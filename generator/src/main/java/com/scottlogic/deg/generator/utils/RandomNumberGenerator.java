@@ -21,7 +21,49 @@ import java.math.BigDecimal;
 public interface RandomNumberGenerator {
     int nextInt();
     int nextInt(int bound);
-    int nextInt(int lowerInclusive, int upperExclusive);
+    long nextLong();
     double nextDouble(double lowerInclusive, double upperExclusive);
     BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive, int scale);
+
+    default int nextInt(int lowerInclusive, int upperExclusive) {
+        // implementation copied from Random::internalNextInt
+        if (lowerInclusive < upperExclusive) {
+            int n = upperExclusive - lowerInclusive;
+            if (n > 0) {
+                return nextInt(n) + lowerInclusive;
+            }
+            else {  // range not representable as int
+                int r;
+                do {
+                    r = nextInt();
+                } while (r < lowerInclusive || r >= upperExclusive);
+                return r;
+            }
+        }
+        else {
+            return nextInt();
+        }
+    }
+
+    default long nextLong(long lowerInclusive, long upperExclusive) {
+        // implementation copied from ThreadLocalRandom::internalNextLong
+        long r = nextLong();
+        if (lowerInclusive < upperExclusive) {
+            long n = upperExclusive - lowerInclusive;
+            long m = n - 1;
+            if ((n & m) == 0L) {
+                return (r & m) + lowerInclusive;
+            }
+            else if (n > 0L) {
+                for (long u = r >>> 1; u + m - (r = u % n) < 0L; u = nextLong() >>> 1);
+                return r + lowerInclusive;
+            }
+            else {  // range not representable as long
+                while (r < lowerInclusive || r >= upperExclusive) {
+                    r = nextLong();
+                }
+            }
+        }
+        return r;
+    }
 }
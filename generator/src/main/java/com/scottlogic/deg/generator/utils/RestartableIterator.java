@@ -52,4 +52,23 @@ public class RestartableIterator<T> implements Iterator<T> {
     public void restart() {
         index = 0;
     }
+
+    public void skip(long count) {
+        for (long skipped = 0; skipped < count && hasNext(); skipped++) {
+            next();
+        }
+    }
+
+    /**
+     * Reads items from the underlying iterator, without moving past them, until the given number of items have been
+     * read or there are no more.
+     * @return the number of items read so far, which is the total number of items if fewer than requested
+     */
+    public long readAhead(long count) {
+        while (cache.size() < count && underlyingIterator.hasNext()) {
+            cache.add(underlyingIterator.next());
+        }
+
+        return cache.size();
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator which can be restarted to replay the items of an underlying iterator, like RestartableIterator, but which
+ * keeps at most a fixed number of them in memory. Any further items are written to a temporary file as they are read,
+ * and are read back from it on each replay.
+ *
+ * Restarting reads the rest of the underlying iterator first, so that the file is complete before it is replayed.
+ * Restarting before any item has been taken does nothing, so a first pass streams the underlying iterator while
+ * recording it. Closing the iterator deletes the file.
+ */
+public class SpillingRestartableIterator<T> implements Iterator<T>, AutoCloseable {
+    private final Iterator<T> underlyingIterator;
+    private final int maxItemsInMemory;
+    private final SpillCodec<T> codec;
+    private final List<T> itemsInMemory = new ArrayList<>();
+    private long itemsSpilled;
+    private boolean allItemsRead;
+    private long index;
+
+    private Path spillFile;
+    private ObjectOutputStream spillOutput;
+    private ObjectInputStream spillInput;
+    private long spillInputIndex;
+
+    public SpillingRestartableIterator(Iterator<T> underlyingIterator, int maxItemsInMemory, SpillCodec<T> codec) {
+        this.underlyingIterator = underlyingIterator;
+        this.maxItemsInMemory = maxItemsInMemory;
+        this.codec = codec;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < itemsRead() || (!allItemsRead && underlyingIterator.hasNext());
+    }
+
+    @Override
+    public T next() {
+        if (index < itemsRead()) {
+            return nextReadItem();
+        }
+        if (allItemsRead) {
+            throw new NoSuchElementException();
+        }
+
+        T item = underlyingIterator.next();
+        keep(item);
+        index++;
+        return item;
+    }
+
+    public void restart() {
+        if (index == 0) {
+            return;
+        }
+
+        readAll();
+        closeSpillInput();
+        index = 0;
+    }
+
+    public void skip(long count) {
+        for (long skipped = 0; skipped < count && hasNext(); skipped++) {
+            next();
+        }
+    }
+
+    /**
+     * Reads the rest of the underlying iterator, without moving past any items.
+     * @return the total number of items
+     */
+    public long readAll() {
+        if (!allItemsRead) {
+            while (underlyingIterator.hasNext()) {
+                keep(underlyingIterator.next());
+            }
+
+            allItemsRead = true;
+            closeSpillOutput();
+        }
+
+        return itemsRead();
+    }
+
+    @Override
+    public void close() {
+        closeSpillOutput();
+        closeSpillInput();
+
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private long itemsRead() {
+        return itemsInMemory.size() + itemsSpilled;
+    }
+
+    private void keep(T item) {
+        if (itemsInMemory.size() < maxItemsInMemory) {
+            itemsInMemory.add(item);
+            return;
+        }
+
+        try {
+            if (spillOutput == null) {
+                spillFile = Files.createTempFile("datahelix-", ".spill");
+                spillFile.toFile().deleteOnExit();
+                spillOutput = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+            }
+
+            codec.write(item, spillOutput);
+            spillOutput.reset(); // don't hold on to every item written
+            itemsSpilled++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T nextReadItem() {
+        if (index < itemsInMemory.size()) {
+            return itemsInMemory.get((int) index++);
+        }
+
+        // items are only read back once they have all been read, so the file is complete
+        try {
+            if (spillInput == null) {
+                spillInput = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+                spillInputIndex = itemsInMemory.size();
+            }
+
+            while (spillInputIndex < index) {
+                codec.read(spillInput);
+                spillInputIndex++;
+            }
+
+            T item = codec.read(spillInput);
+            spillInputIndex++;
+            index++;
+            return item;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to read back an item written to " + spillFile, e);
+        }
+    }
+
+    private void closeSpillOutput() {
+        if (spillOutput != null) {
+            try {
+                spillOutput.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            spillOutput = null;
+        }
+    }
+
+    private void closeSpillInput() {
+        if (spillInput != null) {
+            try {
+                spillInput.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            spillInput = null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A RandomNumberGenerator which delegates to whichever generator is bound to the current thread, or to the root
+ * generator if none is bound.
+ *
+ * Binding a generator derived for each partition, row, etc. means the numbers drawn for it depend only on the seed and
+ * its keys, not on how its work is interleaved with, or run in parallel to, any other work.
+ */
+public class ThreadBoundRandomNumberGenerator implements RandomNumberGenerator {
+    private final CounterBasedRandomNumberGenerator rootGenerator;
+    private final ThreadLocal<CounterBasedRandomNumberGenerator> boundGenerator = new ThreadLocal<>();
+
+    public ThreadBoundRandomNumberGenerator(CounterBasedRandomNumberGenerator rootGenerator) {
+        this.rootGenerator = rootGenerator;
+    }
+
+    /**
+     * Gets the generator bound to the current thread, or the root generator if none is bound, to derive generators
+     * for independent pieces of work from.
+     */
+    public CounterBasedRandomNumberGenerator getBoundGenerator() {
+        CounterBasedRandomNumberGenerator generator = boundGenerator.get();
+        return generator != null ? generator : rootGenerator;
+    }
+
+    /**
+     * Wraps a lazily created stream so that any numbers drawn while producing its items are drawn from the given
+     * generator, regardless of which thread consumes the stream. Closing the returned stream closes the underlying
+     * stream, if it has been created.
+     */
+    public <T> Stream<T> bindTo(CounterBasedRandomNumberGenerator generator, Supplier<Stream<T>> streamSupplier) {
+        BoundIterator<T> iterator = new BoundIterator<>(generator, streamSupplier);
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED),
+            false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * Does some work on the current thread, drawing any numbers it needs from the given generator.
+     */
+    public <T> T callWith(CounterBasedRandomNumberGenerator generator, Supplier<T> work) {
+        CounterBasedRandomNumberGenerator previous = boundGenerator.get();
+        boundGenerator.set(generator);
+        try {
+            return work.get();
+        } finally {
+            boundGenerator.set(previous);
+        }
+    }
+
+    @Override
+    public int nextInt() {
+        return getBoundGenerator().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return getBoundGenerator().nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int lowerInclusive, int upperExclusive) {
+        return getBoundGenerator().nextInt(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public long nextLong() {
+        return getBoundGenerator().nextLong();
+    }
+
+    @Override
+    public long nextLong(long lowerInclusive, long upperExclusive) {
+        return getBoundGenerator().nextLong(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public double nextDouble(double lowerInclusive, double upperExclusive) {
+        return getBoundGenerator().nextDouble(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive, int scale) {
+        return getBoundGenerator().nextBigDecimal(lowerInclusive, upperExclusive, scale);
+    }
+
+    private class BoundIterator<T> implements Iterator<T> {
+        private final CounterBasedRandomNumberGenerator generator;
+        private final Supplier<Stream<T>> streamSupplier;
+        private Stream<T> underlyingStream;
+        private Iterator<T> underlyingIterator;
+
+        BoundIterator(CounterBasedRandomNumberGenerator generator, Supplier<Stream<T>> streamSupplier) {
+            this.generator = generator;
+            this.streamSupplier = streamSupplier;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return callWith(generator, () -> getUnderlyingIterator().hasNext());
+        }
+
+        @Override
+        public T next() {
+            return callWith(generator, () -> getUnderlyingIterator().next());
+        }
+
+        private Iterator<T> getUnderlyingIterator() {
+            if (underlyingIterator == null) {
+                underlyingStream = streamSupplier.get();
+                underlyingIterator = underlyingStream.iterator();
+            }
+
+            return underlyingIterator;
+        }
+
+        void close() {
+            if (underlyingStream != null) {
+                underlyingStream.close();
+            }
+        }
+    }
+}
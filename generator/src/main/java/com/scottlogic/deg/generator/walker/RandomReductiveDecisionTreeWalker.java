@@ -17,39 +17,161 @@
 package com.scottlogic.deg.generator.walker;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.generator.config.detail.Shard;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
-import com.scottlogic.deg.generator.fieldspecs.RowSpec;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.utils.BackgroundBufferingIterator;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class RandomReductiveDecisionTreeWalker implements ShardableDecisionTreeWalker {
+    private static final int WORKER_BUFFER_SIZE = 1000;
 
-public class RandomReductiveDecisionTreeWalker implements DecisionTreeWalker {
     private final ReductiveDecisionTreeWalker underlyingWalker;
+    private final ThreadBoundRandomNumberGenerator randomNumberGenerator;
+    private final int generationThreads;
 
     @Inject
-    RandomReductiveDecisionTreeWalker(ReductiveDecisionTreeWalker underlyingWalker) {
+    RandomReductiveDecisionTreeWalker(
+        ReductiveDecisionTreeWalker underlyingWalker,
+        ThreadBoundRandomNumberGenerator randomNumberGenerator,
+        @Named("config:generationThreads") int generationThreads) {
         this.underlyingWalker = underlyingWalker;
+        this.randomNumberGenerator = randomNumberGenerator;
+        this.generationThreads = generationThreads;
     }
 
     @Override
     public Stream<DataBag> walk(DecisionTree tree) {
-        Optional<DataBag> firstRowSpecOpt = getFirstRowSpecFromRandomisingIteration(tree);
+        return walk(tree, Shard.ALL_ROWS, 0);
+    }
+
+    /**
+     * Every row draws from a random number generator keyed by its index, retrying with a generator keyed by the
+     * attempt if the tree cannot be fully reduced, so the rows of a shard can be produced without producing any of the
+     * rows before them.
+     */
+    @Override
+    public Stream<DataBag> walk(DecisionTree tree, Shard shard, long firstRow) {
+        CounterBasedRandomNumberGenerator treeGenerator = randomNumberGenerator.getBoundGenerator();
+
+        Optional<DataBag> firstRowSpecOpt = getFirstRowSpecFromRandomisingIteration(tree, treeGenerator.derive(0), 0);
         //noinspection OptionalIsPresent
         if (!firstRowSpecOpt.isPresent()) {
             return Stream.empty();
         }
 
+        long rowsOfShardToSkip = shard.getRowCount(firstRow);
+        if (rowsOfShardToSkip > 0 || !shard.containsRow(0)) {
+            return generateRows(tree, treeGenerator, shard, rowsOfShardToSkip);
+        }
+
         return Stream.concat(
             Stream.of(firstRowSpecOpt.get()),
-            Stream.generate(() ->
-                getFirstRowSpecFromRandomisingIteration(tree))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get));
+            generateRows(tree, treeGenerator, shard, 1));
     }
 
-    private Optional<DataBag> getFirstRowSpecFromRandomisingIteration(DecisionTree tree) {
-        return underlyingWalker.walk(tree)
-            .findFirst();
+    private Stream<DataBag> generateRows(
+        DecisionTree tree,
+        CounterBasedRandomNumberGenerator treeGenerator,
+        Shard shard,
+        long firstRowOfShard) {
+        return generationThreads > 1
+            ? generateRowsOnWorkers(tree, treeGenerator, shard, firstRowOfShard)
+            : generateRows(tree, treeGenerator, shard, firstRowOfShard, 1);
+    }
+
+    private Stream<DataBag> generateRows(
+        DecisionTree tree,
+        CounterBasedRandomNumberGenerator treeGenerator,
+        Shard shard,
+        long firstRowOfShard,
+        long rowStep) {
+        return LongStream.iterate(firstRowOfShard, rowOfShard -> rowOfShard + rowStep)
+            .mapToObj(rowOfShard -> generateRow(tree, treeGenerator.derive(shard.getRowIndex(rowOfShard))));
+    }
+
+    /**
+     * Each worker generates every n-th row, and the rows are emitted from each worker in turn, so the rows produced
+     * are the same, and in the same order, regardless of the number of threads.
+     */
+    private Stream<DataBag> generateRowsOnWorkers(
+        DecisionTree tree,
+        CounterBasedRandomNumberGenerator treeGenerator,
+        Shard shard,
+        long firstRowOfShard) {
+        ExecutorService executor = Executors.newFixedThreadPool(generationThreads, runnable -> {
+            Thread thread = new Thread(runnable, "random-walker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<BackgroundBufferingIterator<DataBag>> workers = IntStream.range(0, generationThreads)
+            .mapToObj(worker -> new BackgroundBufferingIterator<>(
+                generateRows(tree, treeGenerator, shard, firstRowOfShard + worker, generationThreads).iterator(),
+                WORKER_BUFFER_SIZE,
+                executor))
+            .collect(Collectors.toList());
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(new RoundRobinIterator<>(workers), Spliterator.ORDERED),
+            false)
+            .onClose(() -> {
+                workers.forEach(BackgroundBufferingIterator::close);
+                executor.shutdownNow();
+            });
+    }
+
+    private DataBag generateRow(DecisionTree tree, CounterBasedRandomNumberGenerator rowGenerator) {
+        return LongStream.iterate(0, attempt -> attempt + 1)
+            .mapToObj(attempt -> getFirstRowSpecFromRandomisingIteration(tree, rowGenerator, attempt))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .findFirst()
+            .get();
+    }
+
+    private Optional<DataBag> getFirstRowSpecFromRandomisingIteration(
+        DecisionTree tree,
+        CounterBasedRandomNumberGenerator rowGenerator,
+        long attempt) {
+        return randomNumberGenerator.callWith(
+            rowGenerator.derive(attempt),
+            () -> underlyingWalker.walk(tree).findFirst());
+    }
+
+    private static class RoundRobinIterator<T> implements Iterator<T> {
+        private final List<? extends Iterator<T>> iterators;
+        private int nextIterator;
+
+        RoundRobinIterator(List<? extends Iterator<T>> iterators) {
+            this.iterators = iterators;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterators.get(nextIterator).hasNext();
+        }
+
+        @Override
+        public T next() {
+            T item = iterators.get(nextIterator).next();
+            nextIterator = (nextIterator + 1) % iterators.size();
+            return item;
+        }
     }
 }
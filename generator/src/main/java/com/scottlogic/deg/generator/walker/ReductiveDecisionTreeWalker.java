@@ -31,10 +31,11 @@ import com.scottlogic.deg.generator.walker.reductive.fieldselectionstrategy.FixF
 import com.scottlogic.deg.generator.walker.reductive.fieldselectionstrategy.FixFieldStrategyFactory;
 
 import java.io.IOException;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Stream;
 
-public class ReductiveDecisionTreeWalker implements DecisionTreeWalker {
+public class ReductiveDecisionTreeWalker implements SkippingDecisionTreeWalker {
     private final ReductiveTreePruner treePruner;
     private final IterationVisualiser iterationVisualiser;
     private final ReductiveFieldSpecBuilder reductiveFieldSpecBuilder;
@@ -61,13 +62,22 @@ public class ReductiveDecisionTreeWalker implements DecisionTreeWalker {
     /* initialise the walker with a set (ReductiveState) of unfixed fields */
     @Override
     public Stream<DataBag> walk(DecisionTree tree) {
+        return walk(tree, 0);
+    }
+
+    @Override
+    public Stream<DataBag> walk(DecisionTree tree, long firstRow) {
         ReductiveState initialState = new ReductiveState(tree.fields);
         visualise(tree.getRootNode(), initialState);
         FixFieldStrategy fixFieldStrategy = fixFieldStrategyFactory.create(tree.getRootNode());
-        return fixNextField(tree.getRootNode(), initialState, fixFieldStrategy);
+        return fixNextField(tree.getRootNode(), initialState, fixFieldStrategy, new RowsToSkip(firstRow));
     }
 
-    private Stream<DataBag> fixNextField(ConstraintNode tree, ReductiveState reductiveState, FixFieldStrategy fixFieldStrategy) {
+    private Stream<DataBag> fixNextField(
+        ConstraintNode tree,
+        ReductiveState reductiveState,
+        FixFieldStrategy fixFieldStrategy,
+        RowsToSkip rowsToSkip) {
         Field fieldToFix = fixFieldStrategy.getNextFieldToFix(reductiveState);
         Set<FieldSpec> nextFieldSpecs = reductiveFieldSpecBuilder.getDecisionFieldSpecs(tree, fieldToFix);
 
@@ -76,11 +86,61 @@ public class ReductiveDecisionTreeWalker implements DecisionTreeWalker {
             return Stream.empty();
         }
 
-        Stream<DataBagValue> values = fieldSpecValueGenerator.generate(nextFieldSpecs);
+        long firstValueIndex = skipWholeValues(tree, reductiveState, fieldToFix, nextFieldSpecs, rowsToSkip);
+        Stream<DataBagValue> values = fieldSpecValueGenerator.generate(fieldToFix, nextFieldSpecs, firstValueIndex);
 
         return FlatMappingSpliterator.flatMap(
             values,
-            dataBagValue -> pruneTreeForNextValue(tree, reductiveState, fixFieldStrategy, fieldToFix, dataBagValue));
+            dataBagValue -> pruneTreeForNextValue(tree, reductiveState, fixFieldStrategy, fieldToFix, dataBagValue, rowsToSkip));
+    }
+
+    /**
+     * Passes over the values of the field to fix whose rows all come before the first row to walk, returning the
+     * index of the first value to walk.
+     * <p>
+     * This is only possible where the tree has no decisions left, so every value of the field leads to the same number
+     * of rows: the product of the numbers of values of the other unfixed fields. Elsewhere, or where a number of values
+     * is not known exactly, the rows are produced and dropped as they reach a leaf.
+     */
+    private long skipWholeValues(
+        ConstraintNode tree,
+        ReductiveState reductiveState,
+        Field fieldToFix,
+        Set<FieldSpec> fieldSpecs,
+        RowsToSkip rowsToSkip) {
+        if (rowsToSkip.remaining == 0 || !tree.getDecisions().isEmpty()) {
+            return 0;
+        }
+
+        OptionalLong valueCount = fieldSpecValueGenerator.countValues(fieldSpecs);
+        if (!valueCount.isPresent()) {
+            return 0;
+        }
+
+        long rowsPerValue = 1;
+        for (Field field : reductiveState.getFields()) {
+            if (field.equals(fieldToFix) || reductiveState.isFieldFixed(field)) {
+                continue;
+            }
+
+            OptionalLong fieldValueCount = fieldSpecValueGenerator.countValues(
+                reductiveFieldSpecBuilder.getDecisionFieldSpecs(tree, field));
+            if (!fieldValueCount.isPresent()) {
+                return 0;
+            }
+
+            rowsPerValue = fieldValueCount.getAsLong() != 0 && rowsPerValue > Long.MAX_VALUE / fieldValueCount.getAsLong()
+                ? Long.MAX_VALUE // saturating
+                : rowsPerValue * fieldValueCount.getAsLong();
+        }
+
+        if (rowsPerValue == 0) {
+            return valueCount.getAsLong();
+        }
+
+        long valuesToSkip = Math.min(rowsToSkip.remaining / rowsPerValue, valueCount.getAsLong());
+        rowsToSkip.remaining -= valuesToSkip * rowsPerValue;
+        return valuesToSkip;
     }
 
     private Stream<DataBag> pruneTreeForNextValue(
@@ -88,7 +148,8 @@ public class ReductiveDecisionTreeWalker implements DecisionTreeWalker {
         ReductiveState reductiveState,
         FixFieldStrategy fixFieldStrategy,
         Field field,
-        DataBagValue fieldValue){
+        DataBagValue fieldValue,
+        RowsToSkip rowsToSkip){
 
         Merged<ConstraintNode> reducedTree = treePruner.pruneConstraintNode(tree, field, fieldValue);
 
@@ -105,10 +166,25 @@ public class ReductiveDecisionTreeWalker implements DecisionTreeWalker {
         visualise(reducedTree.get(), newReductiveState);
 
         if (newReductiveState.allFieldsAreFixed()) {
+            if (rowsToSkip.remaining > 0) {
+                rowsToSkip.remaining--;
+                return Stream.empty();
+            }
             return Stream.of(newReductiveState.asDataBag());
         }
 
-        return fixNextField(reducedTree.get(), newReductiveState, fixFieldStrategy);
+        return fixNextField(reducedTree.get(), newReductiveState, fixFieldStrategy, rowsToSkip);
+    }
+
+    /**
+     * The number of rows still to pass over, shared by the whole of one lazy, depth-first walk
+     */
+    private static class RowsToSkip {
+        private long remaining;
+
+        RowsToSkip(long remaining) {
+            this.remaining = remaining;
+        }
     }
 
     private void visualise(ConstraintNode rootNode, ReductiveState reductiveState){
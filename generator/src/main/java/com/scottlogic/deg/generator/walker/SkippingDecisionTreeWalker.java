@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.walker;
+
+import com.scottlogic.deg.generator.decisiontree.DecisionTree;
+import com.scottlogic.deg.generator.generation.databags.DataBag;
+
+import java.util.stream.Stream;
+
+/**
+ * A DecisionTreeWalker which can start its walk from any row. Rows it can count without producing them are passed
+ * over; the rest are produced and dropped.
+ */
+public interface SkippingDecisionTreeWalker extends DecisionTreeWalker {
+    Stream<DataBag> walk(DecisionTree tree, long firstRow);
+}
@@ -81,6 +81,6 @@ public class ReductiveState {
     }
 
     public DataBag asDataBag() {
-        return new DataBag(fieldValues);
+        return new DataBag(fields, fieldValues);
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.config.detail;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class ShardTests {
+    @Test
+    void parse_withIndexAndCount_createsShard() {
+        Assertions.assertEquals(new Shard(2, 4), Shard.parse("2/4"));
+    }
+
+    @Test
+    void parse_withoutCount_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Shard.parse("2"));
+    }
+
+    @Test
+    void parse_withIndexGreaterThanCount_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Shard.parse("5/4"));
+    }
+
+    @Test
+    void parse_withZeroIndex_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Shard.parse("0/4"));
+    }
+
+    @Test
+    void getRowIndex_forEachRowOfShard_isEveryNthRowFromTheIndex() {
+        Shard shard = new Shard(2, 3);
+
+        Assertions.assertEquals(1, shard.getRowIndex(0));
+        Assertions.assertEquals(4, shard.getRowIndex(1));
+        Assertions.assertEquals(7, shard.getRowIndex(2));
+    }
+
+    @Test
+    void getRowCount_forEveryShard_addsUpToTheTotalNumberOfRows() {
+        long totalRows = 10;
+
+        Assertions.assertEquals(4, new Shard(1, 3).getRowCount(totalRows));
+        Assertions.assertEquals(3, new Shard(2, 3).getRowCount(totalRows));
+        Assertions.assertEquals(3, new Shard(3, 3).getRowCount(totalRows));
+        Assertions.assertEquals(0, new Shard(3, 3).getRowCount(2));
+    }
+
+    @Test
+    void containsRow_forRowsOfShard_isTrueOnlyForThoseRows() {
+        Shard shard = new Shard(3, 3);
+
+        Assertions.assertEquals(
+            LongStream.of(2, 5, 8).boxed().collect(Collectors.toList()),
+            LongStream.range(0, 10).filter(shard::containsRow).boxed().collect(Collectors.toList()));
+    }
+}
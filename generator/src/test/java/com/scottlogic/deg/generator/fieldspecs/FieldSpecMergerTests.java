@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.fieldspecs;
+
+import com.scottlogic.deg.common.util.WeightedSet;
+import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
+import com.scottlogic.deg.generator.restrictions.BlacklistRestrictions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FieldSpecMergerTests {
+    private final FieldSpecMerger merger = new FieldSpecMerger();
+
+    @Test
+    void merge_weightedSetWithUnweightedSet_keepsWeightsOfCommonValues() {
+        FieldSpec weighted = FieldSpec.Empty.withWhitelist(weightedSet("a", 1d, "b", 3d, "c", 5d));
+        FieldSpec unweighted = FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList("b", "c", "d")));
+
+        Set<Object> whitelist = merger.merge(weighted, unweighted).get().getWhitelist();
+
+        assertThat(whitelist, containsInAnyOrder("b", "c"));
+        assertThat(whitelist, instanceOf(WeightedSet.class));
+        assertThat(((WeightedSet<Object>) whitelist).getWeight("b"), equalTo(3d));
+        assertThat(((WeightedSet<Object>) whitelist).getWeight("c"), equalTo(5d));
+    }
+
+    @Test
+    void merge_twoWeightedSets_multipliesWeights() {
+        FieldSpec left = FieldSpec.Empty.withWhitelist(weightedSet("a", 2d, "b", 3d));
+        FieldSpec right = FieldSpec.Empty.withWhitelist(weightedSet("a", 4d, "b", 0.5));
+
+        WeightedSet<Object> whitelist = (WeightedSet<Object>) merger.merge(left, right).get().getWhitelist();
+
+        assertThat(whitelist.getWeight("a"), equalTo(8d));
+        assertThat(whitelist.getWeight("b"), equalTo(1.5));
+    }
+
+    @Test
+    void merge_weightedSetWithRestrictions_keepsWeightsOfPermittedValues() {
+        FieldSpec weighted = FieldSpec.Empty.withWhitelist(weightedSet("a", 1d, "b", 3d));
+        FieldSpec restrictions = FieldSpec.Empty.withBlacklistRestrictions(
+            new BlacklistRestrictions(Collections.singleton("a")));
+
+        Set<Object> whitelist = merger.merge(weighted, restrictions).get().getWhitelist();
+
+        assertThat(whitelist, contains("b"));
+        assertThat(((WeightedSet<Object>) whitelist).getWeight("b"), equalTo(3d));
+    }
+
+    @Test
+    void merge_sameValuesTwice_returnsCachedResultAndReportsHit() {
+        DataGeneratorMonitor monitor = mock(DataGeneratorMonitor.class);
+        FieldSpecMerger cachingMerger = new FieldSpecMerger(monitor);
+
+        Optional<FieldSpec> first = cachingMerger.merge(
+            FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList("a", "b"))),
+            FieldSpec.Empty.withNotNull());
+        Optional<FieldSpec> second = cachingMerger.merge(
+            FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList("a", "b"))),
+            FieldSpec.Empty.withNotNull());
+
+        assertThat(second.get(), sameInstance(first.get()));
+        verify(monitor, times(1)).fieldSpecMergeCacheMiss();
+        verify(monitor, times(1)).fieldSpecMergeCacheHit();
+    }
+
+    @Test
+    void merge_setsWithSameValuesButDifferentWeights_doesNotReuseCachedResult() {
+        FieldSpec other = FieldSpec.Empty.withNotNull();
+        merger.merge(FieldSpec.Empty.withWhitelist(weightedSet("a", 1d, "b", 3d)), other);
+
+        Set<Object> reweighted = merger.merge(
+            FieldSpec.Empty.withWhitelist(weightedSet("a", 2d, "b", 3d)), other).get().getWhitelist();
+        Set<Object> unweighted = merger.merge(
+            FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList("a", "b"))), other).get().getWhitelist();
+
+        assertThat(((WeightedSet<Object>) reweighted).getWeight("a"), equalTo(2d));
+        assertThat(unweighted, not(instanceOf(WeightedSet.class)));
+    }
+
+    @Test
+    void merge_unmergeableValuesTwice_returnsEmptyEachTime() {
+        FieldSpec left = FieldSpec.Empty.withWhitelist(Collections.singleton("a")).withNotNull();
+        FieldSpec right = FieldSpec.Empty.withWhitelist(Collections.singleton("b"));
+
+        assertThat(merger.merge(left, right), equalTo(Optional.empty()));
+        assertThat(merger.merge(left, right), equalTo(Optional.empty()));
+    }
+
+    private static Set<Object> weightedSet(Object value1, double weight1, Object value2, double weight2) {
+        Map<Object, Double> weights = new LinkedHashMap<>();
+        weights.put(value1, weight1);
+        weights.put(value2, weight2);
+        return new WeightedSet<>(weights);
+    }
+
+    private static Set<Object> weightedSet(
+        Object value1, double weight1, Object value2, double weight2, Object value3, double weight3) {
+        Map<Object, Double> weights = new LinkedHashMap<>();
+        weights.put(value1, weight1);
+        weights.put(value2, weight2);
+        weights.put(value3, weight3);
+        return new WeightedSet<>(weights);
+    }
+}
@@ -489,6 +489,24 @@ class FieldSpecTests {
         assertFalse(spec.permits("Anything"));
     }
 
+    @Test
+    void permitsChecksEveryRestrictionOnRepeatedCalls() {
+        NumericRestrictions numeric = new NumericRestrictions();
+        numeric.min = new NumericLimit<>(BigDecimal.ONE, true);
+        FieldSpec spec = FieldSpec.Empty
+            .withTypeRestrictions(new DataTypeRestrictions(Arrays.asList(Types.NUMERIC, Types.STRING)))
+            .withNumericRestrictions(numeric)
+            .withBlacklistRestrictions(new BlacklistRestrictions(Collections.singleton("excluded")));
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(spec.permits(BigDecimal.TEN));
+            Assert.assertTrue(spec.permits("included"));
+            assertFalse(spec.permits(BigDecimal.ZERO));
+            assertFalse(spec.permits("excluded"));
+            assertFalse(spec.permits(OffsetDateTime.now()));
+        }
+    }
+
     @ParameterizedTest()
     @MethodSource("partiallyUnequalProvider")
     public void fieldSpecsThatArePartiallyEqualShouldBeReportedAsUnequal(
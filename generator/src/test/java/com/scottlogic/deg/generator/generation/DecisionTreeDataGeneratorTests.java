@@ -17,24 +17,37 @@
 package com.scottlogic.deg.generator.generation;
 
 import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.generator.config.detail.Shard;
+import com.scottlogic.deg.generator.builders.DataBagBuilder;
 import com.scottlogic.deg.generator.decisiontree.ConstraintNode;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeFactory;
 import com.scottlogic.deg.generator.decisiontree.DecisionTreeOptimiser;
 import com.scottlogic.deg.generator.decisiontree.treepartitioning.TreePartitioner;
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
+import com.scottlogic.deg.generator.generation.combinationstrategies.MinimalCombinationStrategy;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
+import com.scottlogic.deg.generator.walker.ShardableDecisionTreeWalker;
+import com.scottlogic.deg.generator.walker.SkippingDecisionTreeWalker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 
@@ -65,7 +78,11 @@ public class DecisionTreeDataGeneratorTests {
             monitor,
             combinationStrategy,
             upfrontTreePruner,
-            maxRows
+            new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0)),
+            Shard.ALL_ROWS,
+            maxRows,
+            0,
+            false
         );
     }
 
@@ -116,4 +133,177 @@ public class DecisionTreeDataGeneratorTests {
             assertNotEquals(0, actual.count());
         }
     }
+
+    @Nested
+    public class parallelPartitionWalking {
+        private final Field fieldA = new Field("A");
+        private final Field fieldB = new Field("B");
+        private DecisionTree partitionA;
+        private DecisionTree partitionB;
+        private Profile profile;
+
+        @BeforeEach
+        public void setup() {
+            DecisionTree tree = Mockito.mock(DecisionTree.class);
+            partitionA = Mockito.mock(DecisionTree.class);
+            partitionB = Mockito.mock(DecisionTree.class);
+            profile = Mockito.mock(Profile.class);
+
+            Mockito.when(tree.getRootNode()).thenReturn(Mockito.mock(ConstraintNode.class));
+            Mockito.when(factory.analyse(profile)).thenReturn(tree);
+            Mockito.when(upfrontTreePruner.runUpfrontPrune(eq(tree), any())).thenReturn(tree);
+            Mockito.when(treePartitioner.splitTreeIntoPartitions(any()))
+                .thenAnswer(invocation -> Stream.of(partitionA, partitionB));
+            Mockito.when(optimiser.optimiseTree(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
+        }
+
+        @Test
+        public void generateData_withRandomValuesPerPartition_producesSameRowsInParallelAsInSeries() {
+            List<GeneratedObject> inSeries = generateRandomRows(false);
+            List<GeneratedObject> inParallel = generateRandomRows(true);
+
+            assertEquals(10, inParallel.size());
+            assertEquals(inSeries, inParallel);
+        }
+
+        @Test
+        public void generateData_whenWalkingAPartitionFails_rethrowsTheFailure() {
+            DecisionTreeWalker failingWalker = tree -> {
+                throw new IllegalStateException("walk failed");
+            };
+
+            DecisionTreeDataGenerator parallelGenerator = createGenerator(
+                failingWalker,
+                new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0)),
+                true);
+
+            assertThrows(
+                IllegalStateException.class,
+                () -> parallelGenerator.generateData(profile).collect(Collectors.toList()));
+        }
+
+        private List<GeneratedObject> generateRandomRows(boolean inParallel) {
+            ThreadBoundRandomNumberGenerator randomNumberGenerator =
+                new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(1234));
+            DecisionTreeWalker randomWalker = tree -> Stream.generate(() -> new DataBagBuilder()
+                .set(tree == partitionA ? fieldA : fieldB, randomNumberGenerator.nextInt(1000))
+                .build());
+
+            try (Stream<GeneratedObject> rows =
+                     createGenerator(randomWalker, randomNumberGenerator, inParallel).generateData(profile)) {
+                return rows.collect(Collectors.toList());
+            }
+        }
+
+        private DecisionTreeDataGenerator createGenerator(
+            DecisionTreeWalker walker,
+            ThreadBoundRandomNumberGenerator randomNumberGenerator,
+            boolean inParallel) {
+            return new DecisionTreeDataGenerator(
+                factory,
+                walker,
+                treePartitioner,
+                optimiser,
+                monitor,
+                new MinimalCombinationStrategy(),
+                upfrontTreePruner,
+                randomNumberGenerator,
+                Shard.ALL_ROWS,
+                10,
+                0,
+                inParallel);
+        }
+    }
+
+    @Nested
+    public class sharding {
+        private final Field field = new Field("A");
+        private DecisionTree partition;
+        private Profile profile;
+
+        @BeforeEach
+        public void setup() {
+            DecisionTree tree = Mockito.mock(DecisionTree.class);
+            partition = Mockito.mock(DecisionTree.class);
+            profile = Mockito.mock(Profile.class);
+
+            Mockito.when(tree.getRootNode()).thenReturn(Mockito.mock(ConstraintNode.class));
+            Mockito.when(factory.analyse(profile)).thenReturn(tree);
+            Mockito.when(upfrontTreePruner.runUpfrontPrune(eq(tree), any())).thenReturn(tree);
+            Mockito.when(treePartitioner.splitTreeIntoPartitions(any()))
+                .thenAnswer(invocation -> Stream.of(partition));
+            Mockito.when(optimiser.optimiseTree(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
+        }
+
+        @Test
+        public void generateData_forEachShard_producesEveryNthRowOfAllTheRows() {
+            DecisionTreeWalker walker = tree -> IntStream.range(0, 20).mapToObj(this::row);
+            List<GeneratedObject> allRows = generate(walker, Shard.ALL_ROWS);
+
+            assertEquals(Arrays.asList(allRows.get(0), allRows.get(3), allRows.get(6), allRows.get(9)),
+                generate(walker, new Shard(1, 3)));
+            assertEquals(Arrays.asList(allRows.get(1), allRows.get(4), allRows.get(7)),
+                generate(walker, new Shard(2, 3)));
+            assertEquals(Arrays.asList(allRows.get(2), allRows.get(5), allRows.get(8)),
+                generate(walker, new Shard(3, 3)));
+        }
+
+        @Test
+        public void generateData_withShardableWalker_walksOnlyTheRowsOfTheShard() {
+            Shard shard = new Shard(2, 3);
+            ShardableDecisionTreeWalker walker = Mockito.mock(ShardableDecisionTreeWalker.class);
+            Mockito.when(walker.walk(partition, shard, 0)).thenReturn(IntStream.range(0, 20).mapToObj(this::row));
+
+            List<GeneratedObject> rows = generate(walker, shard);
+
+            assertEquals(IntStream.range(0, 3).mapToObj(this::row).collect(Collectors.toList()), rows);
+            Mockito.verify(walker, Mockito.never()).walk(partition);
+        }
+
+        private DataBag row(int value) {
+            return new DataBagBuilder().set(field, value).build();
+        }
+
+        @Test
+        public void generateData_withRowsToSkip_producesTheRowsAfterThose() {
+            DecisionTreeWalker walker = tree -> IntStream.range(0, 20).mapToObj(this::row);
+            List<GeneratedObject> allRows = generate(walker, Shard.ALL_ROWS);
+
+            assertEquals(allRows.subList(4, 10), generate(walker, Shard.ALL_ROWS, 4));
+            assertEquals(Arrays.asList(allRows.get(5), allRows.get(8)), generate(walker, new Shard(3, 3), 4));
+        }
+
+        @Test
+        public void generateData_withSkippingWalkerAndOnePartition_startsTheWalkAfterTheRowsToSkip() {
+            SkippingDecisionTreeWalker walker = Mockito.mock(SkippingDecisionTreeWalker.class);
+            Mockito.when(walker.walk(partition, 4)).thenAnswer(invocation -> IntStream.range(4, 20).mapToObj(this::row));
+
+            assertEquals(IntStream.range(4, 10).mapToObj(this::row).collect(Collectors.toList()),
+                generate(walker, Shard.ALL_ROWS, 4));
+            assertEquals(Arrays.asList(row(5), row(8)), generate(walker, new Shard(3, 3), 4));
+            Mockito.verify(walker, Mockito.never()).walk(partition);
+        }
+
+        private List<GeneratedObject> generate(DecisionTreeWalker walker, Shard shard) {
+            return generate(walker, shard, 0);
+        }
+
+        private List<GeneratedObject> generate(DecisionTreeWalker walker, Shard shard, long rowsToSkip) {
+            DecisionTreeDataGenerator shardingGenerator = new DecisionTreeDataGenerator(
+                factory,
+                walker,
+                treePartitioner,
+                optimiser,
+                monitor,
+                new MinimalCombinationStrategy(),
+                upfrontTreePruner,
+                new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0)),
+                shard,
+                10,
+                rowsToSkip,
+                false);
+
+            return shardingGenerator.generateData(profile).collect(Collectors.toList());
+        }
+    }
 }
@@ -20,7 +20,8 @@ import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.generation.databags.DataBagValue;
 import com.scottlogic.deg.generator.restrictions.*;
-import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
@@ -43,7 +44,7 @@ class FieldSpecValueGeneratorTests {
         FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
             INTERESTING,
             new StandardFieldValueSourceEvaluator(),
-            new JavaUtilRandomNumberGenerator());
+            new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0)));
 
         final Set<DataBagValue> result = fieldSpecFulfiller.generate(fieldSpec).collect(Collectors.toSet());
 
@@ -71,7 +72,7 @@ class FieldSpecValueGeneratorTests {
         FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
             INTERESTING,
             new StandardFieldValueSourceEvaluator(),
-            new JavaUtilRandomNumberGenerator());
+            new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0)));
 
         final Set<DataBagValue> result =
             fieldSpecFulfiller.generate(fieldSpec).collect(Collectors.toSet());
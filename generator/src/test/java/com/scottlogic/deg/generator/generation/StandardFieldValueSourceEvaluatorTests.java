@@ -21,7 +21,11 @@ import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.CannedValuesFieldValueSource;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
+import com.scottlogic.deg.generator.generation.fieldvaluesources.IntegerFieldValueSource;
+import com.scottlogic.deg.generator.generation.fieldvaluesources.RealNumberFieldValueSource;
+import com.scottlogic.deg.generator.generation.string.RegexStringGenerator;
 import com.scottlogic.deg.generator.restrictions.*;
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
@@ -350,6 +354,92 @@ public class StandardFieldValueSourceEvaluatorTests {
         Assert.assertEquals(expectedValues, valuesFromResult);
     }
 
+    @Test
+    void getFieldValueSources_fieldSpecContainsWholeNumberRestrictionsWithinLongRange_usesIntegerSource() {
+        FieldSpec fieldSpec = FieldSpec.Empty.withNumericRestrictions(
+            new NumericRestrictions(0) {{
+                min = new NumericLimit<>(new BigDecimal(0), true);
+                max = new NumericLimit<>(new BigDecimal(1_000_000), true);
+            }}
+        ).withTypeRestrictions(
+            new DataTypeRestrictions(
+                Collections.singletonList(IsOfTypeConstraint.Types.NUMERIC)
+            )
+        ).withNotNull();
+        StandardFieldValueSourceEvaluator evaluator = new StandardFieldValueSourceEvaluator();
+
+        final List<FieldValueSource> result = evaluator.getFieldValueSources(fieldSpec);
+
+        Assert.assertEquals(1, result.size());
+        Assert.assertTrue(result.get(0) instanceof IntegerFieldValueSource);
+    }
+
+    @Test
+    void getFieldValueSources_fieldSpecContainsWholeNumberRestrictionsWithoutUpperLimit_usesRealNumberSource() {
+        FieldSpec fieldSpec = FieldSpec.Empty.withNumericRestrictions(
+            new NumericRestrictions(0) {{
+                min = new NumericLimit<>(new BigDecimal(0), true);
+            }}
+        ).withTypeRestrictions(
+            new DataTypeRestrictions(
+                Collections.singletonList(IsOfTypeConstraint.Types.NUMERIC)
+            )
+        ).withNotNull();
+        StandardFieldValueSourceEvaluator evaluator = new StandardFieldValueSourceEvaluator();
+
+        final List<FieldValueSource> result = evaluator.getFieldValueSources(fieldSpec);
+
+        Assert.assertEquals(1, result.size());
+        Assert.assertTrue(result.get(0) instanceof RealNumberFieldValueSource);
+    }
+
+    @Test
+    public void getFieldValueSources_withUniformRegexSampling_drawsRandomStringsUniformly() {
+        FieldSpec fieldSpec = FieldSpec.Empty
+            .withStringRestrictions(matchesRegex("a|[b-z]{3}", false))
+            .withTypeRestrictions(new DataTypeRestrictions(Collections.singletonList(IsOfTypeConstraint.Types.STRING)))
+            .withNotNull();
+
+        long walkedShortMatches = countRandomValuesEqualTo("a", new StandardFieldValueSourceEvaluator(false), fieldSpec);
+        long uniformShortMatches = countRandomValuesEqualTo("a", new StandardFieldValueSourceEvaluator(true), fieldSpec);
+
+        Assert.assertTrue(walkedShortMatches > 20);
+        Assert.assertTrue(uniformShortMatches < 5);
+    }
+
+    @Test
+    public void getFieldValueSources_calledTwiceForBlacklistedStrings_reusesCachedIntersection() {
+        FieldSpec fieldSpec = FieldSpec.Empty
+            .withStringRestrictions(matchesRegex("[a-c]{2}", false))
+            .withBlacklistRestrictions(new BlacklistRestrictions(new HashSet<>(Arrays.asList("ab", "ba"))))
+            .withTypeRestrictions(new DataTypeRestrictions(Collections.singletonList(IsOfTypeConstraint.Types.STRING)))
+            .withNotNull();
+        StandardFieldValueSourceEvaluator evaluator = new StandardFieldValueSourceEvaluator();
+        evaluator.getFieldValueSources(fieldSpec);
+        long hitsBefore = RegexStringGenerator.getOperationAutomatonCache().getHits();
+        long missesBefore = RegexStringGenerator.getOperationAutomatonCache().getMisses();
+
+        FieldValueSource source = evaluator.getFieldValueSources(fieldSpec).get(0);
+
+        Assert.assertEquals(hitsBefore + 2, RegexStringGenerator.getOperationAutomatonCache().getHits());
+        Assert.assertEquals(missesBefore, RegexStringGenerator.getOperationAutomatonCache().getMisses());
+        Assert.assertEquals(7, source.getValueCount());
+    }
+
+    private static long countRandomValuesEqualTo(Object value, StandardFieldValueSourceEvaluator evaluator, FieldSpec fieldSpec) {
+        Iterator<Object> values = evaluator.getFieldValueSources(fieldSpec).get(0)
+            .generateRandomValues(new JavaUtilRandomNumberGenerator(0))
+            .iterator();
+
+        long count = 0;
+        for (int i = 0; i < 200; i++) {
+            if (value.equals(values.next())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void AssertLastSourceIsNullOnlySource(List<FieldValueSource> sources) {
         int lastSourceIndex = sources.size() - 1;
         Assert.assertTrue(sources.get(lastSourceIndex) instanceof CannedValuesFieldValueSource);
@@ -22,6 +22,7 @@ import com.scottlogic.deg.generator.generation.databags.DataBag;
 import org.hamcrest.collection.IsArrayContainingInAnyOrder;
 import org.junit.Assert;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 class CombinationStrategyTester {
@@ -50,6 +51,11 @@ class CombinationStrategyTester {
         Assert.assertFalse(results.iterator().hasNext());
     }
 
+    static Stream<DataBag> sequence(String fieldName, int length) {
+        return IntStream.range(0, length)
+            .mapToObj(value -> new DataBagBuilder().set(new Field(fieldName), value).build());
+    }
+
     static DataBag bag(String... fieldNames) {
         DataBagBuilder builder = new DataBagBuilder();
 
@@ -16,12 +16,26 @@
 
 package com.scottlogic.deg.generator.generation.combinationstrategies;
 
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.generator.builders.DataBagBuilder;
+import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.generation.databags.DataBagValue;
+import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategyTester.bag;
+import static com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategyTester.sequence;
+import static org.hamcrest.Matchers.equalTo;
 
 class ExhaustiveCombinationStrategyTests {
     private CombinationStrategyTester tester;
@@ -91,4 +105,86 @@ class ExhaustiveCombinationStrategyTests {
 
         tester.expectEmpty();
     }
+
+    @Test
+    void permute_fromEachIndex_producesTheCombinationsFromThatIndex() {
+        ExhaustiveCombinationStrategy strategy = new ExhaustiveCombinationStrategy();
+        List<DataBag> allCombinations = strategy.permute(sequences()).collect(Collectors.toList());
+
+        for (int fromIndex = 0; fromIndex <= allCombinations.size() + 1; fromIndex++) {
+            Assert.assertThat(
+                strategy.permute(sequences(), fromIndex).collect(Collectors.toList()),
+                equalTo(allCombinations.subList(Math.min(fromIndex, allCombinations.size()), allCombinations.size())));
+        }
+    }
+
+    private static Stream<Stream<DataBag>> sequences() {
+        return Stream.of(sequence("A", 2), sequence("B", 3), sequence("C", 2));
+    }
+
+    @Test
+    void permute_withSequencesLargerThanMemoryAllows_producesTheSameCombinations() {
+        List<DataBag> allCombinations = new ExhaustiveCombinationStrategy()
+            .permute(sequences())
+            .collect(Collectors.toList());
+
+        Assert.assertThat(
+            new ExhaustiveCombinationStrategy(1).permute(sequences()).collect(Collectors.toList()),
+            equalTo(allCombinations));
+        Assert.assertThat(
+            new ExhaustiveCombinationStrategy(1).permute(sequences(), 5).collect(Collectors.toList()),
+            equalTo(allCombinations.subList(5, allCombinations.size())));
+    }
+
+    @Test
+    void permute_withInfiniteFirstSequence_producesCombinationsWithoutReadingAllOfIt() {
+        Stream<DataBag> infiniteSequence = Stream.iterate(0, value -> value + 1)
+            .map(value -> new DataBagBuilder().set(new Field("A"), value).build());
+
+        List<DataBag> combinations = new ExhaustiveCombinationStrategy()
+            .permute(Stream.of(infiniteSequence, sequence("B", 2)))
+            .limit(3)
+            .collect(Collectors.toList());
+
+        Assert.assertThat(
+            combinations.get(2),
+            equalTo(new DataBagBuilder().set(new Field("A"), 1).set(new Field("B"), 0).build()));
+    }
+
+    @Test
+    void permute_firstCombination_readsOneItemOfEachSequence() {
+        AtomicInteger[] itemsPulled = { new AtomicInteger(), new AtomicInteger(), new AtomicInteger() };
+        Stream<Stream<DataBag>> sequences = Stream.of(
+            sequence("A", 1000).peek(bag -> itemsPulled[0].incrementAndGet()),
+            sequence("B", 1000).peek(bag -> itemsPulled[1].incrementAndGet()),
+            sequence("C", 1000).peek(bag -> itemsPulled[2].incrementAndGet()));
+
+        new ExhaustiveCombinationStrategy(1).permute(sequences).iterator().next();
+
+        Assert.assertThat(
+            Arrays.stream(itemsPulled).map(AtomicInteger::get).collect(Collectors.toList()),
+            equalTo(Arrays.asList(1, 1, 1)));
+    }
+
+    @Test
+    void permute_withEmptyLaterSequence_producesNoCombinations() {
+        Stream<DataBag> infiniteSequence = Stream.iterate(0, value -> value + 1)
+            .map(value -> new DataBagBuilder().set(new Field("A"), value).build());
+
+        Assert.assertThat(
+            new ExhaustiveCombinationStrategy().permute(Stream.of(infiniteSequence, Stream.empty())).count(),
+            equalTo(0L));
+    }
+
+    @Test
+    void permute_withSpilledBagsOfTheSameProfile_producesTheSameCombinations() {
+        ProfileFields fields = new ProfileFields(Arrays.asList(new Field("A"), new Field("B"), new Field("C")));
+        Supplier<Stream<Stream<DataBag>>> sequences = () -> fields.stream()
+            .map(field -> IntStream.range(0, 3)
+                .mapToObj(value -> DataBag.of(fields, field, new DataBagValue(value, value == 1 ? "%03d" : null))));
+
+        Assert.assertThat(
+            new ExhaustiveCombinationStrategy(1).permute(sequences.get()).collect(Collectors.toList()),
+            equalTo(new ExhaustiveCombinationStrategy().permute(sequences.get()).collect(Collectors.toList())));
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.combinationstrategies;
+
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.generator.generation.databags.DataBag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategyTester.bag;
+import static com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategyTester.sequence;
+
+class NWiseCombinationStrategyTests {
+    @Test
+    void shouldCoverEveryPairInFewerCombinationsThanExhaustive() {
+        List<DataBag> results = permute(2, 3, 3, 3, 3);
+
+        assertEveryCombinationCovered(results, 2, 3, 3, 3, 3);
+        Assertions.assertTrue(results.size() <= 10, "expected at most 10 combinations but got " + results.size());
+    }
+
+    @Test
+    void shouldCoverEveryPairOfSequencesOfDifferentLengths() {
+        List<DataBag> results = permute(2, 2, 5, 1, 4, 3, 2);
+
+        assertEveryCombinationCovered(results, 2, 2, 5, 1, 4, 3, 2);
+        Assertions.assertTrue(results.size() < 2 * 5 * 4 * 3 * 2);
+    }
+
+    @Test
+    void shouldCoverEveryTriple() {
+        List<DataBag> results = permute(3, 2, 3, 2, 3, 2, 2);
+
+        assertEveryCombinationCovered(results, 3, 2, 3, 2, 3, 2, 2);
+        Assertions.assertTrue(results.size() < 2 * 3 * 2 * 3 * 2 * 2);
+    }
+
+    @Test
+    void shouldCoverEveryPairOfFourBinarySequencesInFourCombinations() {
+        List<DataBag> results = permute(2, 2, 2, 2);
+
+        assertEveryCombinationCovered(results, 2, 2, 2, 2);
+        Assertions.assertEquals(4, results.size());
+    }
+
+    @Test
+    void shouldCombineExhaustivelyWhenThereAreNoMoreSequencesThanTheStrength() {
+        CombinationStrategyTester tester = new CombinationStrategyTester(new NWiseCombinationStrategy(2));
+        tester.given(
+            Stream.of(bag("A"), bag("B")),
+            Stream.of(bag("1"), bag("2")));
+
+        tester.expect(
+            Stream.of(bag("A", "1"), bag("A", "2"), bag("B", "1"), bag("B", "2")));
+    }
+
+    @Test
+    void shouldGiveNoResultsForSingleEmptySequence() {
+        CombinationStrategyTester tester = new CombinationStrategyTester(new NWiseCombinationStrategy(2));
+        tester.given(
+            Stream.of(bag("A"), bag("B")),
+            Stream.of(bag("1"), bag("2")),
+            Stream.of());
+
+        tester.expectEmpty();
+    }
+
+    @Test
+    void shouldRejectStrengthBelowOne() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NWiseCombinationStrategy(0));
+    }
+
+    private static List<DataBag> permute(int strength, int... lengths) {
+        return new NWiseCombinationStrategy(strength)
+            .permute(IntStream.range(0, lengths.length).mapToObj(index -> sequence(fieldName(index), lengths[index])))
+            .collect(Collectors.toList());
+    }
+
+    private static void assertEveryCombinationCovered(List<DataBag> results, int strength, int... lengths) {
+        for (List<Integer> sequences : subsets(lengths.length, strength)) {
+            Set<List<Object>> covered = results.stream()
+                .map(bag -> sequences.stream()
+                    .map(index -> bag.getFormattedValue(new Field(fieldName(index))))
+                    .collect(Collectors.toList()))
+                .collect(Collectors.toSet());
+
+            long expected = sequences.stream().mapToLong(index -> lengths[index]).reduce(1, (a, b) -> a * b);
+            Assertions.assertEquals(expected, covered.size(), "combinations covered of sequences " + sequences);
+        }
+    }
+
+    private static List<List<Integer>> subsets(int size, int subsetSize) {
+        if (subsetSize == 0) {
+            return Collections.singletonList(Collections.emptyList());
+        }
+
+        List<List<Integer>> subsets = new ArrayList<>();
+        for (int last = subsetSize - 1; last < size; last++) {
+            for (List<Integer> smallerSubset : subsets(last, subsetSize - 1)) {
+                List<Integer> subset = new ArrayList<>(smallerSubset);
+                subset.add(last);
+                subsets.add(subset);
+            }
+        }
+        return subsets;
+    }
+
+    private static String fieldName(int index) {
+        return "field" + index;
+    }
+}
@@ -27,6 +27,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategyTester.sequence;
+import static org.hamcrest.Matchers.equalTo;
 
 class ReductiveCombinationStrategyTests {
     @Test
@@ -108,4 +112,35 @@ class ReductiveCombinationStrategyTests {
         }};
         Assert.assertEquals(expectedDataBags, result);
     }
+
+    @Test
+    void permute_fromEachIndex_producesTheCombinationsFromThatIndex() {
+        ReductiveCombinationStrategy strategy = new ReductiveCombinationStrategy();
+        List<DataBag> allCombinations = strategy.permute(sequences()).collect(Collectors.toList());
+
+        for (int fromIndex = 0; fromIndex <= allCombinations.size() + 1; fromIndex++) {
+            Assert.assertThat(
+                strategy.permute(sequences(), fromIndex).collect(Collectors.toList()),
+                equalTo(allCombinations.subList(Math.min(fromIndex, allCombinations.size()), allCombinations.size())));
+        }
+    }
+
+    @Test
+    void permute_fromIndexWithInfiniteLastSequence_producesTheCombinationAtThatIndex() {
+        ReductiveCombinationStrategy strategy = new ReductiveCombinationStrategy();
+        Stream<DataBag> infiniteSequence = Stream.iterate(0, value -> value + 1)
+            .map(value -> new DataBagBuilder().set(new Field("B"), value).build());
+
+        DataBag combination = strategy.permute(Stream.of(sequence("A", 2), infiniteSequence), 5)
+            .findFirst()
+            .get();
+
+        Assert.assertThat(
+            combination,
+            equalTo(new DataBagBuilder().set(new Field("A"), 0).set(new Field("B"), 5).build()));
+    }
+
+    private static Stream<Stream<DataBag>> sequences() {
+        return Stream.of(sequence("A", 2), sequence("B", 3), sequence("C", 2));
+    }
 }
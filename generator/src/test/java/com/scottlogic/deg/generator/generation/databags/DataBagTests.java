@@ -17,11 +17,15 @@
 package com.scottlogic.deg.generator.generation.databags;
 
 import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.generator.builders.DataBagBuilder;
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.hamcrest.Matchers.equalTo;
 
 class DataBagTests {
@@ -108,4 +112,47 @@ class DataBagTests {
             IllegalArgumentException.class,
             () -> DataBag.merge(dataBag1, dataBag2));
     }
+
+    @Test
+    void mergedDataBagsOfTheSameProfileShouldEqualTheBagOfAllTheirValues() {
+        // ARRANGE
+        Field idField = new Field("id");
+        Field nameField = new Field("name");
+        Field priceField = new Field("price");
+        ProfileFields profileFields = new ProfileFields(Arrays.asList(idField, nameField, priceField));
+
+        DataBag idAndPrice = DataBag.merge(
+            DataBag.of(profileFields.subset(Collections.singletonList(priceField)), priceField, new DataBagValue(4)),
+            DataBag.of(profileFields, idField, new DataBagValue(3)));
+        DataBag name = DataBag.of(profileFields.subset(Collections.singletonList(nameField)), nameField, new DataBagValue("foo"));
+
+        // ACT
+        DataBag mergedDataBag = DataBag.merge(name, idAndPrice);
+
+        // ASSERT
+        Assert.assertThat(
+            mergedDataBag,
+            equalTo(new DataBagBuilder().set(idField, 3).set(nameField, "foo").set(priceField, 4).build()));
+        Assert.assertThat(
+            mergedDataBag.getFormattedValue(nameField),
+            equalTo("foo"));
+    }
+
+    @Test
+    void mergeShouldThrowIfDataBagsOfTheSameProfileOverlap() {
+        // ARRANGE
+        Field idField = new Field("id");
+        Field priceField = new Field("price");
+        ProfileFields profileFields = new ProfileFields(Arrays.asList(idField, priceField));
+
+        DataBag dataBag1 = DataBag.of(profileFields, idField, new DataBagValue("foo"));
+        DataBag dataBag2 = DataBag.merge(
+            DataBag.of(profileFields, idField, new DataBagValue("bar")),
+            DataBag.of(profileFields, priceField, new DataBagValue(4)));
+
+        // ACT / ASSERT
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> DataBag.merge(dataBag1, dataBag2));
+    }
 }
@@ -19,6 +19,8 @@ package com.scottlogic.deg.generator.generation.fieldvaluesources;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNot.not;
 
@@ -48,6 +50,16 @@ class CannedValuesFieldValueSourceEqualityTests {
         Assert.assertThat(a, not(equalTo(b)));
     }
 
+    @Test
+    public void shouldBeUnequalIfWeightsDiffer(){
+        FieldValueSource a = new CannedValuesFieldValueSource(Arrays.asList("a", "b"), new double[] { 1, 2 });
+        FieldValueSource b = new CannedValuesFieldValueSource(Arrays.asList("a", "b"), new double[] { 2, 1 });
+        FieldValueSource c = CannedValuesFieldValueSource.of("a", "b");
+
+        Assert.assertThat(a, not(equalTo(b)));
+        Assert.assertThat(a, not(equalTo(c)));
+    }
+
     @Test
     public void emptyCollectionsShouldBeEqual(){
         FieldValueSource a = CannedValuesFieldValueSource.of();
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.generator.restrictions.NumericLimit;
+import com.scottlogic.deg.generator.restrictions.NumericRestrictions;
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.Matchers.*;
+
+class IntegerFieldValueSourceTests {
+    @ParameterizedTest
+    @CsvSource({
+        "-4,    true,  5,    true,  ''",
+        "-4,    false, 5,    false, ''",
+        "0.9,   true,  2.1,  true,  ''",
+        "0.1,   false, 5.9,  false, 3",
+        "1,     true,  3,    true,  1;2;3",
+        "1,     true,  10,   true,  1;2.4;2.6;10;11",
+        "0,     false, 1,    false, ''",
+        "10,    true,  20,   true,  ''",
+        "-20,   true,  -10,  false, -11"
+    })
+    void shouldProduceTheSameValuesAsRealNumberSource(
+        BigDecimal lower,
+        boolean lowerInclusive,
+        BigDecimal upper,
+        boolean upperInclusive,
+        String blacklist) {
+        NumericRestrictions restrictions = restrictions(lower, lowerInclusive, upper, upperInclusive);
+        Set<Object> blacklistValues = blacklist.isEmpty()
+            ? Collections.emptySet()
+            : Arrays.stream(blacklist.split(";")).map(BigDecimal::new).collect(Collectors.toSet());
+
+        FieldValueSource integerSource = new IntegerFieldValueSource(restrictions, blacklistValues);
+        FieldValueSource realNumberSource = new RealNumberFieldValueSource(restrictions, blacklistValues);
+
+        Assert.assertThat(integerSource.getValueCount(), equalTo(realNumberSource.getValueCount()));
+        Assert.assertThat(values(integerSource.generateAllValues()), equalTo(values(realNumberSource.generateAllValues())));
+        Assert.assertThat(
+            values(integerSource.generateInterestingValues()),
+            equalTo(values(realNumberSource.generateInterestingValues())));
+    }
+
+    @Test
+    void shouldGenerateRandomValuesWithinLimitsAndNotInBlacklist() {
+        NumericRestrictions restrictions = restrictions(
+            new BigDecimal(-5), true, new BigDecimal(5), false);
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions,
+            new HashSet<>(Arrays.asList(0, 3)));
+
+        List<Object> values = StreamSupport
+            .stream(source.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).spliterator(), false)
+            .limit(1000)
+            .collect(Collectors.toList());
+
+        Assert.assertThat(
+            new HashSet<>(values),
+            equalTo(bigDecimals(-5, -4, -3, -2, -1, 1, 2, 4)));
+    }
+
+    @Test
+    void shouldGenerateOnlyRandomValueNotBlacklistedWhenNearlyEveryValueIsBlacklisted() {
+        Set<Object> blacklist = new HashSet<>();
+        for (int value = 0; value <= 1000; value++) {
+            if (value != 123) {
+                blacklist.add(value);
+            }
+        }
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(0), true, new BigDecimal(1000), true),
+            blacklist);
+
+        List<Object> values = StreamSupport
+            .stream(source.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).spliterator(), false)
+            .limit(100)
+            .collect(Collectors.toList());
+
+        Assert.assertThat(new HashSet<>(values), equalTo(bigDecimals(123)));
+    }
+
+    @Test
+    void shouldGenerateNoRandomValuesWhenEveryValueIsBlacklisted() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(1), true, new BigDecimal(2), true),
+            new HashSet<>(Arrays.asList(1, 2)));
+
+        Assert.assertFalse(source.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).iterator().hasNext());
+    }
+
+    @Test
+    void shouldGenerateValuesAtTheLimitsOfLong() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(
+                BigDecimal.valueOf(Long.MIN_VALUE), true,
+                BigDecimal.valueOf(Long.MIN_VALUE + 2), true),
+            Collections.emptySet());
+
+        Assert.assertThat(
+            values(source.generateAllValues()),
+            equalTo(Arrays.asList(
+                BigDecimal.valueOf(Long.MIN_VALUE),
+                BigDecimal.valueOf(Long.MIN_VALUE + 1),
+                BigDecimal.valueOf(Long.MIN_VALUE + 2))));
+    }
+
+    @Test
+    void getValueCount_withRangeWiderThanLongCanCount_isLongMaxValue() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(
+                BigDecimal.valueOf(Long.MIN_VALUE), true,
+                BigDecimal.valueOf(Long.MAX_VALUE - 1), true),
+            bigDecimals(0, 1));
+
+        Assert.assertThat(source.getValueCount(), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    void getValueCount_withRangeJustWithinLong_subtractsBlacklist() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(
+                BigDecimal.ZERO, true,
+                BigDecimal.valueOf(Long.MAX_VALUE - 1), true),
+            bigDecimals(0, 1));
+
+        Assert.assertThat(source.getValueCount(), equalTo(Long.MAX_VALUE - 2));
+    }
+
+    @Test
+    void getValueCount_withNoWholeNumbersBetweenExclusiveLimits_isZero() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(new BigDecimal("5.5"), false, new BigDecimal(6), false),
+            Collections.emptySet());
+
+        Assert.assertThat(source.getValueCount(), equalTo(0L));
+        Assert.assertThat(values(source.generateAllValues()), empty());
+    }
+
+    @Test
+    void generateAllValues_fromEachIndex_producesTheValuesFromThatIndex() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(-5), true, new BigDecimal(5), false),
+            bigDecimals(-5, 0, 1, 3));
+        List<Object> allValues = values(source.generateAllValues());
+
+        for (int fromIndex = 0; fromIndex <= allValues.size() + 1; fromIndex++) {
+            Assert.assertThat(
+                values(source.generateAllValues(fromIndex)),
+                equalTo(allValues.subList(Math.min(fromIndex, allValues.size()), allValues.size())));
+        }
+    }
+
+    @Test
+    void generateAllValues_fromIndexInRangeJustWithinLong_startsAtThatValue() {
+        FieldValueSource source = new IntegerFieldValueSource(
+            restrictions(
+                BigDecimal.ZERO, true,
+                BigDecimal.valueOf(Long.MAX_VALUE - 1), true),
+            bigDecimals(0, 1));
+
+        Assert.assertThat(
+            source.generateAllValues(Long.MAX_VALUE - 3).iterator().next(),
+            equalTo(BigDecimal.valueOf(Long.MAX_VALUE - 1)));
+    }
+
+    @Test
+    void canGenerate_withWholeNumbersWithinLongRange_isTrue() {
+        Assert.assertTrue(IntegerFieldValueSource.canGenerate(
+            restrictions(new BigDecimal(0), true, new BigDecimal(1_000_000), true)));
+    }
+
+    @Test
+    void canGenerate_withNonZeroScale_isFalse() {
+        NumericRestrictions restrictions = new NumericRestrictions(1);
+        restrictions.min = new NumericLimit<>(new BigDecimal(0), true);
+        restrictions.max = new NumericLimit<>(new BigDecimal(10), true);
+
+        Assert.assertFalse(IntegerFieldValueSource.canGenerate(restrictions));
+    }
+
+    @Test
+    void canGenerate_withDefaultLimits_isFalse() {
+        Assert.assertFalse(IntegerFieldValueSource.canGenerate(new NumericRestrictions(0)));
+    }
+
+    @Test
+    void canGenerate_withUpperLimitOfLongMaxValue_isFalse() {
+        Assert.assertFalse(IntegerFieldValueSource.canGenerate(
+            restrictions(new BigDecimal(0), true, BigDecimal.valueOf(Long.MAX_VALUE), true)));
+    }
+
+    @Test
+    void shouldBeEqualWhenAllPropertiesMatchBlacklistInDifferentOrder() {
+        IntegerFieldValueSource a = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(1), true, new BigDecimal(10), true),
+            new LinkedHashSet<>(Arrays.asList(1, 2)));
+        IntegerFieldValueSource b = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(1), true, new BigDecimal(10), true),
+            new LinkedHashSet<>(Arrays.asList(2, 1)));
+
+        Assert.assertThat(a, equalTo(b));
+        Assert.assertThat(a.hashCode(), equalTo(b.hashCode()));
+    }
+
+    @Test
+    void shouldNotBeEqualWhenBlacklistsDiffer() {
+        IntegerFieldValueSource a = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(1), true, new BigDecimal(10), true),
+            new HashSet<>(Arrays.asList(1, 2)));
+        IntegerFieldValueSource b = new IntegerFieldValueSource(
+            restrictions(new BigDecimal(1), true, new BigDecimal(10), true),
+            new HashSet<>(Arrays.asList(3, 4)));
+
+        Assert.assertThat(a, not(equalTo(b)));
+    }
+
+    private static NumericRestrictions restrictions(
+        BigDecimal lower,
+        boolean lowerInclusive,
+        BigDecimal upper,
+        boolean upperInclusive) {
+        NumericRestrictions restrictions = new NumericRestrictions(0);
+        restrictions.min = new NumericLimit<>(lower, lowerInclusive);
+        restrictions.max = new NumericLimit<>(upper, upperInclusive);
+        return restrictions;
+    }
+
+    private static List<Object> values(Iterable<Object> values) {
+        return StreamSupport.stream(values.spliterator(), false).collect(Collectors.toList());
+    }
+
+    private static Set<Object> bigDecimals(long... values) {
+        return Arrays.stream(values).mapToObj(BigDecimal::valueOf).collect(Collectors.toSet());
+    }
+}
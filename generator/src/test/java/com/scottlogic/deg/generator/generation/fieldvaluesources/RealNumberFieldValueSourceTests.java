@@ -240,6 +240,34 @@ class RealNumberFieldValueSourceTests {
         expectCorrectRandomValues();
     }
 
+    @Test
+    void shouldGenerateOnlyRandomValueNotBlacklistedWhenNearlyEveryValueIsBlacklisted() {
+        givenLowerBound(0, true);
+        givenUpperBound(1, true);
+        givenScale(1);
+
+        givenBlacklist(0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.7, 0.8, 0.9, 1);
+
+        Set<Object> values = StreamSupport
+            .stream(getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0)).spliterator(), false)
+            .limit(100)
+            .collect(Collectors.toSet());
+
+        Assert.assertThat(values, equalTo(Collections.singleton(new BigDecimal("0.6"))));
+    }
+
+    @Test
+    void shouldGenerateNoRandomValuesWhenEveryValueIsBlacklisted() {
+        givenLowerBound(0, true);
+        givenUpperBound(0.2, true);
+        givenScale(1);
+
+        givenBlacklist(0, 0.1, 0.2);
+
+        Assert.assertFalse(
+            getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0)).iterator().hasNext());
+    }
+
     @Test
     void shouldSupplyToUpperBoundary() {
         givenLowerBound(4, true);
@@ -16,10 +16,14 @@
 
 package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
 import com.scottlogic.deg.generator.restrictions.DateTimeRestrictions;
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
 import java.time.*;
@@ -79,6 +83,50 @@ public class DateTimeFieldValueSourceTests {
     }
 
 
+    @Test
+    public void getRandomValues_withNearlyEveryValueBlacklisted_shouldGenerateOnlyValueNotBlacklisted() {
+        LocalDateTime time = LocalDate.of(2018, 1, 10).atTime(LocalTime.of(12, 0, 0));
+        givenLowerBound(OffsetDateTime.of(time, ZoneOffset.UTC), true);
+        givenUpperBound(OffsetDateTime.of(time.plusNanos(3_000_000), ZoneOffset.UTC), true);
+        givenBlacklist(
+            OffsetDateTime.of(time, ZoneOffset.UTC),
+            OffsetDateTime.of(time.plusNanos(1_000_000), ZoneOffset.UTC),
+            OffsetDateTime.of(time.plusNanos(3_000_000), ZoneOffset.UTC));
+
+        DateTimeRestrictions restrictions = new DateTimeRestrictions();
+        restrictions.min = lowerLimit;
+        restrictions.max = upperLimit;
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        Set<Object> values = new HashSet<>();
+        Iterator<Object> iterator = fieldSource.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).iterator();
+        for (int count = 0; count < 100; count++) {
+            values.add(iterator.next());
+        }
+
+        Assert.assertThat(
+            values,
+            equalTo(Collections.singleton(OffsetDateTime.of(time.plusNanos(2_000_000), ZoneOffset.UTC))));
+    }
+
+    @Test
+    public void getRandomValues_withEveryValueBlacklisted_shouldGenerateNoValues() {
+        LocalDateTime time = LocalDate.of(2018, 1, 10).atTime(LocalTime.of(12, 0, 0));
+        givenLowerBound(OffsetDateTime.of(time, ZoneOffset.UTC), true);
+        givenUpperBound(OffsetDateTime.of(time.plusNanos(2_000_000), ZoneOffset.UTC), false);
+        givenBlacklist(
+            OffsetDateTime.of(time, ZoneOffset.UTC),
+            OffsetDateTime.of(time.plusNanos(1_000_000), ZoneOffset.UTC));
+
+        DateTimeRestrictions restrictions = new DateTimeRestrictions();
+        restrictions.min = lowerLimit;
+        restrictions.max = upperLimit;
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        Assert.assertFalse(
+            fieldSource.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).iterator().hasNext());
+    }
+
     @Test
     public void getRandomValues_withExclusiveUpperBound_shouldGenerateCorrectValues() {
         LocalDate date = LocalDate.of(2018, 1, 10);
@@ -340,6 +388,97 @@ public class DateTimeFieldValueSourceTests {
         Assert.assertThat(a, not(equalTo(b)));
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "MILLIS,  2018-01-10T12:00:00Z,      true,  2018-01-10T12:00:01Z, false, 1000",
+        "SECONDS, 2018-01-10T12:00:00Z,      true,  2018-01-10T13:00:00Z, true,  3601",
+        "MINUTES, 2018-01-10T12:00:30Z,      true,  2018-01-10T13:00:00Z, false, 59",
+        "HOURS,   2018-01-10T00:00:00Z,      true,  2018-01-11T00:00:00Z, false, 24",
+        "DAYS,    2016-01-01T00:00:00Z,      true,  2017-01-01T00:00:00Z, false, 366",
+        "MONTHS,  2017-01-15T00:00:00Z,      true,  2019-01-01T00:00:00Z, true,  24",
+        "YEARS,   2000-01-01T00:00:00Z,      false, 2010-01-01T00:00:00Z, true,  10",
+        "DAYS,    2018-01-10T12:00:00+05:00, true,  2018-01-12T00:00:00Z, false, 1"
+    })
+    public void getValueCount_shouldCountEveryWholeUnitWithinLimits(
+        Timescale granularity,
+        String min,
+        boolean minInclusive,
+        String max,
+        boolean maxInclusive,
+        long expectedCount) {
+        DateTimeRestrictions restrictions = new DateTimeRestrictions(granularity);
+        restrictions.min = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse(min), minInclusive);
+        restrictions.max = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse(max), maxInclusive);
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        long valuesGenerated = 0;
+        for (Object ignored : fieldSource.generateAllValues()) {
+            valuesGenerated++;
+        }
+
+        Assert.assertThat(fieldSource.getValueCount(), equalTo(expectedCount));
+        Assert.assertThat(valuesGenerated, equalTo(expectedCount));
+    }
+
+    @Test
+    public void generateAllValues_withMonthGranularity_shouldGenerateFirstOfEachMonth() {
+        DateTimeRestrictions restrictions = new DateTimeRestrictions(Timescale.MONTHS);
+        restrictions.min = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("1969-11-02T00:00:00Z"), true);
+        restrictions.max = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("1970-02-01T00:00:00Z"), true);
+        givenBlacklist(OffsetDateTime.parse("1970-01-01T00:00:00Z"));
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        List<Object> values = new ArrayList<>();
+        fieldSource.generateAllValues().forEach(values::add);
+
+        Assert.assertThat(values, equalTo(Arrays.asList(
+            OffsetDateTime.parse("1969-12-01T00:00:00Z"),
+            OffsetDateTime.parse("1970-02-01T00:00:00Z"))));
+        Assert.assertThat(fieldSource.getValueCount(), equalTo(2L));
+    }
+
+    @Test
+    public void generateAllValues_fromEachIndex_shouldGenerateTheValuesFromThatIndex() {
+        DateTimeRestrictions restrictions = new DateTimeRestrictions(Timescale.DAYS);
+        restrictions.min = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("2018-01-01T00:00:00Z"), true);
+        restrictions.max = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("2018-01-10T00:00:00Z"), false);
+        givenBlacklist(
+            OffsetDateTime.parse("2018-01-01T00:00:00Z"),
+            OffsetDateTime.parse("2018-01-04T00:00:00Z"),
+            OffsetDateTime.parse("2018-01-05T00:00:00Z"));
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        List<Object> allValues = new ArrayList<>();
+        fieldSource.generateAllValues().forEach(allValues::add);
+
+        for (int fromIndex = 0; fromIndex <= allValues.size() + 1; fromIndex++) {
+            List<Object> values = new ArrayList<>();
+            fieldSource.generateAllValues(fromIndex).forEach(values::add);
+
+            Assert.assertThat(
+                values,
+                equalTo(allValues.subList(Math.min(fromIndex, allValues.size()), allValues.size())));
+        }
+    }
+
+    @Test
+    public void getRandomValues_withDayGranularity_shouldGenerateWholeDaysWithinLimits() {
+        DateTimeRestrictions restrictions = new DateTimeRestrictions(Timescale.DAYS);
+        restrictions.min = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("2018-01-10T12:00:00Z"), true);
+        restrictions.max = new DateTimeRestrictions.DateTimeLimit(OffsetDateTime.parse("2018-01-13T00:00:00Z"), false);
+        fieldSource = new DateTimeFieldValueSource(restrictions, blackList);
+
+        Set<Object> values = new HashSet<>();
+        Iterator<Object> iterator = fieldSource.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).iterator();
+        for (int count = 0; count < 100; count++) {
+            values.add(iterator.next());
+        }
+
+        Assert.assertThat(values, equalTo(new HashSet<>(Arrays.asList(
+            OffsetDateTime.parse("2018-01-11T00:00:00Z"),
+            OffsetDateTime.parse("2018-01-12T00:00:00Z")))));
+    }
+
     @Test
     public void datetimeGenerateAllValues_withNoMin_startsAtOffsetDateTimeMin(){
         //Arrange
@@ -462,6 +601,16 @@ public class DateTimeFieldValueSourceTests {
             return 0;
         }
 
+        @Override
+        public long nextLong() {
+            return 0;
+        }
+
+        @Override
+        public long nextLong(long lowerInclusive, long upperExclusive) {
+            return lowerInclusive + (long) (nextDoubleValue * (upperExclusive - 1 - lowerInclusive));
+        }
+
         @Override
         public double nextDouble(double lower, double upper) {
             return nextDoubleValue * (upper - lower) + lower;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+class AutomatonCacheTests {
+    @Test
+    void get_whenKeyIsCached_returnsCachedAutomatonWithoutCreatingAgain() {
+        AutomatonCache cache = new AutomatonCache(10);
+        AtomicInteger created = new AtomicInteger();
+
+        Automaton first = cache.get("a", () -> { created.incrementAndGet(); return Automaton.makeChar('a'); });
+        Automaton second = cache.get("a", () -> { created.incrementAndGet(); return Automaton.makeChar('a'); });
+
+        assertThat(second, sameInstance(first));
+        assertThat(created.get(), equalTo(1));
+        assertThat(cache.getHits(), equalTo(1L));
+        assertThat(cache.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    void get_whenFull_evictsLeastRecentlyUsedEntry() {
+        AutomatonCache cache = new AutomatonCache(2);
+        Automaton a = cache.get("a", () -> Automaton.makeChar('a'));
+        cache.get("b", () -> Automaton.makeChar('b'));
+        cache.get("a", () -> Automaton.makeChar('a'));
+
+        cache.get("c", () -> Automaton.makeChar('c'));
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictions(), equalTo(1L));
+        assertThat(cache.get("a", Automaton::makeEmpty), sameInstance(a));
+        long missesBefore = cache.getMisses();
+        cache.get("b", () -> Automaton.makeChar('b'));
+        assertThat(cache.getMisses(), equalTo(missesBefore + 1));
+    }
+
+    @Test
+    void get_expandsSingletonsBeforeSharingThem() {
+        AutomatonCache cache = new AutomatonCache(10);
+
+        Automaton automaton = cache.get("abc", () -> Automaton.makeString("abc"));
+
+        assertThat(automaton.getSingleton(), nullValue());
+        assertThat(automaton.run("abc"), equalTo(true));
+    }
+
+    @Test
+    void constructor_withNonPositiveSize_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AutomatonCache(0));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+class AutomatonTableTests {
+    @Test
+    void of_withFiniteRegex_measuresShortestAndLongestMatchFromInitialState() {
+        AutomatonTable table = tableFor("ab(c|def)");
+
+        assertThat(table.shortestToAccept[0], equalTo(3));
+        assertThat(table.longestToAccept[0], equalTo(5));
+        assertThat(table.isEmpty(), equalTo(false));
+    }
+
+    @Test
+    void of_withLoop_hasNoLongestMatch() {
+        AutomatonTable table = tableFor("a(bc)*d");
+
+        assertThat(table.shortestToAccept[0], equalTo(2));
+        assertThat(table.longestToAccept[0], equalTo(AutomatonTable.UNBOUNDED));
+    }
+
+    @Test
+    void of_withEmptyLanguage_isEmpty() {
+        AutomatonTable table = AutomatonTable.of(automaton("a{2}").intersection(automaton("a{3}")));
+
+        assertThat(table.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void countMatches_withLargeFiniteLanguage_countsBeyondLong() {
+        AutomatonTable table = tableFor("[a-z]{20}");
+
+        assertThat(table.countMatches(), equalTo(BigInteger.valueOf(26).pow(20)));
+    }
+
+    @Test
+    void countMatches_withSurrogateRange_excludesSurrogates() {
+        AutomatonTable table = tableFor("[\uD7FE-\uE001]|ab?");
+
+        assertThat(table.countMatches(), equalTo(BigInteger.valueOf(6)));
+    }
+
+    private static AutomatonTable tableFor(String regex) {
+        return AutomatonTable.of(automaton(regex));
+    }
+
+    private static Automaton automaton(String regex) {
+        return AutomatonUtils.createAutomaton(regex, true, new AutomatonCache(10));
+    }
+}
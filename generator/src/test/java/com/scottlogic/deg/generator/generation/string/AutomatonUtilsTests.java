@@ -20,7 +20,6 @@ import dk.brics.automaton.Automaton;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -169,7 +168,7 @@ class AutomatonUtilsTests {
     }
 
     private static Automaton getAutomaton(String regex){
-        return AutomatonUtils.createAutomaton(regex, true, new HashMap<>());
+        return AutomatonUtils.createAutomaton(regex, true, new AutomatonCache(10));
     }
 
     private static String repeat(Character character, int times){
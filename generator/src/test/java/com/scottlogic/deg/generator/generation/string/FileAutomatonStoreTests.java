@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+class FileAutomatonStoreTests {
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("automaton-store");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void load_afterSave_returnsEquivalentAutomaton() {
+        Automaton automaton = AutomatonUtils.createAutomaton("[a-c]{2}x", true, new AutomatonCache(10));
+        new FileAutomatonStore(directory).save("[a-c]{2}x", automaton);
+
+        Optional<Automaton> loaded = new FileAutomatonStore(directory).load("[a-c]{2}x");
+
+        assertThat(loaded.isPresent(), equalTo(true));
+        assertThat(loaded.get().run("bcx"), equalTo(true));
+        assertThat(loaded.get().run("bc"), equalTo(false));
+        assertThat(loaded.get().equals(automaton), equalTo(true));
+    }
+
+    @Test
+    void load_whenNeverSaved_returnsEmpty() {
+        assertThat(new FileAutomatonStore(directory).load("abc").isPresent(), equalTo(false));
+    }
+
+    @Test
+    void load_whenFileIsCorrupt_returnsEmpty() throws IOException {
+        FileAutomatonStore store = new FileAutomatonStore(directory);
+        Files.write(store.fileFor("abc"), new byte[] { 1, 2, 3 });
+
+        assertThat(store.load("abc").isPresent(), equalTo(false));
+    }
+
+    @Test
+    void createAutomaton_withStore_compilesOnlyOnce() {
+        AutomatonStore store = new FileAutomatonStore(directory);
+        AutomatonUtils.createAutomaton("[0-9]{3}", true, new AutomatonCache(10), store);
+
+        Automaton loaded = AutomatonUtils.createAutomaton("^[0-9]{3}$", true, new AutomatonCache(10), new AutomatonStore() {
+            @Override
+            public Optional<Automaton> load(String regex) {
+                return store.load(regex);
+            }
+
+            @Override
+            public void save(String regex, Automaton automaton) {
+                throw new AssertionError("automaton should have been loaded, not compiled");
+            }
+        });
+
+        assertThat(loaded.run("123"), equalTo(true));
+    }
+}
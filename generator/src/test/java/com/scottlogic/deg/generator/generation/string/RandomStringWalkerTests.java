@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+class RandomStringWalkerTests {
+    @Test
+    void next_withLengthRange_producesMatchesWithinRange() {
+        AutomatonTable table = AutomatonTable.of(AutomatonUtils.createAutomaton("[a-z]+(1|22)", true, new AutomatonCache(10)));
+        RandomStringWalker walker = new RandomStringWalker(table, 4, 6, new JavaUtilRandomNumberGenerator(0));
+
+        for (int i = 0; i < 1000; i++) {
+            String value = walker.next();
+
+            assertThat(value, matchesPattern("[a-z]+(1|22)"));
+            assertThat(value.length(), both(greaterThanOrEqualTo(4)).and(lessThanOrEqualTo(6)));
+        }
+    }
+
+    @Test
+    void next_withLongFixedLength_producesWholeMatch() {
+        AutomatonTable table = AutomatonTable.of(AutomatonUtils.createAutomaton("[a-f]{5000}", true, new AutomatonCache(10)));
+        RandomStringWalker walker = new RandomStringWalker(table, 1, Integer.MAX_VALUE, new JavaUtilRandomNumberGenerator(0));
+
+        assertThat(walker.next(), matchesPattern("[a-f]{5000}"));
+    }
+}
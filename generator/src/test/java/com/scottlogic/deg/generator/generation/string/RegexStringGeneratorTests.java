@@ -16,6 +16,12 @@
 
 package com.scottlogic.deg.generator.generation.string;
 
+import com.scottlogic.deg.common.profile.constraints.atomic.IsOfTypeConstraint;
+import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
+import com.scottlogic.deg.generator.generation.StandardFieldValueSourceEvaluator;
+import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
+import com.scottlogic.deg.generator.restrictions.DataTypeRestrictions;
+import com.scottlogic.deg.generator.restrictions.StringRestrictionsFactory;
 import com.scottlogic.deg.generator.utils.IterableAsStream;
 import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
 import org.hamcrest.core.Is;
@@ -23,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -234,12 +241,14 @@ public class RegexStringGeneratorTests {
     }
 
     @Test
-    void shouldThrowWhenGeneratingAllFromNonFinite() {
-        StringGenerator infiniteGenerator = new RegexStringGenerator(".*", false);
+    void shouldGenerateAllFromNonFiniteShortestFirst() {
+        StringGenerator infiniteGenerator = new RegexStringGenerator("a[xy]*", true);
 
-        assertThrows(
-                UnsupportedOperationException.class,
-                infiniteGenerator::generateAllValues);
+        List<String> firstValues = StreamSupport.stream(infiniteGenerator.generateAllValues().spliterator(), false)
+            .limit(7)
+            .collect(Collectors.toList());
+
+        assertThat(firstValues, contains("a", "ax", "ay", "axx", "axy", "ayx", "ayy"));
     }
 
     @Test
@@ -262,6 +271,45 @@ public class RegexStringGeneratorTests {
         assertNotEquals(0, nonContradictingGenerator.getValueCount());
     }
 
+    @Test
+    void intersect_withSameOperandsTwice_reusesCachedResult() {
+        StringGenerator firstGenerator = new RegexStringGenerator("[a-c]{1,3}", true);
+        StringGenerator secondGenerator = new RegexStringGenerator("[b-d]{2}", true);
+        firstGenerator.intersect(secondGenerator);
+        long hitsBefore = RegexStringGenerator.getOperationAutomatonCache().getHits();
+
+        StringGenerator intersected = firstGenerator.intersect(secondGenerator);
+
+        assertEquals(hitsBefore + 1, RegexStringGenerator.getOperationAutomatonCache().getHits());
+        assertTrue(intersected.match("bc"));
+        assertFalse(intersected.match("ab"));
+    }
+
+    @Test
+    void constructor_withEquivalentAnchoredRegex_reusesCachedAutomaton() {
+        new RegexStringGenerator("[x-z]{4}", true);
+        long hitsBefore = RegexStringGenerator.getRegexAutomatonCache().getHits();
+
+        new RegexStringGenerator("^[x-z]{4}$", true);
+
+        assertEquals(hitsBefore + 1, RegexStringGenerator.getRegexAutomatonCache().getHits());
+    }
+
+    @Test
+    void getFieldValueSources_withUniformSamplingCalledTwiceForSameFieldSpec_sharesOneSampler() {
+        FieldSpec fieldSpec = FieldSpec.Empty
+            .withStringRestrictions(new StringRestrictionsFactory().forStringMatching(Pattern.compile("[a-e ]{1,30}"), false))
+            .withTypeRestrictions(new DataTypeRestrictions(Collections.singletonList(IsOfTypeConstraint.Types.STRING)))
+            .withNotNull();
+        StandardFieldValueSourceEvaluator evaluator = new StandardFieldValueSourceEvaluator(true);
+
+        Optional<UniformStringSampler> first = getUniformSampler(evaluator.getFieldValueSources(fieldSpec).get(0));
+        Optional<UniformStringSampler> second = getUniformSampler(evaluator.getFieldValueSources(fieldSpec).get(0));
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+    }
+
     @Test
     void shouldNotGenerateInvalidUnicodeCodePoints() {
         StringGenerator generator = new RegexStringGenerator("[😁-😘]{1}", true);
@@ -273,6 +321,11 @@ public class RegexStringGeneratorTests {
         }
     }
 
+    private static Optional<UniformStringSampler> getUniformSampler(FieldValueSource source) {
+        StringGenerator generator = ((StringGenerator.StringGeneratorAsFieldValueSource) source).getUnderlyingGenerator();
+        return ((RegexStringGenerator) generator).getUniformSampler();
+    }
+
     private final boolean doesStringContainSurrogates(String testString) {
         for (char c : testString.toCharArray()) {
             if (Character.isSurrogate(c)) {
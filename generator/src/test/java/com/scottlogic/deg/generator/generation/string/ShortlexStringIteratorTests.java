@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import dk.brics.automaton.Automaton;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+class ShortlexStringIteratorTests {
+    @Test
+    void next_withFiniteLanguage_producesShortestMatchesFirstInCharacterOrder() {
+        List<String> values = enumerate("(b|a)[xy]?|c{3}", Integer.MAX_VALUE, 100);
+
+        assertThat(values, contains("a", "b", "ax", "ay", "bx", "by", "ccc"));
+    }
+
+    @Test
+    void next_withInfiniteLanguage_stopsAtMaxLength() {
+        List<String> values = enumerate("a[xy]*", 3, 100);
+
+        assertThat(values, contains("a", "ax", "ay", "axx", "axy", "ayx", "ayy"));
+    }
+
+    @Test
+    void next_withSurrogateRange_skipsSurrogates() {
+        List<String> values = enumerate("[\uD7FE-\uE001]", Integer.MAX_VALUE, 10000);
+
+        assertThat(values, contains("\uD7FE", "\uD7FF", "\uE000", "\uE001"));
+    }
+
+    @Test
+    void next_withMoreMatchesThanAnInt_producesFirstMatchesWithoutCounting() {
+        List<String> values = enumerate("[a-z]{7}", Integer.MAX_VALUE, 3);
+
+        assertThat(values, contains("aaaaaaa", "aaaaaab", "aaaaaac"));
+    }
+
+    @Test
+    void hasNext_withEmptyLanguage_returnsFalse() {
+        ShortlexStringIterator iterator = new ShortlexStringIterator(AutomatonTable.of(Automaton.makeEmpty()), 10);
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    private static List<String> enumerate(String regex, int maxLength, int limit) {
+        AutomatonTable table = AutomatonTable.of(AutomatonUtils.createAutomaton(regex, true, new AutomatonCache(10)));
+        ShortlexStringIterator iterator = new ShortlexStringIterator(table, maxLength);
+
+        List<String> values = new ArrayList<>();
+        while (values.size() < limit && iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.string;
+
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+class UniformStringSamplerTests {
+    @Test
+    void next_withFiniteLanguage_drawsEveryMatchEquallyOften() {
+        // 1 + 2 + 4 + 8 = 15 matches, mostly long ones
+        UniformStringSampler sampler = samplerFor("x[ab]{0,3}").get();
+        RandomNumberGenerator random = new JavaUtilRandomNumberGenerator(0);
+        Map<String, Integer> frequencies = new HashMap<>();
+
+        int draws = 150_000;
+        for (int i = 0; i < draws; i++) {
+            frequencies.merge(sampler.next(random), 1, Integer::sum);
+        }
+
+        assertThat(sampler.getMatchCount(), equalTo(BigInteger.valueOf(15)));
+        assertThat(frequencies.size(), equalTo(15));
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            assertThat(frequency.getKey(), matchesPattern("x[ab]{0,3}"));
+            assertThat(frequency.getValue(), both(greaterThan(9_000)).and(lessThan(11_000)));
+        }
+    }
+
+    @Test
+    void next_withLengthsThatCanNotMatch_drawsOnlyMatchingLengths() {
+        UniformStringSampler sampler = samplerFor("(aa){1,4}|b{7}").get();
+        RandomNumberGenerator random = new JavaUtilRandomNumberGenerator(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.next(random), matchesPattern("(aa){1,4}|b{7}"));
+        }
+    }
+
+    @Test
+    void next_withMoreMatchesThanFitInALong_drawsMatches() {
+        UniformStringSampler sampler = samplerFor("[a-z]{30}").get();
+
+        assertThat(sampler.getMatchCount(), equalTo(BigInteger.valueOf(26).pow(30)));
+        assertThat(sampler.next(new JavaUtilRandomNumberGenerator(2)), matchesPattern("[a-z]{30}"));
+    }
+
+    @Test
+    void next_withRangeSpanningSurrogates_neverDrawsSurrogates() {
+        UniformStringSampler sampler = samplerFor("[\uD7FE-\uE001]").get();
+        RandomNumberGenerator random = new JavaUtilRandomNumberGenerator(3);
+
+        assertThat(sampler.getMatchCount(), equalTo(BigInteger.valueOf(4)));
+        for (int i = 0; i < 100; i++) {
+            assertThat(Character.isSurrogate(sampler.next(random).charAt(0)), equalTo(false));
+        }
+    }
+
+    @Test
+    void of_withInfiniteLanguage_isEmpty() {
+        assertThat(samplerFor("a+").isPresent(), equalTo(false));
+    }
+
+    private static Optional<UniformStringSampler> samplerFor(String regex) {
+        return UniformStringSampler.of(
+            AutomatonTable.of(AutomatonUtils.createAutomaton(regex, true, new AutomatonCache(10))),
+            1);
+    }
+}
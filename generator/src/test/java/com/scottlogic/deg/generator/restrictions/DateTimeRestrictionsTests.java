@@ -64,6 +64,14 @@ class DateTimeRestrictionsTests {
         Assert.assertThat(a, not(equalTo(b)));
     }
 
+    @Test
+    public void shouldBeUnequalIfOnlyGranularityDiffers(){
+        DateTimeRestrictions a = new DateTimeRestrictions(Timescale.MILLIS);
+        DateTimeRestrictions b = new DateTimeRestrictions(Timescale.SECONDS);
+
+        Assert.assertThat(a, not(equalTo(b)));
+    }
+
     @Test
     public void shouldBeUnequalIfNeitherMinNorMaxMatch(){
         DateTimeRestrictions a = restrictions(new MockDateTimeLimit(false), new MockDateTimeLimit(false));
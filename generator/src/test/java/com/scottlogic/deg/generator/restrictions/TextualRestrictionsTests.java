@@ -330,12 +330,22 @@ class TextualRestrictionsTests {
 
     @Test
     void createGenerator_withContradictingOfLengthAndContainingRegexConstraint_shouldCreateNoStrings() {
+        StringRestrictions restrictions = containsRegex("[a-z]{10}", false)
+            .intersect(ofLength(9, false)).restrictions;
+
+        StringGenerator generator = restrictions.createGenerator();
+
+        assertGeneratorCannotGenerateAnyStrings(generator);
+    }
+
+    @Test
+    void createGenerator_withOfLengthAndContainingRegexThatMatchesEmptyString_shouldCreateStringsOfLength() {
         StringRestrictions restrictions = containsRegex("[a-z]{0,9}", false)
             .intersect(ofLength(100, false)).restrictions;
 
         StringGenerator generator = restrictions.createGenerator();
 
-        assertGeneratorCannotGenerateAnyStrings(generator);
+        Assert.assertThat(generator.generateAllValues().iterator().next().length(), is(100));
     }
 
     @Test
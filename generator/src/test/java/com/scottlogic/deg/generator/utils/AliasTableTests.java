@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+
+class AliasTableTests {
+    @Test
+    void nextIndex_withWeights_samplesInProportionToWeights() {
+        double[] weights = { 1, 2, 3, 4 };
+        AliasTable table = new AliasTable(weights);
+        RandomNumberGenerator randomNumberGenerator = new JavaUtilRandomNumberGenerator(0);
+
+        int samples = 100_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[table.nextIndex(randomNumberGenerator)]++;
+        }
+
+        for (int i = 0; i < weights.length; i++) {
+            assertThat((double) counts[i] / samples, closeTo(weights[i] / 10, 0.01));
+        }
+    }
+
+    @Test
+    void nextIndex_withSingleWeight_alwaysReturnsIt() {
+        AliasTable table = new AliasTable(new double[] { 0.5 });
+        RandomNumberGenerator randomNumberGenerator = new JavaUtilRandomNumberGenerator(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(table.nextIndex(randomNumberGenerator), equalTo(0));
+        }
+    }
+
+    @Test
+    void construct_withNonPositiveWeight_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 1, 0 }));
+    }
+
+    @Test
+    void construct_withNoWeights_throws() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+    }
+}
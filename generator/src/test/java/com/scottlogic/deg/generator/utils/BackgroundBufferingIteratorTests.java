@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+
+class BackgroundBufferingIteratorTests {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void beforeEach() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void next_underlyingIteratorHasMoreValuesThanBufferCapacity_returnsAllValuesInOrder() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i);
+        }
+        BackgroundBufferingIterator<Integer> iterator = new BackgroundBufferingIterator<>(values.iterator(), 3, executor);
+
+        List<Integer> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+
+        Assert.assertEquals(values, result);
+    }
+
+    @Test
+    void hasNext_underlyingIteratorIsEmpty_returnsFalse() {
+        BackgroundBufferingIterator<String> iterator =
+            new BackgroundBufferingIterator<>(Collections.<String>emptyIterator(), 3, executor);
+
+        Assert.assertFalse(iterator.hasNext());
+        Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void next_underlyingIteratorThrows_rethrowsAfterPrecedingValues() {
+        Iterator<String> failingIterator = new Iterator<String>() {
+            private final Iterator<String> values = Arrays.asList("First String", "Second String").iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (values.hasNext()) {
+                    return values.next();
+                }
+                throw new IllegalStateException("No more strings");
+            }
+        };
+        BackgroundBufferingIterator<String> iterator = new BackgroundBufferingIterator<>(failingIterator, 3, executor);
+
+        List<String> result = Arrays.asList(iterator.next(), iterator.next());
+
+        Assert.assertThat(result, contains("First String", "Second String"));
+        Assertions.assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    @Test
+    void close_underlyingIteratorIsInfinite_stopsProducingValues() throws InterruptedException {
+        BackgroundBufferingIterator<String> iterator =
+            new BackgroundBufferingIterator<>(new SupplierBasedIterator<>(() -> "value"), 3, executor);
+
+        iterator.next();
+        iterator.close();
+        executor.shutdown();
+
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
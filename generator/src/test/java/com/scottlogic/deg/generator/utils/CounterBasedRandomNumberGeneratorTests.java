@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.*;
+
+class CounterBasedRandomNumberGeneratorTests {
+    @Test
+    void nextLong_withSameKey_producesSameSequence() {
+        CounterBasedRandomNumberGenerator first = new CounterBasedRandomNumberGenerator(1234);
+        CounterBasedRandomNumberGenerator second = new CounterBasedRandomNumberGenerator(1234);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertThat(first.nextLong(), equalTo(second.nextLong()));
+        }
+    }
+
+    @Test
+    void nextLong_withDifferentKeys_producesDifferentSequences() {
+        CounterBasedRandomNumberGenerator first = new CounterBasedRandomNumberGenerator(1234);
+        CounterBasedRandomNumberGenerator second = new CounterBasedRandomNumberGenerator(1235);
+
+        Assert.assertThat(first.nextLong(), not(equalTo(second.nextLong())));
+    }
+
+    @Test
+    void derive_afterDrawingNumbers_producesSameSequenceAsBeforeDrawing() {
+        CounterBasedRandomNumberGenerator generator = new CounterBasedRandomNumberGenerator(1234);
+        long firstDerivedNumber = generator.derive(7).nextLong();
+
+        generator.nextLong();
+        generator.nextLong();
+
+        Assert.assertThat(generator.derive(7).nextLong(), equalTo(firstDerivedNumber));
+    }
+
+    @Test
+    void derive_withDifferentComponents_producesDifferentSequences() {
+        CounterBasedRandomNumberGenerator generator = new CounterBasedRandomNumberGenerator(1234);
+
+        Assert.assertThat(generator.derive(1).nextLong(), not(equalTo(generator.derive(2).nextLong())));
+        Assert.assertThat(generator.derive("field1").nextLong(), not(equalTo(generator.derive("field2").nextLong())));
+    }
+
+    @Test
+    void nextInt_withBound_producesEveryValueWithinBound() {
+        CounterBasedRandomNumberGenerator generator = new CounterBasedRandomNumberGenerator(1234);
+
+        boolean[] seen = new boolean[10];
+        IntStream.range(0, 1000).forEach(i -> seen[generator.nextInt(10)] = true);
+
+        for (boolean valueSeen : seen) {
+            Assert.assertThat(valueSeen, is(true));
+        }
+    }
+
+    @Test
+    void nextInt_withNegativeLowerBound_producesValuesWithinRange() {
+        CounterBasedRandomNumberGenerator generator = new CounterBasedRandomNumberGenerator(1234);
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertThat(generator.nextInt(-5, 5), allOf(greaterThanOrEqualTo(-5), lessThan(5)));
+        }
+    }
+
+    @Test
+    void nextBigDecimal_producesValuesWithinRangeAtScale() {
+        CounterBasedRandomNumberGenerator generator = new CounterBasedRandomNumberGenerator(1234);
+
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal value = generator.nextBigDecimal(BigDecimal.ONE, BigDecimal.TEN, 2);
+
+            Assert.assertThat(value, allOf(greaterThanOrEqualTo(BigDecimal.ONE), lessThanOrEqualTo(BigDecimal.TEN)));
+            Assert.assertThat(value.scale(), is(2));
+        }
+    }
+}
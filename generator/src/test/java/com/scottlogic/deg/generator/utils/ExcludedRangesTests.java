@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+class ExcludedRangesTests {
+    @Test
+    void getPermittedValue_withNoExcludedRanges_returnsValueAtIndex() {
+        ExcludedRanges ranges = new ExcludedRanges(10, 20, new long[0], new long[0]);
+
+        Assertions.assertEquals(0, ranges.getExcludedCount());
+        Assertions.assertEquals(10, ranges.getPermittedValue(0));
+        Assertions.assertEquals(19, ranges.getPermittedValue(9));
+    }
+
+    @Test
+    void getPermittedValue_withExcludedRanges_skipsExcludedValues() {
+        ExcludedRanges ranges = new ExcludedRanges(
+            0, 20,
+            new long[] { 15, 0, 3, 4 },
+            new long[] { 17, 2, 4, 6 });
+
+        Assertions.assertEquals(7, ranges.getExcludedCount());
+        Assertions.assertEquals(expectedPermittedValues(0, 20, 0, 1, 3, 4, 5, 15, 16), permittedValues(ranges, 13));
+    }
+
+    @Test
+    void getPermittedValue_withOverlappingRanges_countsEachValueOnce() {
+        ExcludedRanges ranges = new ExcludedRanges(
+            0, 10,
+            new long[] { 2, 3, 8 },
+            new long[] { 5, 7, 9 });
+
+        Assertions.assertEquals(6, ranges.getExcludedCount());
+        Assertions.assertEquals(expectedPermittedValues(0, 10, 2, 3, 4, 5, 6, 8), permittedValues(ranges, 4));
+    }
+
+    @Test
+    void getPermittedValue_withRangesBeyondLimits_ignoresValuesOutsideLimits() {
+        ExcludedRanges ranges = new ExcludedRanges(
+            5, 10,
+            new long[] { 0, 9, 20 },
+            new long[] { 7, 15, 30 });
+
+        Assertions.assertEquals(3, ranges.getExcludedCount());
+        Assertions.assertEquals(expectedPermittedValues(5, 10, 5, 6, 9), permittedValues(ranges, 2));
+    }
+
+    private static List<Long> permittedValues(ExcludedRanges ranges, int count) {
+        List<Long> values = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            values.add(ranges.getPermittedValue(index));
+        }
+        return values;
+    }
+
+    private static List<Long> expectedPermittedValues(long inclusiveLower, long exclusiveUpper, long... excluded) {
+        List<Long> values = new ArrayList<>();
+        LongStream.range(inclusiveLower, exclusiveUpper)
+            .filter(value -> LongStream.of(excluded).noneMatch(excludedValue -> excludedValue == value))
+            .forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class SpillingRestartableIteratorTests {
+    private static final List<String> items = Arrays.asList("a", "b", "c", "d", "e");
+
+    @Test
+    void next_afterRestart_replaysItemsKeptInMemoryAndSpilled() {
+        try (SpillingRestartableIterator<String> iterator = spillingAfter(2)) {
+            List<String> firstPass = readRemaining(iterator);
+            iterator.restart();
+            List<String> secondPass = readRemaining(iterator);
+
+            Assert.assertThat(firstPass, equalTo(items));
+            Assert.assertThat(secondPass, equalTo(items));
+        }
+    }
+
+    @Test
+    void next_afterRestartPartWayThroughFirstPass_replaysAllItems() {
+        try (SpillingRestartableIterator<String> iterator = spillingAfter(1)) {
+            iterator.next();
+            iterator.next();
+            iterator.restart();
+
+            Assert.assertThat(readRemaining(iterator), equalTo(items));
+        }
+    }
+
+    @Test
+    void readAll_partWayThroughFirstPass_returnsNumberOfItemsWithoutMovingPastAny() {
+        try (SpillingRestartableIterator<String> iterator = spillingAfter(1)) {
+            iterator.next();
+
+            Assert.assertThat(iterator.readAll(), equalTo(5L));
+            Assert.assertThat(readRemaining(iterator), equalTo(items.subList(1, 5)));
+        }
+    }
+
+    @Test
+    void skip_intoSpilledItems_movesPastThoseItems() {
+        try (SpillingRestartableIterator<String> iterator = spillingAfter(2)) {
+            iterator.readAll();
+            iterator.restart();
+            iterator.skip(3);
+
+            Assert.assertThat(readRemaining(iterator), equalTo(items.subList(3, 5)));
+        }
+    }
+
+    @Test
+    void restart_beforeAnyItemIsTaken_readsNothingFromUnderlyingIterator() {
+        AtomicInteger itemsPulled = new AtomicInteger();
+        Iterator<String> underlying = items.stream().peek(item -> itemsPulled.incrementAndGet()).iterator();
+
+        try (SpillingRestartableIterator<String> iterator = new SpillingRestartableIterator<>(underlying, 1, new StringCodec())) {
+            iterator.restart();
+            iterator.next();
+
+            Assert.assertThat(itemsPulled.get(), equalTo(1));
+            iterator.restart();
+            Assert.assertThat(readRemaining(iterator), equalTo(items));
+        }
+    }
+
+    private static SpillingRestartableIterator<String> spillingAfter(int maxItemsInMemory) {
+        return new SpillingRestartableIterator<>(items.iterator(), maxItemsInMemory, new StringCodec());
+    }
+
+    private static List<String> readRemaining(SpillingRestartableIterator<String> iterator) {
+        List<String> remaining = new ArrayList<>();
+        iterator.forEachRemaining(remaining::add);
+        return remaining;
+    }
+
+    private static class StringCodec implements SpillCodec<String> {
+        @Override
+        public void write(String item, ObjectOutput output) throws IOException {
+            output.writeUTF(item);
+        }
+
+        @Override
+        public String read(ObjectInput input) throws IOException {
+            return input.readUTF();
+        }
+    }
+}
@@ -19,8 +19,12 @@ package com.scottlogic.deg.generator.walker;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
+import com.scottlogic.deg.generator.builders.DataBagBuilder;
+import com.scottlogic.deg.generator.config.detail.Shard;
 import com.scottlogic.deg.generator.decisiontree.TreeConstraintNode;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +34,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
@@ -47,7 +52,7 @@ class RandomReductiveDecisionTreeWalkerTests {
         );
 
         underlyingWalker = mock(ReductiveDecisionTreeWalker.class);
-        walker = new RandomReductiveDecisionTreeWalker(underlyingWalker);
+        walker = new RandomReductiveDecisionTreeWalker(underlyingWalker, randomNumberGenerator(), 1);
     }
 
     /**
@@ -99,6 +104,60 @@ class RandomReductiveDecisionTreeWalkerTests {
             is(false));
     }
 
+    @Test
+    public void shouldProduceTheSameRowsForTheSameSeedRegardlessOfTheNumberOfThreads() {
+        List<DataBag> serialRun = randomisingWalker(1).walk(tree).limit(100).collect(Collectors.toList());
+        List<DataBag> parallelRun = randomisingWalker(3).walk(tree).limit(100).collect(Collectors.toList());
+
+        Assert.assertThat(serialRun.size(), is(100));
+        Assert.assertThat(parallelRun, equalTo(serialRun));
+    }
+
+    @Test
+    public void shouldProduceNoDataOnSeveralThreadsWhenFirstIterationProducesNoData() {
+        when(underlyingWalker.walk(tree)).thenReturn(Stream.empty());
+        walker = new RandomReductiveDecisionTreeWalker(underlyingWalker, randomNumberGenerator(), 3);
+
+        List<DataBag> result = walker.walk(tree).limit(2).collect(Collectors.toList());
+
+        verify(underlyingWalker, times(1)).walk(tree);
+        Assert.assertThat(result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldProduceEveryNthRowOfAllTheRowsForAShard() {
+        List<DataBag> allRows = randomisingWalker(1).walk(tree).limit(6).collect(Collectors.toList());
+        List<DataBag> shardRows = randomisingWalker(2).walk(tree, new Shard(2, 2), 0).limit(3).collect(Collectors.toList());
+
+        Assert.assertThat(shardRows, equalTo(Arrays.asList(allRows.get(1), allRows.get(3), allRows.get(5))));
+    }
+
+    @Test
+    public void shouldProduceTheRowsAfterTheFirstRowWithoutWalkingTheRowsBeforeIt() {
+        List<DataBag> allRows = randomisingWalker(1).walk(tree).limit(8).collect(Collectors.toList());
+        List<DataBag> laterRows = randomisingWalker(1).walk(tree, Shard.ALL_ROWS, 5).limit(3).collect(Collectors.toList());
+
+        Assert.assertThat(laterRows, equalTo(allRows.subList(5, 8)));
+    }
+
+    private RandomReductiveDecisionTreeWalker randomisingWalker(int generationThreads) {
+        ThreadBoundRandomNumberGenerator randomNumberGenerator = randomNumberGenerator();
+        Field field = new Field("field1");
+        ReductiveDecisionTreeWalker randomisingWalker = mock(ReductiveDecisionTreeWalker.class);
+        when(randomisingWalker.walk(tree)).thenAnswer(invocation -> {
+            int value = randomNumberGenerator.nextInt(100);
+            return value < 25
+                ? Stream.empty()
+                : Stream.of(new DataBagBuilder().set(field, value).build());
+        });
+
+        return new RandomReductiveDecisionTreeWalker(randomisingWalker, randomNumberGenerator, generationThreads);
+    }
+
+    private static ThreadBoundRandomNumberGenerator randomNumberGenerator() {
+        return new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(1234));
+    }
+
     private static DataBag rowSpec(String detail) {
         return mock(DataBag.class, detail);
     }
@@ -18,13 +18,17 @@ package com.scottlogic.deg.generator.walker;
 
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
 import com.scottlogic.deg.generator.decisiontree.TreeConstraintNode;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.generation.FieldSpecValueGenerator;
 import com.scottlogic.deg.generator.generation.NoopDataGeneratorMonitor;
+import com.scottlogic.deg.generator.generation.StandardFieldValueSourceEvaluator;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
 import com.scottlogic.deg.generator.generation.databags.DataBagValue;
+import com.scottlogic.deg.generator.utils.CounterBasedRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.ThreadBoundRandomNumberGenerator;
 import com.scottlogic.deg.generator.walker.reductive.*;
 import com.scottlogic.deg.generator.walker.reductive.fieldselectionstrategy.FixFieldStrategy;
 import com.scottlogic.deg.generator.walker.reductive.fieldselectionstrategy.FixFieldStrategyFactory;
@@ -37,6 +41,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
@@ -98,7 +103,7 @@ class ReductiveDecisionTreeWalkerTests {
         DataBagValue dataBag = new DataBagValue(field1, "yes");
         FieldSpec firstFieldSpec = FieldSpec.Empty.withWhitelist(Collections.singleton("yes"))
             .withNotNull();
-        when(fieldSpecValueGenerator.generate(any(Set.class))).thenReturn(Stream.of(dataBag));
+        when(fieldSpecValueGenerator.generate(any(Field.class), any(Set.class), anyLong())).thenReturn(Stream.of(dataBag));
 
         when(reductiveFieldSpecBuilder.getDecisionFieldSpecs(any(), any())).thenReturn(Collections.singleton(firstFieldSpec), Collections.emptySet());
 
@@ -107,4 +112,54 @@ class ReductiveDecisionTreeWalkerTests {
         verify(reductiveFieldSpecBuilder, times(2)).getDecisionFieldSpecs(eq(rootNode), any());
         Assert.assertThat(result, empty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void walk_fromEachRowOfTreeWithoutDecisions_producesTheRowsFromThatRow() {
+        ReductiveDecisionTreeWalker sequentialWalker = createSequentialWalker(new FieldSpecValueGenerator(
+            DataGenerationType.FULL_SEQUENTIAL,
+            new StandardFieldValueSourceEvaluator(),
+            new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0))));
+        List<DataBag> allRows = sequentialWalker.walk(tree).collect(Collectors.toList());
+
+        for (int firstRow = 0; firstRow <= allRows.size(); firstRow++) {
+            Assert.assertThat(
+                sequentialWalker.walk(tree, firstRow).collect(Collectors.toList()),
+                equalTo(allRows.subList(firstRow, allRows.size())));
+        }
+    }
+
+    @Test
+    public void walk_fromRowOfTreeWithoutDecisions_startsEachFieldAtTheValueOfThatRow() {
+        FieldSpecValueGenerator valueGenerator = spy(new FieldSpecValueGenerator(
+            DataGenerationType.FULL_SEQUENTIAL,
+            new StandardFieldValueSourceEvaluator(),
+            new ThreadBoundRandomNumberGenerator(new CounterBasedRandomNumberGenerator(0))));
+
+        List<DataBag> result = createSequentialWalker(valueGenerator).walk(tree, 3).collect(Collectors.toList());
+
+        Assert.assertThat(result.size(), equalTo(3));
+        verify(valueGenerator).generate(eq(field1), any(Set.class), eq(1L));
+        verify(valueGenerator).generate(eq(field2), any(Set.class), eq(1L));
+    }
+
+    private ReductiveDecisionTreeWalker createSequentialWalker(FieldSpecValueGenerator valueGenerator) {
+        when(reductiveFieldSpecBuilder.getDecisionFieldSpecs(any(), eq(field1))).thenReturn(
+            Collections.singleton(FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList(1, 2, 3))).withNotNull()));
+        when(reductiveFieldSpecBuilder.getDecisionFieldSpecs(any(), eq(field2))).thenReturn(
+            Collections.singleton(FieldSpec.Empty.withWhitelist(new HashSet<>(Arrays.asList("a", "b"))).withNotNull()));
+        when(fixFieldStrategy.getNextFieldToFix(any())).thenAnswer(invocation ->
+            ((ReductiveState) invocation.getArguments()[0]).isFieldFixed(field1) ? field2 : field1);
+
+        ReductiveTreePruner treePruner = mock(ReductiveTreePruner.class);
+        when(treePruner.pruneConstraintNode(eq(rootNode), any(), any())).thenReturn(Merged.of(rootNode));
+
+        return new ReductiveDecisionTreeWalker(
+            new NoOpIterationVisualiser(),
+            reductiveFieldSpecBuilder,
+            new NoopDataGeneratorMonitor(),
+            treePruner,
+            valueGenerator,
+            fixFieldStrategyFactory
+        );
+    }
+}
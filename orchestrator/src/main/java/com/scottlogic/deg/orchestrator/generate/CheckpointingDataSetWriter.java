@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.generator.config.detail.Shard;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a GenerationCheckpoint every given number of rows, and once more when the output is closed.
+ */
+class CheckpointingDataSetWriter implements DataSetWriter {
+    private final DataSetWriter underlyingWriter;
+    private final Path outputPath;
+    private final long seed;
+    private final Shard shard;
+    private final long firstRowOfShard;
+    private final long checkpointInterval;
+    private long rowsWritten;
+    private boolean rowIncomplete;
+
+    CheckpointingDataSetWriter(
+        DataSetWriter underlyingWriter,
+        Path outputPath,
+        long seed,
+        Shard shard,
+        long firstRow,
+        long checkpointInterval) {
+        this.underlyingWriter = underlyingWriter;
+        this.outputPath = outputPath;
+        this.seed = seed;
+        this.shard = shard;
+        this.firstRowOfShard = shard.getRowCount(firstRow);
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        rowIncomplete = true;
+        underlyingWriter.writeRow(row);
+        rowIncomplete = false;
+
+        rowsWritten++;
+        if (rowsWritten % checkpointInterval == 0) {
+            writeCheckpoint();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        underlyingWriter.close();
+
+        // a row that failed part way through may have left a fragment behind, so keep the last checkpoint before it
+        if (!rowIncomplete) {
+            writeCheckpoint();
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        new GenerationCheckpoint(seed, shard.getRowIndex(firstRowOfShard + rowsWritten), Files.size(outputPath))
+            .write(GenerationCheckpoint.pathFor(outputPath));
+    }
+}
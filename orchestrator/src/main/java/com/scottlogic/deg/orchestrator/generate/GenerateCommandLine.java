@@ -19,7 +19,10 @@ package com.scottlogic.deg.orchestrator.generate;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.generator.config.detail.*;
+import com.scottlogic.deg.generator.generation.string.FileAutomatonStore;
+import com.scottlogic.deg.generator.generation.string.RegexStringGenerator;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.orchestrator.guice.AllModule;
 import com.scottlogic.deg.output.guice.OutputFormat;
@@ -27,7 +30,9 @@ import com.scottlogic.deg.profile.v0_1.AtomicConstraintType;
 import picocli.CommandLine;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 
 import static com.scottlogic.deg.generator.config.detail.CombinationStrategyType.MINIMAL;
@@ -50,6 +55,11 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
 
     @Override
     public Integer call() throws Exception {
+        if (resume) {
+            checkpointToResumeFrom = readCheckpointToResumeFrom();
+        }
+        useRegexCacheDirectory();
+
         Module container = new AllModule(this);
         Injector injector = Guice.createInjector(container);
 
@@ -57,6 +67,28 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return 0;
     }
 
+    /**
+     * Compiled regexes are cached for the whole process, so where they are kept is set once here, before the
+     * injector is created, rather than by a module
+     */
+    protected void useRegexCacheDirectory() {
+        getRegexCacheDirectory().ifPresent(
+            directory -> RegexStringGenerator.setAutomatonStore(new FileAutomatonStore(directory)));
+    }
+
+    protected boolean isResumeRequested() {
+        return resume;
+    }
+
+    private GenerationCheckpoint readCheckpointToResumeFrom() throws IOException {
+        // whether the output format can be appended to is checked when the output target is validated
+        if (useStdOut()) {
+            throw new ValidationException("Only a run that writes to an output file can be resumed");
+        }
+
+        return GenerationCheckpoint.read(GenerationCheckpoint.pathFor(outputPath));
+    }
+
     @CommandLine.Option(
         names = {"-p", "--profile-file"},
         required = true,
@@ -101,12 +133,27 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
     @SuppressWarnings("unused")
     private CombinationStrategyType combinationType = MINIMAL;
 
+    @CommandLine.Option(names = {"--combination-strength"},
+        description = "Defines how many values are combined in every combination when using the N_WISE combination strategy",
+        hidden = true)
+    private int combinationStrength = 2;
+
     @CommandLine.Option(
         names = {"--no-partition"},
         description = "Prevents tree partitioning",
         hidden = true)
     private boolean dontPartitionTrees;
 
+    @CommandLine.Option(
+        names = {"--parallel-partitions"},
+        description = "Walks each independent partition of the profile on its own thread")
+    private boolean walkPartitionsInParallel;
+
+    @CommandLine.Option(
+        names = {"--generation-threads"},
+        description = "Defines the number of threads used to generate rows in RANDOM mode")
+    private int generationThreads = 1;
+
     @CommandLine.Option(names = {"-w", "--walker-type"},
         description = "Determines the tree walker that should be used (${COMPLETION-CANDIDATES})",
         hidden = true)
@@ -117,6 +164,39 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         description = "Defines the maximum number of rows that should be generated")
     private long maxRows = DEFAULT_MAX_ROWS;
 
+    @CommandLine.Option(
+        names = {"--skip-rows"},
+        description = "Skips the given number of rows, emitting only the rows after them")
+    private long rowsToSkip;
+
+    @CommandLine.Option(
+        names = {"--seed"},
+        description = "Defines the seed for the random number generator, so that RANDOM mode generates the same data each time")
+    private Long seed;
+
+    @CommandLine.Option(
+        names = {"--shard"},
+        description = "Generates only the given shard of the rows, e.g. 2/4 for every 4th row starting from the 2nd",
+        converter = ShardConverter.class)
+    private Shard shard = Shard.ALL_ROWS;
+
+    @CommandLine.Option(
+        names = {"--pipeline-output"},
+        description = "Generates, formats and writes rows on separate threads")
+    private boolean pipelineOutput;
+
+    @CommandLine.Option(
+        names = {"--checkpoint-interval"},
+        description = "Writes a checkpoint next to the output file every given number of rows, so that the run can be continued with --resume")
+    private long checkpointInterval;
+
+    @CommandLine.Option(
+        names = {"--resume"},
+        description = "Continues an interrupted run from its last checkpoint, appending to its output file; the other options must match the interrupted run")
+    private boolean resume;
+
+    private GenerationCheckpoint checkpointToResumeFrom;
+
     @CommandLine.Option(
         names = {"--quiet"},
         description = "Turns OFF default monitoring")
@@ -149,10 +229,40 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
     )
     private String fromFilePath;
 
+    @CommandLine.Option(
+        names = {"--regex-cache-directory"},
+        description = "Keeps compiled regexes in the given directory, so that later runs don't have to compile them again")
+    private Path regexCacheDirectory;
+
+    @CommandLine.Option(
+        names = {"--uniform-regex-sampling"},
+        description = "Draws RANDOM strings for regexes with finitely many matches uniformly from all of their matches")
+    private boolean sampleRegexesUniformly;
+
     public boolean shouldDoPartitioning() {
         return !this.dontPartitionTrees;
     }
 
+    @Override
+    public boolean walkPartitionsInParallel() {
+        return this.walkPartitionsInParallel;
+    }
+
+    @Override
+    public int getGenerationThreads() {
+        return this.generationThreads;
+    }
+
+    @Override
+    public Optional<Path> getRegexCacheDirectory() {
+        return Optional.ofNullable(this.regexCacheDirectory);
+    }
+
+    @Override
+    public boolean sampleRegexesUniformly() {
+        return this.sampleRegexesUniformly;
+    }
+
     @Override
     public boolean dontOptimise() {
         return this.dontOptimise;
@@ -173,6 +283,11 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return this.overwriteOutputFiles;
     }
 
+    @Override
+    public boolean appendToOutputFile() {
+        return checkpointToResumeFrom != null;
+    }
+
     @Override
     public boolean useStdOut() {
         return outputPath == null;
@@ -193,6 +308,11 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return this.combinationType;
     }
 
+    @Override
+    public int getCombinationStrength() {
+        return this.combinationStrength;
+    }
+
     @Override
     public TreeWalkerType getWalkerType() {
         return this.walkerType;
@@ -219,6 +339,40 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return maxRows;
     }
 
+    @Override
+    public long getRowsToSkip() {
+        return checkpointToResumeFrom != null
+            ? checkpointToResumeFrom.getNextRow()
+            : rowsToSkip;
+    }
+
+    @Override
+    public Optional<Long> getSeed() {
+        return checkpointToResumeFrom != null
+            ? Optional.of(checkpointToResumeFrom.getSeed())
+            : Optional.ofNullable(seed);
+    }
+
+    @Override
+    public boolean pipelineOutput() {
+        return pipelineOutput;
+    }
+
+    @Override
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    @Override
+    public Optional<GenerationCheckpoint> getCheckpointToResumeFrom() {
+        return Optional.ofNullable(checkpointToResumeFrom);
+    }
+
+    @Override
+    public Shard getShard() {
+        return shard;
+    }
+
     @Override
     public boolean visualiseReductions() {
         return visualiseReductions;
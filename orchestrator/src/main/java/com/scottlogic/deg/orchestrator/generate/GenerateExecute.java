@@ -17,8 +17,10 @@
 package com.scottlogic.deg.orchestrator.generate;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.generator.config.detail.Shard;
 import com.scottlogic.deg.generator.generation.DataGenerator;
 import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
 import com.scottlogic.deg.common.output.GeneratedObject;
@@ -43,6 +45,9 @@ public class GenerateExecute {
     private final ProfileValidator profileValidator;
     private final DataGeneratorMonitor monitor;
     private final ProfileSchemaValidator profileSchemaValidator;
+    private final long seed;
+    private final Shard shard;
+    private final long rowsToSkip;
 
     @Inject
     GenerateExecute(
@@ -53,7 +58,10 @@ public class GenerateExecute {
         ConfigValidator configValidator,
         ProfileValidator profileValidator,
         ProfileSchemaValidator profileSchemaValidator,
-        DataGeneratorMonitor monitor) {
+        DataGeneratorMonitor monitor,
+        @Named("config:seed") long seed,
+        Shard shard,
+        @Named("config:rowsToSkip") long rowsToSkip) {
         this.profileReader = profileReader;
         this.dataGenerator = dataGenerator;
         this.configSource = configSource;
@@ -62,6 +70,9 @@ public class GenerateExecute {
         this.profileSchemaValidator = profileSchemaValidator;
         this.profileValidator = profileValidator;
         this.monitor = monitor;
+        this.seed = seed;
+        this.shard = shard;
+        this.rowsToSkip = rowsToSkip;
     }
 
     public void execute() throws IOException {
@@ -73,14 +84,21 @@ public class GenerateExecute {
         profileValidator.validate(profile);
         singleDatasetOutputTarget.validate();
 
+        if (configSource.getCheckpointToResumeFrom().isPresent()) {
+            configSource.getCheckpointToResumeFrom().get().truncateOutput(configSource.getOutputPath());
+        }
+
         Stream<GeneratedObject> generatedDataItems = dataGenerator.generateData(profile);
 
         outputData(profile, generatedDataItems);
     }
 
     private void outputData(Profile profile, Stream<GeneratedObject> generatedDataItems) throws IOException {
-        try (DataSetWriter writer = singleDatasetOutputTarget.openWriter(profile.getFields())) {
-            generatedDataItems.forEach(row -> {
+        try (DataSetWriter writer = openWriter(profile);
+             Stream<GeneratedObject> items = configSource.pipelineOutput()
+                 ? OutputPipeline.pipeline(generatedDataItems, profile.getFields())
+                 : generatedDataItems) {
+            items.forEach(row -> {
                 try {
                     writer.writeRow(row);
                 } catch (IOException e) {
@@ -90,4 +108,19 @@ public class GenerateExecute {
         }
         monitor.endGeneration();
     }
+
+    private DataSetWriter openWriter(Profile profile) throws IOException {
+        DataSetWriter writer = singleDatasetOutputTarget.openWriter(profile.getFields());
+        if (configSource.getCheckpointInterval() <= 0 || configSource.useStdOut()) {
+            return writer;
+        }
+
+        return new CheckpointingDataSetWriter(
+            writer,
+            configSource.getOutputPath(),
+            seed,
+            shard,
+            rowsToSkip,
+            configSource.getCheckpointInterval());
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * The progress of a generate run, written next to its output file so that an interrupted run can be resumed.
+ *
+ * Rows are a function of the seed and their index, so the seed and the index of the next row are all that is
+ * needed to carry on generating; the output length allows any row written after the checkpoint to be discarded.
+ */
+public class GenerationCheckpoint {
+    private static final String SEED = "seed";
+    private static final String NEXT_ROW = "nextRow";
+    private static final String OUTPUT_LENGTH = "outputLength";
+
+    private final long seed;
+    private final long nextRow;
+    private final long outputLength;
+
+    GenerationCheckpoint(long seed, long nextRow, long outputLength) {
+        this.seed = seed;
+        this.nextRow = nextRow;
+        this.outputLength = outputLength;
+    }
+
+    public static Path pathFor(Path outputPath) {
+        return outputPath.resolveSibling(outputPath.getFileName() + ".checkpoint");
+    }
+
+    public static GenerationCheckpoint read(Path checkpointPath) throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            throw new ValidationException("Checkpoint file " + checkpointPath + " does not exist; nothing to resume");
+        }
+
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(checkpointPath)) {
+            properties.load(stream);
+        }
+
+        try {
+            return new GenerationCheckpoint(
+                Long.parseLong(properties.getProperty(SEED)),
+                Long.parseLong(properties.getProperty(NEXT_ROW)),
+                Long.parseLong(properties.getProperty(OUTPUT_LENGTH)));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Checkpoint file " + checkpointPath + " is incomplete or corrupt");
+        }
+    }
+
+    /**
+     * Replaces the checkpoint at the given path, so that a crash while writing leaves the previous checkpoint intact.
+     */
+    public void write(Path checkpointPath) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(SEED, Long.toString(seed));
+        properties.setProperty(NEXT_ROW, Long.toString(nextRow));
+        properties.setProperty(OUTPUT_LENGTH, Long.toString(outputLength));
+
+        Path temporaryPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temporaryPath)) {
+            properties.store(stream, "Progress of a generate run; pass --resume to continue it");
+        }
+        Files.move(temporaryPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Discards anything written to the output file after this checkpoint was taken.
+     */
+    public void truncateOutput(Path outputPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.WRITE)) {
+            if (channel.size() < outputLength) {
+                throw new ValidationException(
+                    "Output file " + outputPath + " is shorter than when it was checkpointed; it cannot be resumed");
+            }
+
+            channel.truncate(outputLength);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getNextRow() {
+        return nextRow;
+    }
+
+    public long getOutputLength() {
+        return outputLength;
+    }
+}
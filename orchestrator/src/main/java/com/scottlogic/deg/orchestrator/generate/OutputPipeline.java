@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.generator.utils.BackgroundBufferingIterator;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates rows and formats their values on threads of their own, so that both overlap with writing the rows.
+ *
+ * Each stage buffers a bounded number of rows ahead of the next, so a slow writer holds back generation rather than
+ * rows accumulating in memory. Anything thrown by an earlier stage is rethrown to the writer at that row, and closing
+ * the pipelined stream stops both stages before closing the stream of generated rows.
+ */
+class OutputPipeline {
+    private static final int STAGE_BUFFER_SIZE = 1000;
+
+    static Stream<GeneratedObject> pipeline(Stream<GeneratedObject> generatedRows, ProfileFields fields) {
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "output-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        BackgroundBufferingIterator<GeneratedObject> generationStage = new BackgroundBufferingIterator<>(
+            generatedRows.iterator(),
+            STAGE_BUFFER_SIZE,
+            executor);
+
+        // subsets of a profile's fields keep their ordinals, so the largest one sets the width of each row
+        int rowWidth = fields.stream().mapToInt(fields::getOrdinal).max().orElse(-1) + 1;
+        BackgroundBufferingIterator<GeneratedObject> formattingStage = new BackgroundBufferingIterator<>(
+            stream(generationStage).<GeneratedObject>map(row -> new FormattedRow(row, fields, rowWidth)).iterator(),
+            STAGE_BUFFER_SIZE,
+            executor);
+
+        return stream(formattingStage)
+            .onClose(() -> {
+                formattingStage.close();
+                generationStage.close();
+                executor.shutdownNow();
+                generatedRows.close();
+            });
+    }
+
+    private static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * A row whose values have all been formatted up front, so the writer only has to serialise them. The values are
+     * held at the ordinals of their fields, as in a DataBag.
+     */
+    private static class FormattedRow implements GeneratedObject {
+        private final ProfileFields fields;
+        private final Object[] formattedValues;
+
+        FormattedRow(GeneratedObject row, ProfileFields fields, int rowWidth) {
+            this.fields = fields;
+            this.formattedValues = new Object[rowWidth];
+            for (Field field : fields) {
+                formattedValues[fields.getOrdinal(field)] = row.getFormattedValue(field);
+            }
+        }
+
+        @Override
+        public Object getFormattedValue(Field field) {
+            int ordinal = fields.getOrdinal(field);
+            return ordinal < 0 ? null : formattedValues[ordinal];
+        }
+    }
+}
@@ -17,8 +17,14 @@
 package com.scottlogic.deg.orchestrator.guice;
 
 import com.scottlogic.deg.generator.generation.GenerationConfigSource;
+import com.scottlogic.deg.orchestrator.generate.GenerationCheckpoint;
 import com.scottlogic.deg.output.guice.OutputConfigSource;
 import com.scottlogic.deg.profile.guice.ProfileConfigSource;
 
+import java.util.Optional;
+
 public interface AllConfigSource extends GenerationConfigSource, ProfileConfigSource, OutputConfigSource {
+    boolean pipelineOutput();
+    long getCheckpointInterval();
+    Optional<GenerationCheckpoint> getCheckpointToResumeFrom();
 }
@@ -18,6 +18,7 @@ package com.scottlogic.deg.orchestrator.validator;
 
 import com.google.inject.Inject;
 import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.output.guice.OutputConfigSource;
 import com.scottlogic.deg.output.outputtarget.OutputTargetValidationException;
@@ -37,9 +38,38 @@ public class ConfigValidator {
     }
 
     public void preProfileChecks(AllConfigSource generationConfigSource) {
+        checkRowsToSkip(generationConfigSource.getRowsToSkip());
+        checkGenerationThreads(generationConfigSource.getGenerationThreads());
+        checkShardIsSeeded(generationConfigSource);
         checkProfileInputFile(generationConfigSource.getProfileFile());
     }
 
+    private void checkRowsToSkip(long rowsToSkip) {
+        if (rowsToSkip < 0) {
+            throw new ValidationException("Rows to skip " + rowsToSkip + " is invalid, it must not be negative");
+        }
+    }
+
+    private void checkGenerationThreads(int generationThreads) {
+        if (generationThreads < 1) {
+            throw new ValidationException(
+                "Generation threads " + generationThreads + " is invalid, at least 1 thread is needed");
+        }
+    }
+
+    /**
+     * Random rows are keyed from the seed, so shards seeded independently from the clock would overlap rather than
+     * adding up to the rows of a single run
+     */
+    private void checkShardIsSeeded(AllConfigSource generationConfigSource) {
+        if (generationConfigSource.getGenerationType() == DataGenerationType.RANDOM
+            && !generationConfigSource.getShard().isAllRows()
+            && !generationConfigSource.getSeed().isPresent()) {
+            throw new ValidationException(
+                "Shard " + generationConfigSource.getShard() + " needs a --seed in RANDOM mode, the same for every shard");
+        }
+    }
+
     private void checkProfileInputFile(File profileFile) {
         if (fileUtils.containsInvalidChars(profileFile)) {
             throw new ValidationException("Profile file path " + profileFile +
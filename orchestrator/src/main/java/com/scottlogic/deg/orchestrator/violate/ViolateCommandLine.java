@@ -19,11 +19,13 @@ package com.scottlogic.deg.orchestrator.violate;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.orchestrator.generate.GenerateCommandLine;
 import com.scottlogic.deg.profile.v0_1.AtomicConstraintType;
 import picocli.CommandLine;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @CommandLine.Command(
@@ -37,6 +39,9 @@ public class ViolateCommandLine extends GenerateCommandLine implements ViolateCo
 
     @Override
     public Integer call() throws IOException {
+        rejectGenerateOnlyOptions();
+        useRegexCacheDirectory();
+
         Module container = new ViolateModule(this);
         Injector injector = Guice.createInjector(container);
 
@@ -44,6 +49,27 @@ public class ViolateCommandLine extends GenerateCommandLine implements ViolateCo
         return 0;
     }
 
+    /**
+     * Checkpoints and pipelined output are only implemented for the single data set written by generate
+     */
+    private void rejectGenerateOnlyOptions() {
+        List<String> unsupportedOptions = new ArrayList<>();
+        if (isResumeRequested()) {
+            unsupportedOptions.add("--resume");
+        }
+        if (getCheckpointInterval() > 0) {
+            unsupportedOptions.add("--checkpoint-interval");
+        }
+        if (pipelineOutput()) {
+            unsupportedOptions.add("--pipeline-output");
+        }
+
+        if (!unsupportedOptions.isEmpty()) {
+            throw new ValidationException(
+                "The violate command does not support " + String.join(", ", unsupportedOptions));
+        }
+    }
+
     @CommandLine.Option(
         names = {"--dont-violate"},
         arity = "0..",
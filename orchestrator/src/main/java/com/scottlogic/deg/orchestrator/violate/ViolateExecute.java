@@ -113,8 +113,9 @@ public class ViolateExecute {
         Stream<GeneratedObject> generatedDataItems,
         SingleDatasetOutputTarget outputTarget) throws IOException
     {
-        try (DataSetWriter writer = outputTarget.openWriter(profile.getFields())) {
-            generatedDataItems.forEach(row -> {
+        try (DataSetWriter writer = outputTarget.openWriter(profile.getFields());
+             Stream<GeneratedObject> items = generatedDataItems) {
+            items.forEach(row -> {
                 try {
                     writer.writeRow(row);
                 } catch (IOException e) {
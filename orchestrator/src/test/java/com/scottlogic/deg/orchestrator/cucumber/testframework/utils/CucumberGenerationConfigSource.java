@@ -19,6 +19,7 @@ package com.scottlogic.deg.orchestrator.cucumber.testframework.utils;
 import com.google.inject.Inject;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.generator.config.detail.*;
+import com.scottlogic.deg.orchestrator.generate.GenerationCheckpoint;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.orchestrator.violate.ViolateConfigSource;
 import com.scottlogic.deg.output.guice.OutputFormat;
@@ -27,6 +28,7 @@ import com.scottlogic.deg.profile.v0_1.AtomicConstraintType;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 public class CucumberGenerationConfigSource implements AllConfigSource, ViolateConfigSource {
     private final CucumberTestState state;
@@ -51,6 +53,11 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return state.combinationStrategyType;
     }
 
+    @Override
+    public int getCombinationStrength() {
+        return 2;
+    }
+
     @Override
     public TreeWalkerType getWalkerType() {
         return state.walkerType;
@@ -71,11 +78,46 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return state.maxRows;
     }
 
+    @Override
+    public long getRowsToSkip() {
+        return 0;
+    }
+
+    @Override
+    public Optional<Long> getSeed() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Shard getShard() {
+        return Shard.ALL_ROWS;
+    }
+
     @Override
     public boolean shouldDoPartitioning() {
         return false;
     }
 
+    @Override
+    public boolean walkPartitionsInParallel() {
+        return false;
+    }
+
+    @Override
+    public int getGenerationThreads() {
+        return 1;
+    }
+
+    @Override
+    public Optional<Path> getRegexCacheDirectory() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean sampleRegexesUniformly() {
+        return false;
+    }
+
     @Override
     public boolean dontOptimise() {
         return false;
@@ -101,6 +143,26 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return false;
     }
 
+    @Override
+    public boolean appendToOutputFile() {
+        return false;
+    }
+
+    @Override
+    public boolean pipelineOutput() {
+        return false;
+    }
+
+    @Override
+    public long getCheckpointInterval() {
+        return 0;
+    }
+
+    @Override
+    public Optional<GenerationCheckpoint> getCheckpointToResumeFrom() {
+        return Optional.empty();
+    }
+
     @Override
     public boolean useStdOut() {
         return false;
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.generator.config.detail.Shard;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class CheckpointingDataSetWriterTests {
+    private Path directory;
+    private Path outputPath;
+    private Path checkpointPath;
+
+    @BeforeEach
+    void createOutputFile() throws IOException {
+        directory = Files.createTempDirectory("checkpoint");
+        outputPath = directory.resolve("output.csv");
+        checkpointPath = GenerationCheckpoint.pathFor(outputPath);
+        Files.write(outputPath, "header\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void writeRow_everyCheckpointInterval_writesCheckpoint() throws IOException {
+        DataSetWriter writer = new CheckpointingDataSetWriter(new LineWriter(), outputPath, 9, Shard.ALL_ROWS, 0, 2);
+
+        writer.writeRow(mock(GeneratedObject.class));
+        assertFalse(Files.exists(checkpointPath));
+        writer.writeRow(mock(GeneratedObject.class));
+        writer.writeRow(mock(GeneratedObject.class));
+
+        GenerationCheckpoint checkpoint = GenerationCheckpoint.read(checkpointPath);
+        assertThat(checkpoint.getSeed(), equalTo(9L));
+        assertThat(checkpoint.getNextRow(), equalTo(2L));
+        assertThat(checkpoint.getOutputLength(), equalTo((long) "header\nrow\nrow\n".length()));
+    }
+
+    @Test
+    void close_afterRowsOfShard_writesCheckpointOfNextRowOfShard() throws IOException {
+        DataSetWriter writer = new CheckpointingDataSetWriter(new LineWriter(), outputPath, 9, new Shard(2, 3), 5, 100);
+
+        writer.writeRow(mock(GeneratedObject.class));
+        writer.writeRow(mock(GeneratedObject.class));
+        writer.close();
+
+        // rows 7 and 10 of the shard have been written
+        assertThat(GenerationCheckpoint.read(checkpointPath).getNextRow(), equalTo(13L));
+    }
+
+    @Test
+    void close_afterRowFailedPartWayThrough_keepsPreviousCheckpoint() throws IOException {
+        LineWriter underlyingWriter = new LineWriter();
+        DataSetWriter writer = new CheckpointingDataSetWriter(underlyingWriter, outputPath, 9, Shard.ALL_ROWS, 0, 1);
+        writer.writeRow(mock(GeneratedObject.class));
+
+        underlyingWriter.failNextRow = true;
+        assertThrows(IOException.class, () -> writer.writeRow(mock(GeneratedObject.class)));
+        writer.close();
+
+        assertThat(GenerationCheckpoint.read(checkpointPath).getNextRow(), equalTo(1L));
+        assertThat(GenerationCheckpoint.read(checkpointPath).getOutputLength(), equalTo((long) "header\nrow\n".length()));
+    }
+
+    private class LineWriter implements DataSetWriter {
+        boolean failNextRow;
+
+        @Override
+        public void writeRow(GeneratedObject row) throws IOException {
+            Files.write(outputPath, (failNextRow ? "ro" : "row\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            if (failNextRow) {
+                throw new IOException("disk full");
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationCheckpointTests {
+    private Path directory;
+    private Path outputPath;
+
+    @BeforeEach
+    void createOutputFile() throws IOException {
+        directory = Files.createTempDirectory("checkpoint");
+        outputPath = directory.resolve("output.csv");
+        Files.write(outputPath, "header\nrow 1\nrow 2\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void pathFor_outputPath_isAlongsideOutputFile() {
+        assertThat(
+            GenerationCheckpoint.pathFor(outputPath),
+            equalTo(outputPath.resolveSibling("output.csv.checkpoint")));
+    }
+
+    @Test
+    void read_afterWrite_returnsCheckpointWritten() throws IOException {
+        Path checkpointPath = GenerationCheckpoint.pathFor(outputPath);
+        new GenerationCheckpoint(-7, 12345678901L, 42).write(checkpointPath);
+
+        GenerationCheckpoint checkpoint = GenerationCheckpoint.read(checkpointPath);
+
+        assertThat(checkpoint.getSeed(), equalTo(-7L));
+        assertThat(checkpoint.getNextRow(), equalTo(12345678901L));
+        assertThat(checkpoint.getOutputLength(), equalTo(42L));
+    }
+
+    @Test
+    void read_withNoCheckpoint_throwsValidationException() {
+        assertThrows(
+            ValidationException.class,
+            () -> GenerationCheckpoint.read(GenerationCheckpoint.pathFor(outputPath)));
+    }
+
+    @Test
+    void truncateOutput_withRowsWrittenAfterCheckpoint_discardsThoseRows() throws IOException {
+        new GenerationCheckpoint(0, 1, "header\nrow 1\n".length()).truncateOutput(outputPath);
+
+        assertThat(
+            new String(Files.readAllBytes(outputPath), StandardCharsets.UTF_8),
+            equalTo("header\nrow 1\n"));
+    }
+
+    @Test
+    void truncateOutput_withOutputShorterThanCheckpoint_throwsValidationException() {
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint(0, 3, 1000);
+
+        assertThrows(ValidationException.class, () -> checkpoint.truncateOutput(outputPath));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.orchestrator.generate;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutputPipelineTests {
+    private final Field number = new Field("number");
+    private final Field square = new Field("square");
+    private final ProfileFields fields = new ProfileFields(Arrays.asList(number, square));
+
+    @Test
+    void pipeline_rows_producesRowsFormattedInOrder() {
+        Stream<GeneratedObject> rows = IntStream.range(0, 5000).mapToObj(this::row);
+
+        List<Object> squares;
+        try (Stream<GeneratedObject> pipelinedRows = OutputPipeline.pipeline(rows, fields)) {
+            squares = pipelinedRows.map(row -> row.getFormattedValue(square)).collect(Collectors.toList());
+        }
+
+        assertThat(
+            squares,
+            equalTo(IntStream.range(0, 5000).mapToObj(n -> "#" + n * n).collect(Collectors.toList())));
+    }
+
+    @Test
+    void pipeline_withSubsetOfProfileFields_formatsOnlyThoseFields() {
+        ProfileFields squareOnly = fields.subset(Arrays.asList(square));
+
+        List<GeneratedObject> formattedRows;
+        try (Stream<GeneratedObject> pipelinedRows = OutputPipeline.pipeline(Stream.of(row(3)), squareOnly)) {
+            formattedRows = pipelinedRows.collect(Collectors.toList());
+        }
+
+        assertThat(formattedRows.get(0).getFormattedValue(square), equalTo("#9"));
+        assertThat(formattedRows.get(0).getFormattedValue(number), nullValue());
+    }
+
+    @Test
+    void pipeline_whereGenerationFails_rethrowsToTheWriterAfterEarlierRows() {
+        Stream<GeneratedObject> rows = IntStream.range(0, 10).mapToObj(n -> {
+            if (n == 3) {
+                throw new IllegalStateException("generation failed");
+            }
+            return row(n);
+        });
+
+        try (Stream<GeneratedObject> pipelinedRows = OutputPipeline.pipeline(rows, fields)) {
+            List<GeneratedObject> rowsWritten = new ArrayList<>();
+
+            assertThrows(IllegalStateException.class, () -> pipelinedRows.forEach(rowsWritten::add));
+            assertThat(rowsWritten.size(), equalTo(3));
+        }
+    }
+
+    @Test
+    void pipeline_whenClosed_closesTheGeneratedRows() {
+        AtomicBoolean generatedRowsClosed = new AtomicBoolean();
+        Stream<GeneratedObject> rows = IntStream.iterate(0, n -> n + 1)
+            .mapToObj(this::row)
+            .onClose(() -> generatedRowsClosed.set(true));
+
+        try (Stream<GeneratedObject> pipelinedRows = OutputPipeline.pipeline(rows, fields)) {
+            pipelinedRows.limit(10).forEach(row -> {});
+        }
+
+        assertTrue(generatedRowsClosed.get());
+    }
+
+    private GeneratedObject row(int n) {
+        return field -> field.equals(number) ? n : "#" + n * n;
+    }
+}
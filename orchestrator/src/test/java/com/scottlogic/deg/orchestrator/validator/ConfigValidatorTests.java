@@ -18,14 +18,21 @@ package com.scottlogic.deg.orchestrator.validator;
 
 import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.config.detail.Shard;
+import com.scottlogic.deg.orchestrator.generate.GenerateCommandLine;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.output.FileUtils;
 import com.scottlogic.deg.output.outputtarget.OutputTargetValidationException;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import picocli.CommandLine;
+
 import java.io.File;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -40,6 +47,13 @@ public class ConfigValidatorTests {
     @Mock
     private File mockProfileFile = mock(File.class);
 
+    @Before
+    public void setUp() {
+        when(mockConfigSource.getGenerationThreads()).thenReturn(1);
+        when(mockConfigSource.getShard()).thenReturn(Shard.ALL_ROWS);
+        when(mockConfigSource.getSeed()).thenReturn(Optional.empty());
+    }
+
     @Test
     public void preProfileChecks_withValid_returnsNoErrorMessages() {
         ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
@@ -66,6 +80,45 @@ public class ConfigValidatorTests {
         assertDoesNotThrow(()->configValidator.preProfileChecks(mockConfigSource),"Expected no exception, but one was thrown.");
     }
 
+    @Test
+    public void preProfileChecks_negativeRowsToSkip_throwsException() {
+        ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
+        when(mockConfigSource.getProfileFile()).thenReturn(mockProfileFile);
+        when(mockConfigSource.getRowsToSkip()).thenReturn(-5L);
+
+        assertThrows(ValidationException.class, ()->configValidator.preProfileChecks(mockConfigSource),"Expected ValidationException to throw, but didn't");
+    }
+
+    @Test
+    public void preProfileChecks_zeroGenerationThreads_throwsException() {
+        ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
+        when(mockConfigSource.getProfileFile()).thenReturn(mockProfileFile);
+        when(mockConfigSource.getGenerationThreads()).thenReturn(0);
+
+        ValidationException exception = assertThrows(ValidationException.class, ()->configValidator.preProfileChecks(mockConfigSource),"Expected ValidationException to throw, but didn't");
+
+        assertTrue(exception.getMessage().contains("Generation threads 0"));
+    }
+
+    @Test
+    public void preProfileChecks_randomShardWithoutSeed_throwsException() {
+        ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
+        GenerateCommandLine commandLine = CommandLine.populateCommand(
+            new GenerateCommandLine(), "--profile-file", "profile.json", "--generation-type", "RANDOM", "--shard", "2/4");
+
+        assertThrows(ValidationException.class, ()->configValidator.preProfileChecks(commandLine),"Expected ValidationException to throw, but didn't");
+    }
+
+    @Test
+    public void preProfileChecks_randomShardWithSeed_returnsNoErrorMessages() {
+        ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
+        GenerateCommandLine commandLine = CommandLine.populateCommand(
+            new GenerateCommandLine(), "--profile-file", "src/test/java/com/scottlogic/deg/orchestrator/endtoend/testprofile.profile.json",
+            "--generation-type", "RANDOM", "--shard", "2/4", "--seed", "7");
+
+        assertDoesNotThrow(()->configValidator.preProfileChecks(commandLine),"Expected no exception, but one was thrown.");
+    }
+
     @Test
     public void preProfileChecks_profileFilePathContainsInvalidChars_throwsException() {
         ConfigValidator configValidator = new ConfigValidator(mockFileUtils);
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.orchestrator.violate;
+
+import com.scottlogic.deg.common.ValidationException;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ViolateCommandLineTests {
+    @Test
+    void call_withResume_throwsValidationException() {
+        ViolateCommandLine commandLine = CommandLine.populateCommand(
+            new ViolateCommandLine(), "--profile-file", "profile.json", "--resume");
+
+        ValidationException exception = assertThrows(ValidationException.class, commandLine::call);
+
+        assertThat(exception.getMessage(), containsString("--resume"));
+    }
+
+    @Test
+    void call_withCheckpointIntervalAndPipelineOutput_namesBothOptions() {
+        ViolateCommandLine commandLine = CommandLine.populateCommand(
+            new ViolateCommandLine(), "--profile-file", "profile.json", "--checkpoint-interval", "100", "--pipeline-output");
+
+        ValidationException exception = assertThrows(ValidationException.class, commandLine::call);
+
+        assertThat(exception.getMessage(), containsString("--checkpoint-interval, --pipeline-output"));
+    }
+}
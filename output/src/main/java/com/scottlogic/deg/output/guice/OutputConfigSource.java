@@ -22,5 +22,6 @@ public interface OutputConfigSource {
     OutputFormat getOutputFormat();
     Path getOutputPath();
     boolean overwriteOutputFiles();
+    boolean appendToOutputFile();
     boolean useStdOut();
 }
@@ -49,5 +49,9 @@ public class OutputModule extends AbstractModule {
         bind(boolean.class)
             .annotatedWith(Names.named("config:canOverwriteOutputFiles"))
             .toInstance(outputConfigSource.overwriteOutputFiles());
+
+        bind(boolean.class)
+            .annotatedWith(Names.named("config:appendToOutputFile"))
+            .toInstance(outputConfigSource.appendToOutputFile());
     }
 }
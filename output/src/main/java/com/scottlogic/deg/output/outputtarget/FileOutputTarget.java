@@ -33,6 +33,7 @@ import java.nio.file.Paths;
 public class FileOutputTarget implements SingleDatasetOutputTarget {
     private final Path filePath;
     private final boolean canOverwriteExistingFiles;
+    private final boolean appendToExistingFile;
     private final OutputWriterFactory outputWriterFactory;
     private final FileUtils fileUtils;
 
@@ -40,8 +41,11 @@ public class FileOutputTarget implements SingleDatasetOutputTarget {
     public FileOutputTarget(
         OutputPath outputPath,
         OutputWriterFactory outputWriterFactory,
-        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles, FileUtils fileUtils) {
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles,
+        @Named("config:appendToOutputFile") boolean appendToOutputFile,
+        FileUtils fileUtils) {
         this.canOverwriteExistingFiles = canOverwriteOutputFiles;
+        this.appendToExistingFile = appendToOutputFile;
         this.outputWriterFactory = outputWriterFactory;
         this.fileUtils = fileUtils;
         this.filePath = outputPath.getPath();
@@ -51,10 +55,12 @@ public class FileOutputTarget implements SingleDatasetOutputTarget {
     public DataSetWriter openWriter(ProfileFields fields) throws IOException {
         final OutputStream stream = new FileOutputStream(
             this.filePath.toFile(),
-            false);
+            appendToExistingFile);
 
         try {
-            return outputWriterFactory.createWriter(stream, fields);
+            return appendToExistingFile
+                ? outputWriterFactory.createAppendingWriter(stream, fields)
+                : outputWriterFactory.createWriter(stream, fields);
         } catch (Exception e) {
             stream.close();
             throw e;
@@ -68,6 +74,18 @@ public class FileOutputTarget implements SingleDatasetOutputTarget {
                 "target is a directory; please use a different output filename"
             );
         }
+        else if (appendToExistingFile) {
+            if (!outputWriterFactory.supportsAppending()) {
+                throw new OutputTargetValidationException(
+                    "output format cannot be appended to; please use an output format that supports resuming, e.g. CSV"
+                );
+            }
+            if (!fileUtils.exists(filePath)) {
+                throw new OutputTargetValidationException(
+                    "file to append to does not exist; please use the output filename of the run to continue"
+                );
+            }
+        }
         else if (!canOverwriteExistingFiles && fileUtils.exists(filePath)) {
             throw new OutputTargetValidationException(
                 "file already exists; please use a different output filename or use the --replace option"
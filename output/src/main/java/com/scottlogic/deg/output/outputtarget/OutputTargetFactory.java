@@ -53,6 +53,7 @@ public class OutputTargetFactory {
             new OutputPath(directoryPath.resolve(filename)),
             formatOfViolationDatasets,
             canOverwriteExistingFiles,
+            false,
             fileUtils);
     }
 }
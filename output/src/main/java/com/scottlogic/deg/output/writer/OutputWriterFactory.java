@@ -29,5 +29,16 @@ public interface OutputWriterFactory {
         OutputStream stream,
         ProfileFields profileFields) throws IOException;
 
+    /** Whether this format can continue a data set already written, e.g. to resume a run. */
+    boolean supportsAppending();
+
+    /**
+     * Creates a writer that continues a data set already written to the stream, e.g. without repeating a header.
+     * Only called when {@link #supportsAppending()} is true.
+     */
+    DataSetWriter createAppendingWriter(
+        OutputStream stream,
+        ProfileFields profileFields) throws IOException;
+
     Optional<String> getFileExtensionWithoutDot();
 }
@@ -36,6 +36,9 @@ class CsvDataSetWriter implements DataSetWriter {
     private static final DateTimeFormatter standardDateFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
     private static final CSVFormat writerFormat = CSVFormat.RFC4180;
     private static final CSVFormat csvStringFormatter = writerFormat.withQuoteMode(QuoteMode.ALL);
+    private static final CSVFormat rowFormat = writerFormat
+        .withEscape('\0') //Dont escape any character, we're formatting strings ourselves
+        .withQuoteMode(QuoteMode.NONE);
 
     private final CSVPrinter csvPrinter;
     private final ProfileFields fieldOrder;
@@ -46,17 +49,22 @@ class CsvDataSetWriter implements DataSetWriter {
     }
 
     static DataSetWriter open(OutputStream stream, ProfileFields fields) throws IOException {
-        final Appendable outputStreamAsAppendable = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
-
-        CSVPrinter csvPrinter = writerFormat
-            .withEscape('\0') //Dont escape any character, we're formatting strings ourselves
-            .withQuoteMode(QuoteMode.NONE)
-            .withHeader(fields.stream()
+        return open(
+            stream,
+            fields,
+            rowFormat.withHeader(fields.stream()
                 .map(f -> f.name)
-                .toArray(String[]::new))
-            .print(outputStreamAsAppendable);
+                .toArray(String[]::new)));
+    }
+
+    static DataSetWriter openWithoutHeader(OutputStream stream, ProfileFields fields) throws IOException {
+        return open(stream, fields, rowFormat);
+    }
+
+    private static DataSetWriter open(OutputStream stream, ProfileFields fields, CSVFormat format) throws IOException {
+        final Appendable outputStreamAsAppendable = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
 
-        return new CsvDataSetWriter(csvPrinter, fields);
+        return new CsvDataSetWriter(format.print(outputStreamAsAppendable), fields);
     }
 
     @Override
@@ -30,6 +30,16 @@ public class CsvOutputWriterFactory implements OutputWriterFactory {
         return CsvDataSetWriter.open(stream, profileFields);
     }
 
+    @Override
+    public boolean supportsAppending() {
+        return true;
+    }
+
+    @Override
+    public DataSetWriter createAppendingWriter(OutputStream stream, ProfileFields profileFields) throws IOException {
+        return CsvDataSetWriter.openWithoutHeader(stream, profileFields);
+    }
+
     @Override
     public Optional<String> getFileExtensionWithoutDot() {
         return Optional.of("csv");
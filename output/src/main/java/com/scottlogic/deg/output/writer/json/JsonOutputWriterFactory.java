@@ -30,6 +30,16 @@ public class JsonOutputWriterFactory implements OutputWriterFactory {
         return JsonDataSetWriter.open(stream, profileFields);
     }
 
+    @Override
+    public boolean supportsAppending() {
+        return false;
+    }
+
+    @Override
+    public DataSetWriter createAppendingWriter(OutputStream stream, ProfileFields profileFields) {
+        throw new UnsupportedOperationException("JSON output is a single array, so it cannot be appended to");
+    }
+
     @Override
     public Optional<String> getFileExtensionWithoutDot() {
         return Optional.of("json");
@@ -46,7 +46,7 @@ public class FileOutputTargetTests {
         Mockito.when(mockFileUtils.isDirectory(Matchers.any())).thenReturn(true);
         Mockito.when(mockFilePath.getParent()).thenReturn(mockParentPath);
         OutputPath outputPath = new OutputPath(mockFilePath);
-        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, mockFileUtils);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, false, mockFileUtils);
 
         assertThrows(OutputTargetValidationException.class, outputTarget::validate, "Expected OutputTargetValidationException to throw, but didn't");
     }
@@ -58,7 +58,7 @@ public class FileOutputTargetTests {
         Mockito.when(mockFilePath.getParent()).thenReturn(mockParentPath);
         Mockito.when(mockFileUtils.exists(Matchers.any())).thenReturn(true);
         OutputPath outputPath = new OutputPath(mockFilePath);
-        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, mockFileUtils);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, false, mockFileUtils);
 
         assertThrows(OutputTargetValidationException.class, outputTarget::validate, "Expected OutputTargetValidationException to throw, but didn't");
     }
@@ -70,7 +70,7 @@ public class FileOutputTargetTests {
         Mockito.when(mockFilePath.getParent()).thenReturn(mockParentPath);
         Mockito.when(mockFileUtils.exists(Matchers.any())).thenReturn(true);
         OutputPath outputPath = new OutputPath(mockFilePath);
-        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, true, mockFileUtils);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, true, false, mockFileUtils);
 
         assertDoesNotThrow(outputTarget::validate,"Expected no exception, but one was thrown");
     }
@@ -83,7 +83,7 @@ public class FileOutputTargetTests {
         Mockito.when(mockFileUtils.isDirectory(mockFilePath)).thenReturn(false);
         Mockito.when(mockFileUtils.createDirectories(Matchers.any())).thenReturn(true);
         OutputPath outputPath = new OutputPath(mockFilePath);
-        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, true, mockFileUtils);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, true, false, mockFileUtils);
 
         assertDoesNotThrow(outputTarget::validate,"Expected no exception, but one was thrown");
     }
@@ -96,9 +96,41 @@ public class FileOutputTargetTests {
         Mockito.when(mockFileUtils.isDirectory(mockFilePath)).thenReturn(false);
         Mockito.when(mockFileUtils.isDirectory(mockParentPath)).thenReturn(false);
         OutputPath outputPath = new OutputPath(mockFilePath);
-        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, mockFileUtils);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, false, mockFileUtils);
 
         assertThrows(OutputTargetValidationException.class, outputTarget::validate,"Expected OutputTargetValidationException to throw, but didn't");
     }
-}
 
+    @Test
+    public void validate_appendToOutputFileThatExistsNoOverwrite_doesntThrow() {
+        Mockito.when(mockOutputFormat.supportsAppending()).thenReturn(true);
+        Mockito.when(mockFileUtils.isDirectory(mockFilePath)).thenReturn(false);
+        Mockito.when(mockFileUtils.exists(Matchers.any())).thenReturn(true);
+        OutputPath outputPath = new OutputPath(mockFilePath);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, true, mockFileUtils);
+
+        assertDoesNotThrow(outputTarget::validate,"Expected no exception, but one was thrown");
+    }
+
+    @Test
+    public void validate_appendToOutputFileThatDoesntExist_throwsException() {
+        Mockito.when(mockOutputFormat.supportsAppending()).thenReturn(true);
+        Mockito.when(mockFileUtils.isDirectory(mockFilePath)).thenReturn(false);
+        Mockito.when(mockFileUtils.exists(Matchers.any())).thenReturn(false);
+        OutputPath outputPath = new OutputPath(mockFilePath);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, true, true, mockFileUtils);
+
+        assertThrows(OutputTargetValidationException.class, outputTarget::validate,"Expected OutputTargetValidationException to throw, but didn't");
+    }
+
+    @Test
+    public void validate_appendToOutputFileInFormatThatCannotBeAppendedTo_throwsException() {
+        Mockito.when(mockOutputFormat.supportsAppending()).thenReturn(false);
+        Mockito.when(mockFileUtils.isDirectory(mockFilePath)).thenReturn(false);
+        Mockito.when(mockFileUtils.exists(Matchers.any())).thenReturn(true);
+        OutputPath outputPath = new OutputPath(mockFilePath);
+        FileOutputTarget outputTarget = new FileOutputTarget(outputPath, mockOutputFormat, false, true, mockFileUtils);
+
+        assertThrows(OutputTargetValidationException.class, outputTarget::validate,"Expected OutputTargetValidationException to throw, but didn't");
+    }
+}
@@ -101,6 +101,22 @@ class CsvOutputWriterFactoryTests {
                 .collect(Collectors.toList()));
     }
 
+    @Test
+    void createAppendingWriter_writeRow_shouldOutputRowWithoutHeader() throws IOException {
+        ProfileFields fields = fields("my_number");
+        GeneratedObject mockGeneratedObject = mock(GeneratedObject.class);
+        when(mockGeneratedObject.getFormattedValue(eq(fields.iterator().next()))).thenReturn(1.2f);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try (DataSetWriter writer = new CsvOutputWriterFactory().createAppendingWriter(stream, fields)) {
+            writer.writeRow(mockGeneratedObject);
+        }
+
+        Assert.assertThat(
+            stream.toString(StandardCharsets.UTF_8.name()).replace("\r\n", "\n"),
+            Matchers.equalTo("1.2\n"));
+    }
+
     private static void expectCsv(ProfileFields fields, Object value, Matcher<String> matcher) throws IOException {
         // Act
         GeneratedObject mockGeneratedObject = mock(GeneratedObject.class);
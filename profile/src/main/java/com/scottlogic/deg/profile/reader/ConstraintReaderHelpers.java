@@ -18,6 +18,8 @@ package com.scottlogic.deg.profile.reader;
 
 import com.scottlogic.deg.common.util.Defaults;
 import com.scottlogic.deg.common.util.NumberUtils;
+import com.scottlogic.deg.common.util.SortedArraySet;
+import com.scottlogic.deg.common.util.WeightedSet;
 import com.scottlogic.deg.profile.v0_1.ConstraintDTO;
 
 import java.math.BigDecimal;
@@ -49,7 +51,7 @@ public class ConstraintReaderHelpers {
             ));
         }
 
-        Set<Object> mappedValues = new HashSet<>();
+        List<Object> mappedValues = new ArrayList<>();
         for (Object value : dto.values) {
             if (value == null) {
                 throw new InvalidProfileException(String.format(
@@ -61,7 +63,47 @@ public class ConstraintReaderHelpers {
             mappedValues.add(getValidatedValue(dto, value, Object.class));
         }
 
-        return mappedValues;
+        return dto.weights == null
+            ? SortedArraySet.of(mappedValues)
+            : getWeightedValues(dto, mappedValues);
+    }
+
+    private static Set<Object> getWeightedValues(ConstraintDTO dto, List<Object> values) {
+        if (dto.weights.size() != dto.values.size()) {
+            throw new InvalidProfileException(String.format(
+                "Field [%s]: 'weights' must contain one entry for each of the %d values, but has %d",
+                dto.field,
+                dto.values.size(),
+                dto.weights.size()
+            ));
+        }
+
+        Map<Object, Double> weightedValues = new LinkedHashMap<>();
+        Iterator<Object> weights = dto.weights.iterator();
+        for (Object value : values) {
+            Object weight = weights.next();
+            if (!isPositiveFiniteNumber(weight)) {
+                throw new InvalidProfileException(String.format(
+                    "Field [%s]: Couldn't recognise 'weights' property, each weight must be a positive number but found `%s`",
+                    dto.field,
+                    weight
+                ));
+            }
+
+            // repeating a value in the set adds to its weight
+            weightedValues.merge(value, ((Number) weight).doubleValue(), Double::sum);
+        }
+
+        return new WeightedSet<>(weightedValues);
+    }
+
+    private static boolean isPositiveFiniteNumber(Object value) {
+        if (!(value instanceof Number)) {
+            return false;
+        }
+
+        double number = ((Number) value).doubleValue();
+        return number > 0 && !Double.isInfinite(number);
     }
 
     public static <T> Optional<T> tryGetValidatedValue(ConstraintDTO dto, Class<T> requiredType) {
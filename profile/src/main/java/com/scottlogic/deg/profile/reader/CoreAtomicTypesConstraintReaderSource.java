@@ -25,21 +25,23 @@ import com.scottlogic.deg.common.profile.constraints.atomic.*;
 import com.scottlogic.deg.common.profile.constraints.grammatical.AndConstraint;
 import com.scottlogic.deg.common.util.Defaults;
 import com.scottlogic.deg.profile.reader.file.CsvInputStreamReader;
+import com.scottlogic.deg.profile.reader.file.MappedCsvSet;
 import com.scottlogic.deg.profile.v0_1.AtomicConstraintType;
 
 import java.io.*;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.OffsetDateTime;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class CoreAtomicTypesConstraintReaderSource implements ConstraintReaderMapEntrySource {
 
     private final String fromFilePath;
+    private final Map<String, Set<Object>> setsFromFile = new HashMap<>();
 
     @Inject
     public CoreAtomicTypesConstraintReaderSource(final String fromFilePath) {
@@ -319,14 +321,10 @@ public class CoreAtomicTypesConstraintReaderSource implements ConstraintReaderMa
                 (dto, fields, rules) -> {
                     String value = ConstraintReaderHelpers.getValidatedValue(dto, String.class);
 
-                    InputStream streamFromPath = createStreamFromPath(appendPath(value));
-                    Set<String> names = CsvInputStreamReader.retrieveLines(streamFromPath);
-                    closeStream(streamFromPath);
-
-                    Set<Object> downcastedNames = new HashSet<>(names);
+                    Set<Object> values = setsFromFile.computeIfAbsent(appendPath(value), this::loadSetFromFile);
                     Field field = fields.getByName(dto.field);
 
-                    return new IsInSetConstraint(field, downcastedNames);
+                    return new IsInSetConstraint(field, values);
                 }
             )
         );
@@ -336,6 +334,27 @@ public class CoreAtomicTypesConstraintReaderSource implements ConstraintReaderMa
         return fromFilePath != null ? fromFilePath + path : path;
     }
 
+    /**
+     * Single column files are memory mapped so that large files aren't loaded onto the heap. Files with a weight
+     * column are read in full.
+     */
+    private Set<Object> loadSetFromFile(String path) {
+        Path filePath = Paths.get(path);
+        if (!Files.isRegularFile(filePath)) {
+            throw new ValidationException(path + " (No such file or directory)");
+        }
+
+        Optional<MappedCsvSet> mappedSet = MappedCsvSet.open(filePath);
+        if (mappedSet.isPresent()) {
+            return mappedSet.get();
+        }
+
+        InputStream streamFromPath = createStreamFromPath(path);
+        Set<Object> values = CsvInputStreamReader.retrieveWeightedLines(streamFromPath);
+        closeStream(streamFromPath);
+        return values;
+    }
+
     private static InputStream createStreamFromPath(String path) {
         try {
             return new FileInputStream(path);
@@ -16,6 +16,8 @@
 
 package com.scottlogic.deg.profile.reader.file;
 
+import com.scottlogic.deg.common.util.WeightedSet;
+import com.scottlogic.deg.profile.reader.InvalidProfileException;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -25,7 +27,10 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public final class CsvInputStreamReader {
@@ -37,7 +42,7 @@ public final class CsvInputStreamReader {
     public static Set<String> retrieveLines(InputStream stream) {
         List<CSVRecord> records = parse(stream);
 
-        Set<String> firstElementFromEachRecord = new HashSet<>();
+        Set<String> firstElementFromEachRecord = new LinkedHashSet<>();
         for (CSVRecord record : records) {
             String firstElement = firstElementFromRecord(record);
             firstElementFromEachRecord.add(firstElement);
@@ -46,6 +51,31 @@ public final class CsvInputStreamReader {
         return firstElementFromEachRecord;
     }
 
+    /**
+     * Reads the first column of each record as a value. If any record has a second column it is read as the weight
+     * of that value, and a WeightedSet is returned; records without a weight default to a weight of 1.
+     */
+    public static Set<Object> retrieveWeightedLines(InputStream stream) {
+        List<CSVRecord> records = parse(stream);
+
+        boolean weighted = records.stream().anyMatch(record -> record.size() > 1);
+        if (!weighted) {
+            Set<Object> firstElementFromEachRecord = new HashSet<>();
+            for (CSVRecord record : records) {
+                firstElementFromEachRecord.add(firstElementFromRecord(record));
+            }
+            return firstElementFromEachRecord;
+        }
+
+        Map<Object, Double> weightedElements = new LinkedHashMap<>();
+        for (CSVRecord record : records) {
+            // repeating a value in the file adds to its weight
+            weightedElements.merge(firstElementFromRecord(record), weightFromRecord(record), Double::sum);
+        }
+
+        return new WeightedSet<>(weightedElements);
+    }
+
     private static List<CSVRecord> parse(InputStream stream) {
         try {
             CSVParser parser = CSVParser.parse(stream, Charset.defaultCharset(), CSVFormat.DEFAULT);
@@ -58,6 +88,27 @@ public final class CsvInputStreamReader {
     private static String firstElementFromRecord(CSVRecord record) {
         return record.get(0);
     }
-    
 
+    private static double weightFromRecord(CSVRecord record) {
+        if (record.size() < 2 || record.get(1).trim().isEmpty()) {
+            return 1;
+        }
+
+        String weight = record.get(1).trim();
+        double parsed;
+        try {
+            parsed = Double.parseDouble(weight);
+        } catch (NumberFormatException e) {
+            parsed = Double.NaN;
+        }
+
+        if (parsed > 0 && !Double.isInfinite(parsed)) {
+            return parsed;
+        }
+
+        throw new InvalidProfileException(String.format(
+            "Weight on line %d must be a positive number, but was '%s'",
+            record.getRecordNumber(),
+            weight));
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.profile.reader.file;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A file mapped into memory in segments, so that files larger than a single MappedByteBuffer can hold are readable.
+ * Only absolute reads and writes are used, so a read-only instance can be shared between threads.
+ */
+class MappedBytes {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long length;
+
+    MappedBytes(FileChannel channel, FileChannel.MapMode mode, long length) throws IOException {
+        this.length = length;
+        this.segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) >> SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = i * SEGMENT_SIZE;
+            segments[i] = channel.map(mode, start, Math.min(SEGMENT_SIZE, length - start));
+        }
+    }
+
+    long length() {
+        return length;
+    }
+
+    byte get(long position) {
+        return segments[(int) (position >> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    byte[] get(long position, int count) {
+        byte[] bytes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            bytes[i] = get(position + i);
+        }
+        return bytes;
+    }
+
+    /** position must be a multiple of 4 */
+    int getInt(long position) {
+        return segments[(int) (position >> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    /** position must be a multiple of 8 */
+    long getLong(long position) {
+        return segments[(int) (position >> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    void putInt(long position, int value) {
+        segments[(int) (position >> SEGMENT_BITS)].putInt((int) (position & SEGMENT_MASK), value);
+    }
+
+    void putLong(long position, long value) {
+        segments[(int) (position >> SEGMENT_BITS)].putLong((int) (position & SEGMENT_MASK), value);
+    }
+
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.profile.reader.file;
+
+import com.scottlogic.deg.common.util.IndexedSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The distinct values of a single column CSV file, read on demand from a memory mapping of the file rather than
+ * loaded onto the heap.
+ *
+ * The position of each distinct value, and a hash table for looking them up, are kept in an index file alongside the
+ * CSV (with the suffix .idx), which is reused for as long as the CSV is unchanged. If the index can't be written next
+ * to the CSV it is written to the temporary directory instead.
+ */
+public class MappedCsvSet extends AbstractSet<Object> implements IndexedSet<Object> {
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final long MAGIC = 0x4448534554494458L;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int MAX_RECORDS = 1 << 29;
+
+    private final Index index;
+    private final int size;
+    private Integer hashCode;
+
+    private MappedCsvSet(Index index, int size) {
+        this.index = index;
+        this.size = size;
+    }
+
+    /**
+     * @return the values in the file, or empty if the file can't be read this way because it has more than one column
+     * or is malformed
+     */
+    public static Optional<MappedCsvSet> open(Path path) {
+        Charset charset = Charset.defaultCharset();
+        try {
+            MappedBytes csv = map(path, FileChannel.MapMode.READ_ONLY, Files.size(path));
+            Path indexPath = path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+
+            Optional<MappedCsvSet> existing = readIndex(path, indexPath, csv, charset);
+            if (existing.isPresent()) {
+                return existing;
+            }
+
+            return buildIndex(path, indexPath, csv, charset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a set of size " + size);
+        }
+        return this.index.value(index);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (!(value instanceof String)) {
+            return -1;
+        }
+
+        int slot = index.findSlot((String) value);
+        return index.valueAtSlot(slot) - 1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return index.value(next++);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == null) {
+            hashCode = super.hashCode();
+        }
+        return hashCode;
+    }
+
+    private static Optional<MappedCsvSet> readIndex(Path path, Path indexPath, MappedBytes csv, Charset charset)
+        throws IOException {
+        if (!Files.isRegularFile(indexPath) || Files.size(indexPath) < HEADER_SIZE) {
+            return Optional.empty();
+        }
+
+        MappedBytes bytes = map(indexPath, FileChannel.MapMode.READ_ONLY, Files.size(indexPath));
+        boolean upToDate = bytes.getLong(0) == MAGIC
+            && bytes.getInt(8) == VERSION
+            && bytes.getInt(12) == charset.name().hashCode()
+            && bytes.getLong(16) == csv.length()
+            && bytes.getLong(24) == Files.getLastModifiedTime(path).toMillis();
+        if (!upToDate) {
+            return Optional.empty();
+        }
+
+        int size = bytes.getInt(32);
+        Index index = new Index(csv, bytes, charset, bytes.getInt(36), bytes.getInt(40));
+        if (bytes.length() != index.length()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new MappedCsvSet(index, size));
+    }
+
+    private static Optional<MappedCsvSet> buildIndex(Path path, Path indexPath, MappedBytes csv, Charset charset)
+        throws IOException {
+        int[] recordCount = { 0 };
+        boolean singleColumn = scan(csv, (start, length) -> recordCount[0]++);
+        if (!singleColumn || recordCount[0] > MAX_RECORDS) {
+            return Optional.empty();
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(recordCount[0] + recordCount[0] / 3, 1)) << 1;
+        Path temporaryPath = createTemporaryFile(path);
+        try {
+            long indexLength = Index.length(recordCount[0], capacity);
+            MappedBytes bytes = map(temporaryPath, FileChannel.MapMode.READ_WRITE, indexLength);
+            Index index = new Index(csv, bytes, charset, recordCount[0], capacity);
+
+            int[] size = { 0 };
+            scan(csv, (start, length) -> {
+                int slot = index.findSlot(Index.decode(csv, charset, start, length));
+                if (index.valueAtSlot(slot) == 0) {
+                    index.add(size[0]++, slot, start, length);
+                }
+            });
+
+            bytes.putLong(0, MAGIC);
+            bytes.putInt(8, VERSION);
+            bytes.putInt(12, charset.name().hashCode());
+            bytes.putLong(16, csv.length());
+            bytes.putLong(24, Files.getLastModifiedTime(path).toMillis());
+            bytes.putInt(32, size[0]);
+            bytes.putInt(36, recordCount[0]);
+            bytes.putInt(40, capacity);
+            bytes.force();
+
+            if (!moveToIndexPath(temporaryPath, indexPath)) {
+                temporaryPath.toFile().deleteOnExit();
+            }
+
+            return Optional.of(new MappedCsvSet(index, size[0]));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryPath);
+            throw e;
+        }
+    }
+
+    private static Path createTemporaryFile(Path path) throws IOException {
+        String prefix = path.getFileName().toString();
+        try {
+            return Files.createTempFile(path.toAbsolutePath().getParent(), prefix, INDEX_SUFFIX);
+        } catch (IOException | SecurityException e) {
+            return Files.createTempFile(prefix, INDEX_SUFFIX);
+        }
+    }
+
+    private static boolean moveToIndexPath(Path temporaryPath, Path indexPath) {
+        try {
+            Files.move(temporaryPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static MappedBytes map(Path path, FileChannel.MapMode mode, long length) throws IOException {
+        OpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+            ? new OpenOption[] { StandardOpenOption.READ }
+            : new OpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE };
+
+        // the mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return new MappedBytes(channel, mode, length);
+        }
+    }
+
+    /**
+     * Passes the position of the first field of each record to the consumer, following the rules of
+     * CSVFormat.DEFAULT: records are separated by line breaks, empty lines are ignored, and a field may be quoted
+     * with a doubled quote as an escaped quote.
+     *
+     * @return false if any record has more than one field or a quoted field isn't closed properly
+     */
+    private static boolean scan(MappedBytes csv, FieldConsumer consumer) {
+        long length = csv.length();
+        long position = 0;
+        while (position < length) {
+            byte first = csv.get(position);
+            if (isLineBreak(first)) {
+                position++;
+                continue;
+            }
+
+            long start = position;
+            if (first == '"') {
+                position++;
+                while (true) {
+                    if (position >= length) {
+                        return false;
+                    }
+                    if (csv.get(position) != '"') {
+                        position++;
+                    } else if (position + 1 < length && csv.get(position + 1) == '"') {
+                        position += 2;
+                    } else {
+                        position++;
+                        break;
+                    }
+                }
+            } else {
+                while (position < length && csv.get(position) != ',' && !isLineBreak(csv.get(position))) {
+                    position++;
+                }
+            }
+
+            if (position < length && !isLineBreak(csv.get(position))) {
+                return false;
+            }
+
+            consumer.accept(start, Math.toIntExact(position - start));
+        }
+
+        return true;
+    }
+
+    private static boolean isLineBreak(byte value) {
+        return value == '\n' || value == '\r';
+    }
+
+    @FunctionalInterface
+    private interface FieldConsumer {
+        void accept(long start, int length);
+    }
+
+    /**
+     * The layout of the index file: a header, the position and length in the CSV of each distinct value, then an
+     * open-addressed hash table of (value number + 1), where 0 marks an empty slot.
+     */
+    private static class Index {
+        private final MappedBytes csv;
+        private final MappedBytes bytes;
+        private final Charset charset;
+        private final int capacity;
+        private final long positionsStart;
+        private final long lengthsStart;
+        private final long tableStart;
+
+        Index(MappedBytes csv, MappedBytes bytes, Charset charset, int recordCount, int capacity) {
+            this.csv = csv;
+            this.bytes = bytes;
+            this.charset = charset;
+            this.capacity = capacity;
+            this.positionsStart = HEADER_SIZE;
+            this.lengthsStart = positionsStart + 8L * recordCount;
+            this.tableStart = lengthsStart + 4L * recordCount;
+        }
+
+        static long length(int recordCount, int capacity) {
+            return HEADER_SIZE + 12L * recordCount + 4L * capacity;
+        }
+
+        long length() {
+            return tableStart + 4L * capacity;
+        }
+
+        String value(int valueNumber) {
+            return decode(
+                csv,
+                charset,
+                bytes.getLong(positionsStart + 8L * valueNumber),
+                bytes.getInt(lengthsStart + 4L * valueNumber));
+        }
+
+        /**
+         * @return the slot holding the value, or the empty slot where it would be added
+         */
+        int findSlot(String value) {
+            int hash = value.hashCode();
+            int slot = (hash ^ (hash >>> 16)) & (capacity - 1);
+            while (true) {
+                int valueNumber = valueAtSlot(slot) - 1;
+                if (valueNumber < 0 || value(valueNumber).equals(value)) {
+                    return slot;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+        }
+
+        int valueAtSlot(int slot) {
+            return bytes.getInt(tableStart + 4L * slot);
+        }
+
+        void add(int valueNumber, int slot, long start, int length) {
+            bytes.putLong(positionsStart + 8L * valueNumber, start);
+            bytes.putInt(lengthsStart + 4L * valueNumber, length);
+            bytes.putInt(tableStart + 4L * slot, valueNumber + 1);
+        }
+
+        static String decode(MappedBytes csv, Charset charset, long start, int length) {
+            byte[] field = csv.get(start, length);
+            if (length > 0 && field[0] == '"') {
+                return new String(field, 1, length - 2, charset).replace("\"\"", "\"");
+            }
+            return new String(field, charset);
+        }
+    }
+}
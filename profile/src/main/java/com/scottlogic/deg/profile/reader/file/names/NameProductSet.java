@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.profile.reader.file.names;
+
+import com.scottlogic.deg.common.util.IndexedSet;
+
+import java.util.*;
+
+/**
+ * Every "first last" combination of two lists of names, worked out from its position when needed rather than stored.
+ * Neither list may contain duplicates, or a name with a space, so that each combination splits back into its two
+ * names in only one way.
+ */
+class NameProductSet extends AbstractSet<Object> implements IndexedSet<Object> {
+    private final List<String> firstNames;
+    private final List<String> lastNames;
+    private final Map<String, Integer> firstNameIndexes;
+    private final Map<String, Integer> lastNameIndexes;
+    private Integer hashCode;
+
+    NameProductSet(Collection<String> firstNames, Collection<String> lastNames) {
+        this.firstNames = new ArrayList<>(firstNames);
+        this.lastNames = new ArrayList<>(lastNames);
+        this.firstNameIndexes = indexesOf(this.firstNames);
+        this.lastNameIndexes = indexesOf(this.lastNames);
+
+        if ((long) this.firstNames.size() * this.lastNames.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many combinations of names");
+        }
+    }
+
+    static boolean canCombine(Collection<String> names) {
+        return names.stream().noneMatch(name -> name.contains(" "));
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a set of size " + size());
+        }
+        return firstNames.get(index / lastNames.size()) + " " + lastNames.get(index % lastNames.size());
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (!(value instanceof String)) {
+            return -1;
+        }
+
+        String name = (String) value;
+        int space = name.indexOf(' ');
+        if (space < 0) {
+            return -1;
+        }
+
+        Integer firstNameIndex = firstNameIndexes.get(name.substring(0, space));
+        Integer lastNameIndex = lastNameIndexes.get(name.substring(space + 1));
+        if (firstNameIndex == null || lastNameIndex == null) {
+            return -1;
+        }
+
+        return firstNameIndex * lastNames.size() + lastNameIndex;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return firstNames.size() * lastNames.size();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return asList().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == null) {
+            hashCode = super.hashCode();
+        }
+        return hashCode;
+    }
+
+    private static Map<String, Integer> indexesOf(List<String> names) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            indexes.put(names.get(i), i);
+        }
+        return indexes;
+    }
+}
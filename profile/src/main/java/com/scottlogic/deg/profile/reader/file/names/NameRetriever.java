@@ -35,9 +35,13 @@ public final class NameRetriever {
 
     public static Set<Object> loadNamesFromFile(NameConstraintTypes configuration) {
         if (configuration == FULL) {
-            return new HashSet<>(combineFirstWithLastNames(
-                generateNamesFromSingleFile(FIRST.getFilePath()),
-                generateNamesFromSingleFile(LAST.getFilePath())));
+            Set<String> firstNames = generateNamesFromSingleFile(FIRST.getFilePath());
+            Set<String> lastNames = generateNamesFromSingleFile(LAST.getFilePath());
+            if (NameProductSet.canCombine(firstNames) && NameProductSet.canCombine(lastNames)) {
+                return new NameProductSet(firstNames, lastNames);
+            }
+
+            return new HashSet<>(combineFirstWithLastNames(firstNames, lastNames));
         } else {
             return new HashSet<>(generateNamesFromSingleFile(configuration.getFilePath()));
         }
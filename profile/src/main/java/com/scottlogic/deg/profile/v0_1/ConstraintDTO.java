@@ -39,6 +39,9 @@ public class ConstraintDTO {
     /** a set of values - eg, used in isInSet */
     public Collection<Object> values;
 
+    /** optional relative weights for random generation, one per entry in 'values' - eg, used in isInSet */
+    public Collection<Object> weights;
+
     /** a constraint to negate - this property should only appear alone */
     public ConstraintDTO not;
 
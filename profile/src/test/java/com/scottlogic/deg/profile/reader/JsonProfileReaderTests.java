@@ -24,6 +24,7 @@ import com.scottlogic.deg.common.profile.constraints.Constraint;
 import com.scottlogic.deg.common.profile.constraints.grammatical.AndConstraint;
 import com.scottlogic.deg.common.profile.constraints.grammatical.ConditionalConstraint;
 import com.scottlogic.deg.common.profile.constraints.grammatical.OrConstraint;
+import com.scottlogic.deg.common.util.WeightedSet;
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -697,6 +698,69 @@ public class JsonProfileReaderTests {
         expectInvalidProfileException();
     }
 
+    @Test
+    public void shouldDeserialiseInSetWithWeights() throws IOException {
+        givenJson(
+            "{" +
+                "    \"schemaVersion\": \"0.1\"," +
+                "    \"fields\": [ { \"name\": \"foo\" } ]," +
+                "    \"rules\": [" +
+                "      {" +
+                "        \"constraints\": [" +
+                "        { \"field\": \"foo\", \"is\": \"inSet\", \"values\": [ \"a\", \"b\" ], \"weights\": [ 1, 2.5 ] }" +
+                "        ]" +
+                "      }" +
+                "    ]" +
+                "}");
+
+        expectRules(
+            ruleWithConstraints(
+                typedConstraint(
+                    IsInSetConstraint.class,
+                    c -> {
+                        Assert.assertThat(c.legalValues, instanceOf(WeightedSet.class));
+                        WeightedSet<Object> values = (WeightedSet<Object>) c.legalValues;
+                        Assert.assertThat(values.getWeight("a"), equalTo(1d));
+                        Assert.assertThat(values.getWeight("b"), equalTo(2.5));
+                    })));
+    }
+
+    @Test
+    public void shouldRejectInSetWithAWeightForEachValue() {
+        givenJson(
+            "{" +
+                "    \"schemaVersion\": \"0.1\"," +
+                "    \"fields\": [ { \"name\": \"foo\" } ]," +
+                "    \"rules\": [" +
+                "      {" +
+                "        \"constraints\": [" +
+                "        { \"field\": \"foo\", \"is\": \"inSet\", \"values\": [ \"a\", \"b\" ], \"weights\": [ 1 ] }" +
+                "        ]" +
+                "      }" +
+                "    ]" +
+                "}");
+
+        expectInvalidProfileException();
+    }
+
+    @Test
+    public void shouldRejectInSetWithANonPositiveWeight() {
+        givenJson(
+            "{" +
+                "    \"schemaVersion\": \"0.1\"," +
+                "    \"fields\": [ { \"name\": \"foo\" } ]," +
+                "    \"rules\": [" +
+                "      {" +
+                "        \"constraints\": [" +
+                "        { \"field\": \"foo\", \"is\": \"inSet\", \"values\": [ \"a\", \"b\" ], \"weights\": [ 1, 0 ] }" +
+                "        ]" +
+                "      }" +
+                "    ]" +
+                "}");
+
+        expectInvalidProfileException();
+    }
+
     @Test
     public void shouldRejectInSetSetToNull() {
         givenJson(
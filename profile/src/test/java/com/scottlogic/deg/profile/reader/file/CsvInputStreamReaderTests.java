@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.profile.reader.file;
+
+import com.scottlogic.deg.common.util.WeightedSet;
+import com.scottlogic.deg.profile.reader.InvalidProfileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvInputStreamReaderTests {
+    @Test
+    void retrieveWeightedLines_withSingleColumn_returnsUnweightedSet() {
+        Set<Object> values = CsvInputStreamReader.retrieveWeightedLines(streamOf("a\nb\na\n"));
+
+        assertThat(values, containsInAnyOrder("a", "b"));
+        assertThat(values, not(instanceOf(WeightedSet.class)));
+    }
+
+    @Test
+    void retrieveWeightedLines_withWeightColumn_returnsWeightedSet() {
+        Set<Object> values = CsvInputStreamReader.retrieveWeightedLines(streamOf("a,2\nb,0.5\nc\na,1\n"));
+
+        assertThat(values, contains("a", "b", "c"));
+        WeightedSet<Object> weighted = (WeightedSet<Object>) values;
+        assertThat(weighted.getWeight("a"), equalTo(3d));
+        assertThat(weighted.getWeight("b"), equalTo(0.5));
+        assertThat(weighted.getWeight("c"), equalTo(1d));
+    }
+
+    @Test
+    void retrieveWeightedLines_withInvalidWeight_throws() {
+        assertThrows(
+            InvalidProfileException.class,
+            () -> CsvInputStreamReader.retrieveWeightedLines(streamOf("a,heavy\n")));
+    }
+
+    private static InputStream streamOf(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(Charset.defaultCharset()));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.scottlogic.deg.profile.reader.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class MappedCsvSetTests {
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("mapped-csv-set");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void open_withSingleColumn_readsDistinctValuesInOrder() throws IOException {
+        Path csv = givenCsv("b\na\r\n\nb\n\"c, \"\"quoted\"\"\"\n\"\"\n");
+
+        MappedCsvSet set = MappedCsvSet.open(csv).get();
+
+        assertThat(set, contains("b", "a", "c, \"quoted\"", ""));
+        assertThat(set.get(2), equalTo("c, \"quoted\""));
+        assertThat(set.indexOf("a"), equalTo(1));
+        assertThat(set.contains("d"), is(false));
+        assertThat(set.contains(1), is(false));
+    }
+
+    @Test
+    void open_withMoreThanOneColumn_returnsEmpty() throws IOException {
+        Path csv = givenCsv("a,1\nb,2\n");
+
+        assertThat(MappedCsvSet.open(csv), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void open_withUnclosedQuote_returnsEmpty() throws IOException {
+        Path csv = givenCsv("\"a\nb\n");
+
+        assertThat(MappedCsvSet.open(csv), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void open_afterIndexIsWritten_reusesIndex() throws IOException {
+        Path csv = givenCsv("a\nb\n");
+        MappedCsvSet.open(csv);
+        Path index = csv.resolveSibling(csv.getFileName() + MappedCsvSet.INDEX_SUFFIX);
+        FileTime indexWritten = Files.getLastModifiedTime(index);
+
+        MappedCsvSet set = MappedCsvSet.open(csv).get();
+
+        assertThat(set, contains("a", "b"));
+        assertThat(Files.getLastModifiedTime(index), equalTo(indexWritten));
+    }
+
+    @Test
+    void open_afterFileChanges_rebuildsIndex() throws IOException {
+        Path csv = givenCsv("a\nb\n");
+        MappedCsvSet.open(csv);
+        Files.write(csv, "c\nd\ne\n".getBytes(Charset.defaultCharset()));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+
+        MappedCsvSet set = MappedCsvSet.open(csv).get();
+
+        assertThat(set, contains("c", "d", "e"));
+    }
+
+    @Test
+    void open_withManyValues_findsEachOfThem() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            lines.append("value").append(i % 5_000).append('\n');
+        }
+        Path csv = givenCsv(lines.toString());
+
+        MappedCsvSet set = MappedCsvSet.open(csv).get();
+
+        assertThat(set.size(), equalTo(5_000));
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(set.indexOf("value" + i), equalTo(i));
+        }
+    }
+
+    private Path givenCsv(String content) throws IOException {
+        Path csv = directory.resolve("values.csv");
+        Files.write(csv, content.getBytes(Charset.defaultCharset()));
+        return csv;
+    }
+}
@@ -18,6 +18,7 @@ package com.scottlogic.deg.profile.reader.file.names;
 
 
 import com.scottlogic.deg.common.profile.constraints.atomic.NameConstraintTypes;
+import com.scottlogic.deg.common.util.IndexedSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -49,6 +50,33 @@ public class NameRetrieverTest {
         assertEquals(197120, names.size());
     }
 
+    @Test
+    public void testFullNamesCombineEachFirstNameWithEachLastName() {
+        Set<Object> firstNames = NameRetriever.loadNamesFromFile(NameConstraintTypes.FIRST);
+        Set<Object> lastNames = NameRetriever.loadNamesFromFile(NameConstraintTypes.LAST);
+        Set<Object> names = NameRetriever.loadNamesFromFile(NameConstraintTypes.FULL);
+
+        assertTrue(names.contains("Jack SMITH"));
+        assertFalse(names.contains("Jack"));
+        assertFalse(names.contains("SMITH Jack"));
+        assertFalse(names.contains("Jack SMITH "));
+        for (Object name : names) {
+            String[] parts = ((String) name).split(" ");
+            assertTrue(firstNames.contains(parts[0]));
+            assertTrue(lastNames.contains(parts[1]));
+        }
+    }
+
+    @Test
+    public void testFullNamesCanBeReadByPosition() {
+        IndexedSet<Object> names = (IndexedSet<Object>) NameRetriever.loadNamesFromFile(NameConstraintTypes.FULL);
+
+        for (int i = 0; i < names.size(); i += 997) {
+            assertEquals(i, names.indexOf(names.get(i)));
+        }
+        assertEquals(-1, names.indexOf("Nobody"));
+    }
+
     @ParameterizedTest
     @EnumSource(NameConstraintTypes.class)
     public void testAllValuesGiveValidResult(NameConstraintTypes config) {